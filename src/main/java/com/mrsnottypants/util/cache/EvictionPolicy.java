@@ -0,0 +1,60 @@
+package com.mrsnottypants.util.cache;
+
+import java.util.function.ToLongFunction;
+
+/**
+ * Decides which entry a HeapCache evicts when it is full
+ *
+ * A policy gives each entry a priority, recomputed every time the entry is accessed.  The entry with the lowest
+ * priority is evicted first, and among equal priorities, the least recently accessed.
+ *
+ * Created by Eric on 10/17/2026.
+ */
+@FunctionalInterface
+public interface EvictionPolicy<V> {
+
+    /**
+     * Return an entry's priority - lowest is evicted first
+     * @param value entry's value
+     * @param hits count of times the entry has been accessed, including the put that created it
+     * @param lastAccess logical time of the entry's latest access - larger is more recent
+     * @return priority
+     */
+    long priorityOf(V value, long hits, long lastAccess);
+
+    /**
+     * Return a least-frequently-used policy - evicts the entry with the fewest hits
+     * @param <V> type of values
+     * @return policy
+     */
+    static <V> EvictionPolicy<V> leastFrequentlyUsed() {
+        return (value, hits, lastAccess) -> hits;
+    }
+
+    /**
+     * Return a least-recently-used policy - evicts the entry accessed longest ago
+     * @param <V> type of values
+     * @return policy
+     */
+    static <V> EvictionPolicy<V> leastRecentlyUsed() {
+        return (value, hits, lastAccess) -> lastAccess;
+    }
+
+    /**
+     * Return a cost-weighted policy - evicts the entry with the least hits * cost, so values that are expensive to
+     * rebuild stay longer than cheap ones used as often
+     * @param cost cost of rebuilding a value - not negative
+     * @param <V> type of values
+     * @return policy
+     */
+    static <V> EvictionPolicy<V> costWeighted(final ToLongFunction<? super V> cost) {
+
+        // sanity check
+        if (cost == null) { throw new IllegalArgumentException("cost cannot be null"); }
+
+        return (value, hits, lastAccess) -> {
+            long weight = cost.applyAsLong(value);
+            return (weight > Long.MAX_VALUE / hits) ? Long.MAX_VALUE : hits * weight;
+        };
+    }
+}
@@ -0,0 +1,298 @@
+package com.mrsnottypants.util.cache;
+
+import com.mrsnottypants.util.collection.IndexedHeap;
+import com.mrsnottypants.util.collection.NodeKey;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Bounded cache, evicting by a pluggable policy (LFU, LRU, cost-weighted...)
+ *
+ * Entries are found through a hash map, and ranked in an IndexedHeap (a min heap) by their policy's priority.  Each
+ * access recomputes the entry's priority and re-sifts it in place, and a full cache evicts the heap's root - both
+ * O(log n).  Hits, misses and evictions are counted.
+ *
+ * Thread-safe - every operation takes a single lock, held while computeIfAbsent computes a missing value.
+ *
+ * Created by Eric on 10/17/2026.
+ */
+public class HeapCache<K, V> {
+
+    // an entry - its value, and what its policy needs to rank it
+    //
+    private static final class Entry<K, V> implements Comparable<Entry<K, V>> {
+        private final K key;
+        private V value;
+        private long hits;
+        private long lastAccess;
+        private long priority;
+        private NodeKey node;
+
+        Entry(K key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+
+        // lowest priority first, then least recently accessed
+        @Override
+        public int compareTo(Entry<K, V> other) {
+            int comparison = Long.compare(priority, other.priority);
+            return (comparison != 0) ? comparison : Long.compare(lastAccess, other.lastAccess);
+        }
+    }
+
+    /**
+     * Return a new, empty cache
+     * @param capacity most entries the cache holds
+     * @param policy decides which entry to evict
+     * @param <K> type of keys
+     * @param <V> type of values
+     * @return new cache
+     */
+    public static <K, V> HeapCache<K, V> create(final int capacity, final EvictionPolicy<? super V> policy) {
+
+        // sanity check
+        if ((capacity < 1) || (policy == null)) {
+            throw new IllegalArgumentException("capacity must be at least 1, and policy cannot be null");
+        }
+
+        return new HeapCache<>(capacity, policy);
+    }
+
+    // entries, by key and by priority
+    private final Map<K, Entry<K, V>> entries = new HashMap<>();
+    private final IndexedHeap<Entry<K, V>> ranking = IndexedHeap.emptyMinHeap();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final int capacity;
+    private final EvictionPolicy<? super V> policy;
+
+    // logical clock, ticking once per access
+    private long clock;
+
+    // counters
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    /**
+     * Construct an empty cache
+     * @param capacity most entries the cache holds
+     * @param policy decides which entry to evict
+     */
+    private HeapCache(final int capacity, final EvictionPolicy<? super V> policy) {
+        this.capacity = capacity;
+        this.policy = policy;
+    }
+
+    /**
+     * Return the value cached for a key, counting a hit or miss
+     * @param key key to look up
+     * @return value, or empty if not cached
+     */
+    public Optional<V> get(final K key) {
+        lock.lock();
+        try {
+            Entry<K, V> entry = entries.get(key);
+            if (entry == null) {
+                missCount++;
+                return Optional.empty();
+            }
+            hitCount++;
+            touch(entry);
+            return Optional.of(entry.value);
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Cache a value for a key, replacing any value already cached for it, and evicting another entry if full
+     * @param key key to cache under
+     * @param value value to cache
+     */
+    public void put(final K key, final V value) {
+
+        // sanity check
+        if ((key == null) || (value == null)) {
+            throw new IllegalArgumentException("Neither key nor value can be null");
+        }
+
+        lock.lock();
+        try {
+            Entry<K, V> entry = entries.get(key);
+            if (entry != null) {
+                entry.value = value;
+                touch(entry);
+            }
+            else {
+                insert(key, value);
+            }
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Return the value cached for a key, computing and caching it if missing
+     * Counts a hit if cached, and a miss if computed
+     * The lock is held, but reentrant, while mapping runs - if mapping itself caches a value for the key, that value
+     * is kept, and mapping's result is dropped
+     * @param key key to look up
+     * @param mapping computes a missing value - a null result caches nothing
+     * @return value cached for the key, or null if it was missing and mapping returned null
+     */
+    public V computeIfAbsent(final K key, final Function<? super K, ? extends V> mapping) {
+
+        // sanity check
+        if ((key == null) || (mapping == null)) {
+            throw new IllegalArgumentException("Neither key nor mapping can be null");
+        }
+
+        lock.lock();
+        try {
+
+            // cached
+            Entry<K, V> entry = entries.get(key);
+            if (entry != null) {
+                hitCount++;
+                touch(entry);
+                return entry.value;
+            }
+
+            // compute, and cache - unless mapping cached a value for the key itself
+            missCount++;
+            V value = mapping.apply(key);
+            entry = entries.get(key);
+            if (entry != null) {
+                return entry.value;
+            }
+            if (value != null) {
+                insert(key, value);
+            }
+            return value;
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Remove a key's entry from the cache - this is not counted as an eviction
+     * @param key key to remove
+     * @return value that was cached, or empty if none
+     */
+    public Optional<V> remove(final K key) {
+        lock.lock();
+        try {
+            Entry<K, V> entry = entries.remove(key);
+            if (entry == null) { return Optional.empty(); }
+            ranking.remove(entry.node);
+            return Optional.of(entry.value);
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Return the count of entries cached
+     * @return count of entries
+     */
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Return the most entries the cache holds
+     * @return capacity
+     */
+    public int getCapacity() { return capacity; }
+
+    /**
+     * Return the count of lookups that found a cached value
+     * @return count of hits
+     */
+    public long getHitCount() {
+        lock.lock();
+        try {
+            return hitCount;
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Return the count of lookups that found nothing cached
+     * @return count of misses
+     */
+    public long getMissCount() {
+        lock.lock();
+        try {
+            return missCount;
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Return the count of entries evicted to make room
+     * @return count of evictions
+     */
+    public long getEvictionCount() {
+        lock.lock();
+        try {
+            return evictionCount;
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Add a new entry, evicting the lowest priority entry first if full - must hold lock
+     * @param key key to cache under
+     * @param value value to cache
+     */
+    private void insert(final K key, final V value) {
+
+        // make room
+        if (entries.size() >= capacity) {
+            Entry<K, V> victim = ranking.pop();
+            entries.remove(victim.key);
+            evictionCount++;
+        }
+
+        // rank the new entry, as of its first access
+        Entry<K, V> entry = new Entry<>(key, value);
+        entry.hits = 1;
+        entry.lastAccess = ++clock;
+        entry.priority = policy.priorityOf(value, entry.hits, entry.lastAccess);
+        entry.node = ranking.add(entry);
+        entries.put(key, entry);
+    }
+
+    /**
+     * Record an access to an entry, and re-rank it - must hold lock
+     * @param entry entry accessed
+     */
+    private void touch(final Entry<K, V> entry) {
+        entry.hits++;
+        entry.lastAccess = ++clock;
+        entry.priority = policy.priorityOf(entry.value, entry.hits, entry.lastAccess);
+        ranking.refresh(entry.node);
+    }
+}
@@ -0,0 +1,311 @@
+package com.mrsnottypants.util.collection;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Nearly complete binary tree, stored in an array(list) - the node at index i has children at 2i+1 and 2i+2
+ *
+ * Holds the storage and navigation shared by the array-backed trees (BinaryTreeArray, MinMaxHeap), which add their
+ * own ordering on top
+ *
+ * Created by Eric on 10/17/2026.
+ */
+abstract class AbstractBinaryTreeArray<E> implements BinaryTree<E> {
+
+    // our node key
+    //
+    private static class IndexKey implements NodeKey {
+        private final int index;
+
+        IndexKey(int index) { this.index = index; }
+        private static NodeKey of(int index) { return new IndexKey(index); }
+
+        public int getIndex() { return index; }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof IndexKey)) {
+                return false;
+            }
+            IndexKey indexKey = (IndexKey)o;
+            return index == indexKey.getIndex();
+        }
+
+        @Override
+        public int hashCode() {
+            return index;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Index: %d", index);
+        }
+    }
+
+    // our cursor - a position is just an index, so walking allocates nothing
+    //
+    private class IndexCursor implements TreeCursor<E> {
+        private int index;
+
+        IndexCursor() { toRoot(); }
+
+        @Override
+        public boolean toLeft() { return moveTo((index * 2) + 1); }
+
+        @Override
+        public boolean toRight() { return moveTo((index * 2) + 2); }
+
+        @Override
+        public boolean toParent() { return (index > 0) && moveTo(((index + 1) / 2) - 1); }
+
+        @Override
+        public boolean toRoot() {
+            index = array.isEmpty() ? -1 : 0;
+            return index == 0;
+        }
+
+        @Override
+        public E value() {
+
+            // sanity check - confirm we have a node
+            if (index < 0) { throw new IllegalStateException("empty"); }
+
+            confirmInBounds(index);
+            return array.get(index);
+        }
+
+        // move to target, if we are at a node and target is one too
+        private boolean moveTo(int target) {
+            if ((index < 0) || outOfBounds(target)) { return false; }
+            index = target;
+            return true;
+        }
+    }
+
+    // internal storage of tree
+    final List<E> array;
+
+    /**
+     * Construct an empty binary tree
+     */
+    AbstractBinaryTreeArray() {
+        array = new ArrayList<>();
+    }
+
+    /**
+     * Construct a binary tree from a given list of values
+     * @param source initial contents of binary tree
+     */
+    AbstractBinaryTreeArray(final List<E> source) {
+        array = new ArrayList<>(source);
+    }
+
+    /**
+     * Return the count of nodes in the tree
+     * @return count of nodex
+     */
+    @Override
+    public int size() {
+        return array.size();
+    }
+
+    /**
+     * Add a value to the tree
+     * @param value value to add to tree
+     * @return index of newly added value
+     */
+    @Override
+    public NodeKey add(final E value) {
+        
+        // add to the end of the array
+        array.add(value);
+        
+        // the key is its array index
+        return IndexKey.of(array.size() - 1);
+    }
+
+    /**
+     * Return the value at a given key
+     * @param key identifies the value we want to get
+     * @return value
+     */
+    @Override
+    public E get(final NodeKey key) {
+        
+        // confirm good index
+        IndexKey indexKey = IndexKey.class.cast(key);
+        confirmInBounds(indexKey.getIndex());
+        
+        // return value at this index
+        return array.get(indexKey.getIndex());
+    }
+
+    /**
+     * Swap the values at the given keys
+     * @param key1 swap this value
+     * @param key2 swap this value
+     */
+    @Override
+    public void swap(final NodeKey key1, final NodeKey key2) {
+        
+        // confirm good indexes
+        IndexKey indexKey1 = IndexKey.class.cast(key1);
+        confirmInBounds(indexKey1.getIndex());
+        IndexKey indexKey2 = IndexKey.class.cast(key2);
+        confirmInBounds(indexKey2.getIndex());
+        
+        // swap values at these indexes
+        E value1 = get(key1);
+        array.set(indexKey1.getIndex(), get(indexKey2));
+        array.set(indexKey2.getIndex(), value1);
+    }
+
+    /**
+     * Return the key of the root node, or empty if tree empty
+     * @return key for root node, or empty if tree empty
+     */
+    @Override
+    public Optional<NodeKey> getRoot() {
+        return outOfBounds(0) ? Optional.empty() : Optional.of(IndexKey.of(0));
+    }
+
+    /**
+     * Return true if the node at this key has a parent
+     * @param key of interest
+     * @return true if it has a parent
+     */
+    @Override
+    public boolean hasParent(final NodeKey key) {
+        IndexKey indexKey = IndexKey.class.cast(key);
+        confirmInBounds(indexKey.getIndex());
+        return !outOfBounds(parentOf(indexKey.getIndex()));
+    }
+
+    /**
+     * Return the key of the parent of the node picked by this key
+     * @param key we want the parent of this key
+     * @return key of the parent, or empty if no parent
+     */
+    @Override
+    public Optional<NodeKey> getParent(final NodeKey key) {
+        
+        // confirm good index, and that it has a parent
+        IndexKey indexKey = IndexKey.class.cast(key);
+        confirmInBounds(indexKey.getIndex());
+
+        // return parent, or empty if no parent
+        return hasParent(key) ? Optional.of(IndexKey.of(parentOf(indexKey.getIndex()))) : Optional.empty();
+    }
+
+    /**
+     * Return true if the node at this key has a left child
+     * @param key of interest
+     * @return true if it has a left child
+     */
+    @Override
+    public boolean hasLeft(final NodeKey key) {
+        IndexKey indexKey = IndexKey.class.cast(key);
+        confirmInBounds(indexKey.getIndex());
+        return !outOfBounds(leftOf(indexKey.getIndex()));
+    }
+
+    /**
+     * Return the key of the left child of the given key
+     * @param key we want the left child of this
+     * @return key of left child, or empty if no left child
+     */
+    @Override
+    public Optional<NodeKey> getLeft(final NodeKey key) {
+        
+        // confirm good index, and that it has a left child
+        IndexKey indexKey = IndexKey.class.cast(key);
+        confirmInBounds(indexKey.getIndex());
+
+        return hasLeft(key) ? Optional.of(IndexKey.of(leftOf(indexKey.getIndex()))) : Optional.empty();
+    }
+
+    /**
+     * Return true if the node at this key has a right child
+     * @param key of interest
+     * @return true if it has a right child
+     */
+    @Override
+    public boolean hasRight(final NodeKey key) {
+        IndexKey indexKey = IndexKey.class.cast(key);
+        confirmInBounds(indexKey.getIndex());
+        return !outOfBounds(rightOf(indexKey.getIndex()));
+    }
+
+    /**
+     * Return the key of the right child of the given key
+     * @param key we want the right child of this
+     * @return key of right child, or empty if no right child
+     */
+    @Override
+    public Optional<NodeKey> getRight(final NodeKey key) {
+        IndexKey indexKey = IndexKey.class.cast(key);
+        confirmInBounds(indexKey.getIndex());
+
+        return hasRight(key) ? Optional.of(IndexKey.of(rightOf(indexKey.getIndex()))) : Optional.empty();
+    }
+
+    /**
+     * Return a cursor, starting at the root, whose position is an array index - moves allocate nothing
+     * @return new cursor
+     */
+    @Override
+    public TreeCursor<E> cursor() {
+        return new IndexCursor();
+    }
+
+    /**
+     * Return true if the given index does not reference an element in the heap
+     * @param index index we are checking
+     * @return true if out of bounds
+     */
+    boolean outOfBounds(final int index) {
+        return ((index < 0) || (index >= array.size()));
+    }
+
+    /**
+     * Calculates the parent index of the given index
+     * @param index Index whose parent we want
+     * @return index of parent
+     */
+    int parentOf(final int index) {
+        confirmInBounds(index);
+        return ((index + 1) / 2) - 1;
+    }
+
+    /**
+     * Calculates the left index of the given index
+     * @param index Index whose left we want
+     * @return index of left
+     */
+    int leftOf(final int index) {
+        confirmInBounds(index);
+        return (index * 2) + 1;
+    }
+
+    /**
+     * Calculates the right index of the given index
+     * @param index Index whose right we want
+     * @return index of right
+     */
+    int rightOf(final int index) {
+        confirmInBounds(index);
+        return (index * 2) + 2;
+    }
+
+    /**
+     * Throws an out-of-bounds exception if index not within the heap
+     * @param index index to check
+     */
+    void confirmInBounds(final int index) {
+        if (outOfBounds(index)) {
+            throw new IndexOutOfBoundsException(String.format("Index %d out of bounds, size=%d", index, array.size()));
+        }
+    }
+}
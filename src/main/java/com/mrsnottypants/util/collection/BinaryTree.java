@@ -93,6 +93,15 @@ public interface BinaryTree<E> {
      */
     Optional<NodeKey> getRight(NodeKey key);
 
+    /**
+     * Return a cursor, starting at the root, for walking the tree
+     * The default moves through NodeKey navigation - trees that can hold a position more cheaply should override it
+     * @return new cursor
+     */
+    default TreeCursor<E> cursor() {
+        return new NodeKeyCursor<>(this);
+    }
+
     /**
      * Return an iterator the enforces a given traversal order
      * @param traversal pre-order, in-order, etc
@@ -149,8 +158,8 @@ public interface BinaryTree<E> {
         // start with the passed key
         Optional<NodeKey> leaf = Optional.of(key);
 
-        // while we have a node, which has a left, we know there is a leaf further down
-        while (leaf.map(k -> hasLeft(k)).orElse(false)) {
+        // while we have a node, which has a child, we know there is a leaf further down
+        while (leaf.map(k -> hasLeft(k) || hasRight(k)).orElse(false)) {
 
             // drill down to the left as far as possible
             leaf = getLeftest(leaf.get());
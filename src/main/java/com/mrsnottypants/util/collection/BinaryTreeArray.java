@@ -1,8 +1,10 @@
 package com.mrsnottypants.util.collection;
 
-import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
 
 /**
  * Nearly complete binary tree, stored in an array(list)
@@ -11,35 +13,40 @@ import java.util.Optional;
  *
  * Created by Eric on 7/3/2016.
  */
-public class BinaryTreeArray<E extends Comparable<E>> implements BinaryTree<E>, Heap<E> {
+public class BinaryTreeArray<E extends Comparable<E>> extends AbstractBinaryTreeArray<E> implements Heap<E> {
 
-    // our node key
-    //
-    private static class IndexKey implements NodeKey {
-        private final int index;
-
-        IndexKey(int index) { this.index = index; }
-        private static NodeKey of(int index) { return new IndexKey(index); }
+    // heaps at least this big are built in parallel, when there is more than one core to build with
+    static final int PARALLEL_THRESHOLD = 1 << 17;
 
-        public int getIndex() { return index; }
+    // subtrees this high or lower are heapified sequentially by a single fork-join task
+    private static final int SEQUENTIAL_HEIGHT = 13;
 
-        @Override
-        public boolean equals(Object o) {
-            if (!(o instanceof IndexKey)) {
-                return false;
-            }
-            IndexKey indexKey = (IndexKey)o;
-            return index == indexKey.getIndex();
+    // heapifies the subtree rooted at an index - its two subtrees in parallel, and then the root itself
+    //
+    private static class HeapifyTask<F extends Comparable<? super F>> extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final List<F> array;
+        private final int root;
+        private final int size;
+
+        HeapifyTask(List<F> array, int root, int size) {
+            this.array = array;
+            this.root = root;
+            this.size = size;
         }
 
         @Override
-        public int hashCode() {
-            return index;
-        }
+        protected void compute() {
 
-        @Override
-        public String toString() {
-            return String.format("Index: %d", index);
+            // small enough to do ourselves
+            if (heightOf(root, size) <= SEQUENTIAL_HEIGHT) {
+                buildMaxSubHeap(array, root, size);
+                return;
+            }
+
+            // subtrees are independent, so heapify them side by side, and then sift our root down into them
+            invokeAll(new HeapifyTask<>(array, (root << 1) + 1, size), new HeapifyTask<>(array, (root << 1) + 2, size));
+            maxHeapify(array, root, array.get(root), size);
         }
     }
 
@@ -59,12 +66,28 @@ public class BinaryTreeArray<E extends Comparable<E>> implements BinaryTree<E>,
      * @param <F> type of values stored in heap
      * @return new heap
      */
-    public static <F extends Comparable<F>> Heap heapOf(final List<F> source) {
-        BinaryTreeArray<F> heap = new BinaryTreeArray(source);
+    public static <F extends Comparable<F>> Heap<F> heapOf(final List<F> source) {
+        BinaryTreeArray<F> heap = new BinaryTreeArray<>(source);
         heap.buildMaxHeap();
         return heap;
     }
 
+    /**
+     * Return a new heap, initialized with the passed source, that puts off ordering the source until it is popped
+     * Much cheaper than heapOf when only a few pops follow - pops come out in the same order either way
+     * Unlike heapOf, the source is not copied - the caller should not modify it afterwards
+     * @param source to initialize heap
+     * @param <F> type of values stored in heap
+     * @return new heap
+     */
+    public static <F extends Comparable<F>> Heap<F> lazyHeapOf(final List<F> source) {
+
+        // sanity check
+        if (source == null) { throw new IllegalArgumentException("source cannot be null"); }
+
+        return new LazyHeap<>(source);
+    }
+
     /**
      * Return a new, empty tree
      * @param <F> type of values stored in tree
@@ -79,16 +102,13 @@ public class BinaryTreeArray<E extends Comparable<E>> implements BinaryTree<E>,
      * @param <F> type of values sorted in heap
      * @return new heap
      */
-    public static <F extends Comparable<F>> Heap emptyHeap() { return new BinaryTreeArray<>(); }
-    
-    // internal storage of tree
-    private final List<E> array;
+    public static <F extends Comparable<F>> Heap<F> emptyHeap() { return new BinaryTreeArray<>(); }
 
     /**
      * Construct an empty binary tree
      */
     private BinaryTreeArray() {
-        array = new ArrayList<>();
+        super();
     }
 
     /**
@@ -96,320 +116,343 @@ public class BinaryTreeArray<E extends Comparable<E>> implements BinaryTree<E>,
      * @param source initial contents of binary tree
      */
     private BinaryTreeArray(final List<E> source) {
-        array = new ArrayList<>(source);
+        super(source);
     }
 
     /**
-     * Return the count of nodes in the tree
-     * @return count of nodex
+     * Push a value into the heap
+     * @param value value to push
      */
     @Override
-    public int size() {
-        return array.size();
-    }
+    public void push(final E value) {
 
-    /**
-     * Add a value to the tree
-     * @param value value to add to tree
-     * @return index of newly added value
-     */
-    @Override
-    public NodeKey add(final E value) {
-        
-        // add to the end of the array
+        // add it to end of the tree
+        // bubble it up to a legal spot
         array.add(value);
-        
-        // the key is its array index
-        return IndexKey.of(array.size() - 1);
+        bubbleUp(array, array.size() - 1);
     }
 
     /**
-     * Return the value at a given key
-     * @param key identifies the value we want to get
-     * @return value
+     * Pop the maximum value off of the heap
+     * @return maximum value
      */
     @Override
-    public E get(final NodeKey key) {
-        
-        // confirm good index
-        IndexKey indexKey = IndexKey.class.cast(key);
-        confirmInBounds(indexKey.getIndex());
-        
-        // return value at this index
-        return array.get(indexKey.getIndex());
-    }
+    public E pop() {
 
-    /**
-     * Swap the values at the given keys
-     * @param key1 swap this value
-     * @param key2 swap this value
-     */
-    @Override
-    public void swap(final NodeKey key1, final NodeKey key2) {
-        
-        // confirm good indexes
-        IndexKey indexKey1 = IndexKey.class.cast(key1);
-        confirmInBounds(indexKey1.getIndex());
-        IndexKey indexKey2 = IndexKey.class.cast(key2);
-        confirmInBounds(indexKey2.getIndex());
-        
-        // swap values at these indexes
-        E value1 = get(key1);
-        array.set(indexKey1.getIndex(), get(indexKey2));
-        array.set(indexKey2.getIndex(), value1);
-    }
+        // sanity check - confirm tree is not empty
+        if (!hasRoot()) { throw new IllegalStateException("empty"); }
 
-    /**
-     * Return the key of the root node, or empty if tree empty
-     * @return key for root node, or empty if tree empty
-     */
-    @Override
-    public Optional<NodeKey> getRoot() {
-        return outOfBounds(0) ? Optional.empty() : Optional.of(IndexKey.of(0));
-    }
+        // max element is held at the root
+        E value = array.get(0);
 
-    /**
-     * Return true if the node at this key has a parent
-     * @param key of interest
-     * @return true if it has a parent
-     */
-    @Override
-    public boolean hasParent(final NodeKey key) {
-        IndexKey indexKey = IndexKey.class.cast(key);
-        confirmInBounds(indexKey.getIndex());
-        return !outOfBounds(parentOf(indexKey.getIndex()));
-    }
+        // shrink array, and sift the final element down from the root's position
+        // unless pop has emptied the heap
+        E last = array.remove(array.size() - 1);
+        if (hasRoot()) {
+            maxHeapifyFromBottom(array, 0, last, array.size());
+        }
 
-    /**
-     * Return the key of the parent of the node picked by this key
-     * @param key we want the parent of this key
-     * @return key of the parent, or empty if no parent
-     */
-    @Override
-    public Optional<NodeKey> getParent(final NodeKey key) {
-        
-        // confirm good index, and that it has a parent
-        IndexKey indexKey = IndexKey.class.cast(key);
-        confirmInBounds(indexKey.getIndex());
-
-        // return parent, or empty if no parent
-        return hasParent(key) ? Optional.of(IndexKey.of(parentOf(indexKey.getIndex()))) : Optional.empty();
+        // done!
+        return value;
     }
 
     /**
-     * Return true if the node at this key has a left child
-     * @param key of interest
-     * @return true if it has a left child
+     * Return the maximum value, without popping it
+     * @return maximum value
      */
     @Override
-    public boolean hasLeft(final NodeKey key) {
-        IndexKey indexKey = IndexKey.class.cast(key);
-        confirmInBounds(indexKey.getIndex());
-        return !outOfBounds(leftOf(indexKey.getIndex()));
-    }
+    public E peek() {
 
-    /**
-     * Return the key of the left child of the given key
-     * @param key we want the left child of this
-     * @return key of left child, or empty if no left child
-     */
-    @Override
-    public Optional<NodeKey> getLeft(final NodeKey key) {
-        
-        // confirm good index, and that it has a left child
-        IndexKey indexKey = IndexKey.class.cast(key);
-        confirmInBounds(indexKey.getIndex());
+        // sanity check - confirm tree is not empty
+        if (!hasRoot()) { throw new IllegalStateException("empty"); }
 
-        return hasLeft(key) ? Optional.of(IndexKey.of(leftOf(indexKey.getIndex()))) : Optional.empty();
+        return array.get(0);
     }
 
     /**
-     * Return true if the node at this key has a right child
-     * @param key of interest
-     * @return true if it has a right child
+     * Push every value in a collection into the heap
+     *
+     * Small batches are bubbled up one at a time.  Once a batch is big enough that bubbling every value up the full
+     * height of the heap could cost more than re-heapifying everything (2n comparisons at most), we append the batch
+     * and rebuild instead.
+     * @param values values to push
      */
     @Override
-    public boolean hasRight(final NodeKey key) {
-        IndexKey indexKey = IndexKey.class.cast(key);
-        confirmInBounds(indexKey.getIndex());
-        return !outOfBounds(rightOf(indexKey.getIndex()));
+    public void pushAll(final Collection<? extends E> values) {
+
+        // sanity check
+        if (values == null) { throw new IllegalArgumentException("values cannot be null"); }
+
+        // compare worst case costs - count * height for bubbling, 2 * total for a rebuild
+        final int before = array.size();
+        final long total = (long)before + values.size();
+        final int height = 64 - Long.numberOfLeadingZeros(total);
+        array.addAll(values);
+        if ((long)values.size() * height > 2 * total) {
+            buildMaxHeap();
+        }
+        else {
+            for (int index = before ; index < array.size() ; index++) {
+                bubbleUp(array, index);
+            }
+        }
     }
 
     /**
-     * Return the key of the right child of the given key
-     * @param key we want the right child of this
-     * @return key of right child, or empty if no right child
+     * Pop up to count values off of the heap, largest first, passing each to a consumer
+     * Stops early if the heap empties
+     * @param count maximum count of values to pop
+     * @param consumer receives popped values
+     * @return count of values popped
      */
     @Override
-    public Optional<NodeKey> getRight(final NodeKey key) {
-        IndexKey indexKey = IndexKey.class.cast(key);
-        confirmInBounds(indexKey.getIndex());
+    public int popN(final int count, final Consumer<? super E> consumer) {
+
+        // sanity check
+        if ((count < 0) || (consumer == null)) {
+            throw new IllegalArgumentException("count cannot be negative, and consumer cannot be null");
+        }
 
-        return hasRight(key) ? Optional.of(IndexKey.of(rightOf(indexKey.getIndex()))) : Optional.empty();
+        final int popped = Math.min(count, array.size());
+        for (int i = 0 ; i < popped ; i++) {
+            consumer.accept(pop());
+        }
+        return popped;
     }
 
     /**
-     * Push a value into the heap
+     * Pop the maximum value off of the heap, and push a new value in its place
+     * Takes a single sift, from the root down
      * @param value value to push
+     * @return maximum value, from before the push
      */
     @Override
-    public void push(final E value) {
+    public E replaceTop(final E value) {
 
-        // add it to end of the tree
-        // bubble it up to a legal spot
-        bubbleUp(add(value));
+        // sanity check - confirm tree is not empty
+        if (!hasRoot()) { throw new IllegalStateException("empty"); }
+
+        // new value takes the root's place
+        E top = array.get(0);
+        maxHeapify(array, 0, value, array.size());
+        return top;
     }
 
     /**
-     * Pop the maximum value off of the heap
-     * @return maximum value
+     * Push a value into the heap, and then pop the maximum value off of it
+     * Takes at most a single sift, from the root down - none if the value is at least as large as the maximum
+     * @param value value to push
+     * @return maximum value, from after the push
      */
     @Override
-    public E pop() {
-
-        // sanity check - confirm tree is not empty
-        if (!hasRoot()) { throw new IllegalStateException("empty"); }
+    public E pushPop(final E value) {
 
-        // max element is held at the root
-        NodeKey root = getRoot().get();
-        E value = get(root);
-
-        // swap final element into root's position
-        // and then shrink array
-        swap(root, IndexKey.of(array.size() - 1));
-        array.remove(array.size() -1);
-
-        // re-establish heap, unless pop has emptied the heap
-        if (hasRoot()) {
-            maxHeapify(root);
+        // value would go straight back out
+        if (!hasRoot() || (value.compareTo(array.get(0)) >= 0)) {
+            return value;
         }
 
-        // done!
-        return value;
+        // otherwise value takes the root's place
+        E top = array.get(0);
+        maxHeapify(array, 0, value, array.size());
+        return top;
     }
 
     /**
-     * Return true if the given index does not reference an element in the heap
-     * @param index index we are checking
-     * @return true if out of bounds
+     * Establishes max-heapiness constraint on binary tree
+     * Large trees are built in parallel - our array list can safely be set from several threads at distinct indexes
      */
-    private boolean outOfBounds(final int index) {
-        return ((index < 0) || (index >= array.size()));
+    private void buildMaxHeap() {
+        if ((array.size() >= PARALLEL_THRESHOLD) && (ForkJoinPool.getCommonPoolParallelism() > 1)) {
+            buildMaxHeapInParallel(array, array.size());
+        }
+        else {
+            buildMaxHeap(array, array.size());
+        }
     }
 
+    // Heap machinery - works on plain int indexes into a list, and allocates nothing
+    //
+    // Rather than swapping a value down (or up) one level at a time, we lift it out and leave a hole behind.  Values
+    // move into the hole as it travels, and the lifted value is written once, into the hole's final position.
+    //
+
     /**
-     * Calculates the parent index of the given index
-     * @param index Index whose parent we want
-     * @return index of parent
+     * Establishes max-heapiness constraint on the first size values of a list
+     * @param array list to heapify
+     * @param size count of values, from the start of the list, that make up the heap
+     * @param <F> type of values stored in list
      */
-    private int parentOf(final int index) {
-        confirmInBounds(index);
-        return ((index + 1) / 2) - 1;
+    static <F extends Comparable<? super F>> void buildMaxHeap(final List<F> array, final int size) {
+
+        // max-heapify from the bottom up, minus the leaves (which are in-order by definition)
+        for (int index = (size >>> 1) - 1 ; index >= 0 ; index--) {
+            maxHeapify(array, index, array.get(index), size);
+        }
     }
 
     /**
-     * Calculates the left index of the given index
-     * @param index Index whose left we want
-     * @return index of left
+     * Establishes max-heapiness constraint on the first size values of a list, heapifying independent subtrees in
+     * parallel on the common fork-join pool, and then fixing up the levels above them
+     * The list must be safe to set from several threads at once, at distinct indexes (as ArrayList is)
+     * @param array list to heapify
+     * @param size count of values, from the start of the list, that make up the heap
+     * @param <F> type of values stored in list
      */
-    private int leftOf(final int index) {
-        confirmInBounds(index);
-        return (index * 2) + 1;
+    static <F extends Comparable<? super F>> void buildMaxHeapInParallel(final List<F> array, final int size) {
+        if (size > 1) {
+            ForkJoinPool.commonPool().invoke(new HeapifyTask<>(array, 0, size));
+        }
     }
 
     /**
-     * Calculates the right index of the given index
-     * @param index Index whose right we want
-     * @return index of right
+     * Establishes max-heapiness constraint on the subtree rooted at an index, working bottom up a level at a time
+     * @param array list holding the heap
+     * @param root index of the subtree's root
+     * @param size count of values in the heap
+     * @param <F> type of values stored in list
      */
-    private int rightOf(final int index) {
-        confirmInBounds(index);
-        return (index * 2) + 2;
+    private static <F extends Comparable<? super F>> void buildMaxSubHeap(final List<F> array, final int root,
+                                                                          final int size) {
+
+        // the subtree's nodes at depth d below root are the 2^d indexes from (root + 1) * 2^d - 1
+        // skip the leaves, which are in-order by definition
+        final int lastParent = (size >>> 1) - 1;
+        for (int depth = heightOf(root, size) ; depth >= 0 ; depth--) {
+            long first = ((long)(root + 1) << depth) - 1;
+            long last = Math.min(first + (1L << depth) - 1, lastParent);
+            for (long index = last ; index >= first ; index--) {
+                maxHeapify(array, (int)index, array.get((int)index), size);
+            }
+        }
     }
 
     /**
-     * Throws an out-of-bounds exception if index not within the heap
-     * @param index index to check
+     * Return the height of the subtree rooted at an index - 0 for a leaf
+     * @param root index of the subtree's root
+     * @param size count of values in the heap
+     * @return height of subtree
      */
-    private void confirmInBounds(final int index) {
-        if (outOfBounds(index)) {
-            throw new IndexOutOfBoundsException(String.format("Index %d out of bounds, size=%d", index, array.size()));
-        }
+    private static int heightOf(final int root, final int size) {
+        return Integer.numberOfLeadingZeros(root + 1) - Integer.numberOfLeadingZeros(size);
     }
 
     /**
-     * Establishes max-heapiness constraint on binary tree
+     * Assumes the trees rooted at the hole's left and right are max heaps.  Drops value into the hole, moving the
+     * larger child up while it is larger than value.
+     * @param array list holding the heap
+     * @param hole index of the hole
+     * @param value value to place
+     * @param size count of values in the heap
+     * @param <F> type of values stored in list
      */
-    private void buildMaxHeap() {
+    static <F extends Comparable<? super F>> void maxHeapify(final List<F> array, int hole, final F value,
+                                                             final int size) {
+
+        // stop once the hole has no children
+        final int start = hole;
+        final int half = size >>> 1;
+        while (hole < half) {
+
+            // pick the larger child
+            int child = (hole << 1) + 1;
+            F largest = array.get(child);
+            if (child + 1 < size) {
+                F right = array.get(child + 1);
+                if (compare(right, largest) > 0) {
+                    largest = right;
+                    child++;
+                }
+            }
 
-        // max-heapify from the bottom up, minus the leaves (which are in-order by definition)
-        for (int index = (array.size() / 2) - 1 ; index >= 0 ; index--) {
-            maxHeapify(IndexKey.of(index));
+            // value belongs in the hole if it is at least as large as its larger child
+            if (compare(value, largest) >= 0) { break; }
+
+            // move child up into the hole
+            array.set(hole, largest);
+            hole = child;
         }
+        array.set(hole, value);
+        if (HeapProbes.ENABLED) { HeapProbes.sifted(HeapProbes.depthOf(hole) - HeapProbes.depthOf(start)); }
     }
 
     /**
-     * Assumes the trees rooted at left and right are max heaps, but that the specified root might be smaller than a
-     * child.  This method ensures the tree rooted at the specified root is a max heap.
-     * @param rootKey index of root to max-heapify
+     * Bottom-up variant of maxHeapify, for a value that probably belongs near the leaves (like the final value of
+     * the heap after a pop).  Moves the hole all the way down to a leaf along the path of larger children, without
+     * comparing against value, and then bubbles value back up from there.  This takes about half the comparisons
+     * of maxHeapify, since value rarely has far to climb.
+     * @param array list holding the heap
+     * @param hole index of the hole
+     * @param value value to place
+     * @param size count of values in the heap
+     * @param <F> type of values stored in list
      */
-    private void maxHeapify(final NodeKey rootKey) {
-
-        // default to root
-        Optional<NodeKey> largest = Optional.of(rootKey);
-
-        // check left
-        final Optional<NodeKey> left = getLeft(rootKey);
-        if (isLargerThan(left, largest)) {
-            largest = left;
+    static <F extends Comparable<? super F>> void maxHeapifyFromBottom(final List<F> array, int hole, final F value,
+                                                                       final int size) {
+
+        // drill the hole down to a leaf, moving the larger child up each step
+        final int top = hole;
+        final int half = size >>> 1;
+        while (hole < half) {
+            int child = (hole << 1) + 1;
+            F largest = array.get(child);
+            if (child + 1 < size) {
+                F right = array.get(child + 1);
+                if (compare(right, largest) > 0) {
+                    largest = right;
+                    child++;
+                }
+            }
+            array.set(hole, largest);
+            hole = child;
         }
-
-        // check right
-        final Optional<NodeKey> right = getRight(rootKey);
-        if (isLargerThan(right, largest)) {
-            largest = right;
+        final int leaf = hole;
+
+        // climb back up until value is no larger than its parent, but not above where we started
+        while (hole > top) {
+            int parent = (hole - 1) >>> 1;
+            F above = array.get(parent);
+            if (compare(value, above) <= 0) { break; }
+            array.set(hole, above);
+            hole = parent;
         }
-
-        // if root is not largest, swap with largest and continue downwards
-        if (largest.filter(key -> key != rootKey).isPresent()) {
-            swap(largest.get(), rootKey);
-            maxHeapify(largest.get());
+        array.set(hole, value);
+        if (HeapProbes.ENABLED) {
+            HeapProbes.sifted((2 * HeapProbes.depthOf(leaf)) - HeapProbes.depthOf(top) - HeapProbes.depthOf(hole));
         }
     }
 
     /**
-     * Returns true if the value held by key1 is larger than the value held by key2
-     * Returns false if either key is empty
-     * @param key1 comparing this
-     * @param key2 comparing this
-     * @return key1's value is larger
+     * Moves the value at the given index upwards while it is larger than its parent's
+     * @param array list holding the heap
+     * @param hole index of the value to bubble up
+     * @param <F> type of values stored in list
      */
-    private boolean isLargerThan(Optional<NodeKey> key1, Optional<NodeKey> key2) {
-
-        // optional values from optional keys!
-        Optional<E> value1 = key1.map(this::get);
-        Optional<E> value2 = key2.map(this::get);
-
-        // candidate not set
-        if (!value1.isPresent()) { return false; }
-
-        // compare
-        boolean larger = value2.map(v -> v.compareTo(value1.get()) <= 0).orElse(false);
-        return larger;
+    static <F extends Comparable<? super F>> void bubbleUp(final List<F> array, int hole) {
+
+        // lift the value out, and move parents down into the hole while the value is larger
+        final int start = hole;
+        final F value = array.get(hole);
+        while (hole > 0) {
+            int parent = (hole - 1) >>> 1;
+            F above = array.get(parent);
+            if (compare(value, above) <= 0) { break; }
+            array.set(hole, above);
+            hole = parent;
+        }
+        array.set(hole, value);
+        if (HeapProbes.ENABLED) { HeapProbes.sifted(HeapProbes.depthOf(start) - HeapProbes.depthOf(hole)); }
     }
 
     /**
-     * Swaps the node upwards while the value at the given key is larger than its parent's
-     * @param key node to bubble up
+     * Compare two values, counting the comparison when heap probes are on
+     * @param a first value
+     * @param b second value
+     * @param <F> type of values
+     * @return a.compareTo(b)
      */
-    private void bubbleUp(NodeKey key) {
-
-        // swap while it has a parent, and the child's value is larger than the parent's value...
-        Optional<NodeKey> candidate = Optional.of(key);
-        while(isLargerThan(candidate, getParent(candidate.get()))) {
-            Optional<NodeKey> parent = getParent(candidate.get());
-            swap(candidate.get(), parent.get());
-            candidate = parent;
-        }
+    private static <F extends Comparable<? super F>> int compare(final F a, final F b) {
+        if (HeapProbes.ENABLED) { HeapProbes.compared(); }
+        return a.compareTo(b);
     }
 }
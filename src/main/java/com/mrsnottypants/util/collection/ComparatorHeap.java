@@ -0,0 +1,396 @@
+package com.mrsnottypants.util.collection;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Heap ordered by a Comparator, for values that are not Comparable, or that need another order than their own
+ *
+ * Max heaps pop the largest value by the comparator first, min heaps the smallest.  A min heap calls the comparator
+ * with its arguments swapped, rather than through comparator.reversed(), so there is no wrapper between the sifts and
+ * the comparator.  Values are held in an Object array, without any per-value adapter.
+ *
+ * Every heap calls its comparator from the same few call sites.  With only one or two comparator classes in use, the
+ * JIT can inline them there - but once a process uses more, those sites go megamorphic, and each comparison is a plain
+ * virtual call.  That is still cheaper than an adapter object per value, but for the hottest heaps, a class of its
+ * own (like LongKeyedHeap) is the only way to keep the comparison inlined.
+ *
+ * Created by Eric on 10/17/2026.
+ */
+public class ComparatorHeap<E> implements Heap<E> {
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+    /**
+     * Return a new, empty max heap
+     * @param comparator orders values - the largest pops first
+     * @param <F> type of values stored in heap
+     * @return new heap
+     */
+    public static <F> ComparatorHeap<F> emptyHeap(final Comparator<? super F> comparator) {
+        return new ComparatorHeap<>(checked(comparator), false, new Object[DEFAULT_CAPACITY], 0);
+    }
+
+    /**
+     * Return a new max heap, initialized with the passed source
+     * @param source to initialize heap
+     * @param comparator orders values - the largest pops first
+     * @param <F> type of values stored in heap
+     * @return new heap
+     */
+    public static <F> ComparatorHeap<F> heapOf(final List<? extends F> source, final Comparator<? super F> comparator) {
+        return heapOf(source, checked(comparator), false);
+    }
+
+    /**
+     * Return a new, empty min heap
+     * @param comparator orders values - the smallest pops first
+     * @param <F> type of values stored in heap
+     * @return new heap
+     */
+    public static <F> ComparatorHeap<F> emptyMinHeap(final Comparator<? super F> comparator) {
+        return new ComparatorHeap<>(checked(comparator), true, new Object[DEFAULT_CAPACITY], 0);
+    }
+
+    /**
+     * Return a new min heap, initialized with the passed source
+     * @param source to initialize heap
+     * @param comparator orders values - the smallest pops first
+     * @param <F> type of values stored in heap
+     * @return new heap
+     */
+    public static <F> ComparatorHeap<F> minHeapOf(final List<? extends F> source,
+                                                  final Comparator<? super F> comparator) {
+        return heapOf(source, checked(comparator), true);
+    }
+
+    /**
+     * Return a new, empty min heap of Comparable values, in their natural order
+     * @param <F> type of values stored in heap
+     * @return new heap
+     */
+    public static <F extends Comparable<? super F>> ComparatorHeap<F> emptyMinHeap() {
+        return emptyMinHeap(Comparator.<F>naturalOrder());
+    }
+
+    /**
+     * Confirm a comparator is not null
+     * @param comparator comparator to check
+     * @param <F> type of values compared
+     * @return comparator
+     */
+    private static <F> Comparator<F> checked(final Comparator<F> comparator) {
+        if (comparator == null) { throw new IllegalArgumentException("comparator cannot be null"); }
+        return comparator;
+    }
+
+    /**
+     * Return a new heap over a copy of the source
+     * @param source to initialize heap
+     * @param comparator orders values
+     * @param min true for a min heap
+     * @param <F> type of values stored in heap
+     * @return new heap
+     */
+    private static <F> ComparatorHeap<F> heapOf(final List<? extends F> source, final Comparator<? super F> comparator,
+                                                final boolean min) {
+
+        // sanity check
+        if (source == null) { throw new IllegalArgumentException("source cannot be null"); }
+
+        Object[] array = source.toArray(new Object[Math.max(DEFAULT_CAPACITY, source.size())]);
+        ComparatorHeap<F> heap = new ComparatorHeap<>(comparator, min, array, source.size());
+        heap.buildHeap();
+        return heap;
+    }
+
+    // internal storage of heap
+    private final Comparator<? super E> comparator;
+    private final boolean min;
+    private Object[] array;
+    private int size;
+
+    /**
+     * Construct a heap over the given array
+     * @param comparator orders values
+     * @param min true for a min heap, false for a max heap
+     * @param array backing array
+     * @param size count of values in array that belong to the heap
+     */
+    private ComparatorHeap(final Comparator<? super E> comparator, final boolean min, final Object[] array,
+                           final int size) {
+        this.comparator = comparator;
+        this.min = min;
+        this.array = array;
+        this.size = size;
+    }
+
+    /**
+     * Return the comparator ordering the heap
+     * @return comparator
+     */
+    public Comparator<? super E> comparator() { return comparator; }
+
+    /**
+     * Return true if the smallest value pops first, false if the largest does
+     * @return true for a min heap
+     */
+    public boolean isMinHeap() { return min; }
+
+    /**
+     * Return a count of values in the heap
+     * @return count of values
+     */
+    @Override
+    public int size() { return size; }
+
+    /**
+     * Return the top value, without popping it
+     * @return top value
+     */
+    @Override
+    public E peek() {
+
+        // sanity check - confirm heap is not empty
+        if (size == 0) { throw new IllegalStateException("empty"); }
+
+        return elementAt(0);
+    }
+
+    /**
+     * Push a value into the heap
+     * @param value value to push
+     */
+    @Override
+    public void push(final E value) {
+
+        // make room at the end of the array
+        if (size == array.length) {
+            array = Arrays.copyOf(array, grownCapacity(size));
+        }
+
+        // bubble the value up from the end to a legal spot
+        bubbleUp(size++, value);
+    }
+
+    /**
+     * Pop the top value off of the heap
+     * @return top value
+     */
+    @Override
+    public E pop() {
+
+        // sanity check - confirm heap is not empty
+        if (size == 0) { throw new IllegalStateException("empty"); }
+
+        // top value is held at the root
+        E value = elementAt(0);
+
+        // shrink, and sift the final value down from the root's position
+        E last = elementAt(--size);
+        array[size] = null;
+        if (size > 0) {
+            siftFromBottom(0, last);
+        }
+
+        // done!
+        return value;
+    }
+
+    /**
+     * Push every value in a collection into the heap - appending and rebuilding, if that is cheaper than bubbling
+     * each value up (see BinaryTreeArray.pushAll)
+     * @param values values to push
+     */
+    @Override
+    public void pushAll(final Collection<? extends E> values) {
+
+        // sanity check
+        if (values == null) { throw new IllegalArgumentException("values cannot be null"); }
+
+        // compare worst case costs - count * height for bubbling, 2 * total for a rebuild
+        final long total = (long)size + values.size();
+        final int height = 64 - Long.numberOfLeadingZeros(total);
+        if ((long)values.size() * height > 2 * total) {
+            if (total > array.length) {
+                if (total > MAX_CAPACITY) { throw new IllegalStateException("heap is full"); }
+                array = Arrays.copyOf(array, (int)Math.max(total, Math.min((long)size << 1, MAX_CAPACITY)));
+            }
+            for (E value : values) {
+                array[size++] = value;
+            }
+            buildHeap();
+        }
+        else {
+            for (E value : values) {
+                push(value);
+            }
+        }
+    }
+
+    /**
+     * Pop the top value off of the heap, and push a new value in its place
+     * Takes a single sift, from the root down
+     * @param value value to push
+     * @return top value, from before the push
+     */
+    @Override
+    public E replaceTop(final E value) {
+
+        // sanity check - confirm heap is not empty
+        if (size == 0) { throw new IllegalStateException("empty"); }
+
+        E top = elementAt(0);
+        siftDown(0, value);
+        return top;
+    }
+
+    /**
+     * Push a value into the heap, and then pop the top value off of it
+     * Takes at most a single sift, from the root down - none if the value would be the top
+     * @param value value to push
+     * @return top value, from after the push
+     */
+    @Override
+    public E pushPop(final E value) {
+
+        // value would go straight back out
+        if ((size == 0) || (compare(value, elementAt(0)) >= 0)) {
+            return value;
+        }
+
+        // otherwise value takes the root's place
+        E top = elementAt(0);
+        siftDown(0, value);
+        return top;
+    }
+
+    /**
+     * Compare two values in the heap's order - positive if a comes out first
+     * Shared by every heap, whatever its comparator - see the class comment on inlining
+     * @param a first value
+     * @param b second value
+     * @return positive if a comes before b, negative if after, 0 if tied
+     */
+    private int compare(final E a, final E b) {
+        return min ? comparator.compare(b, a) : comparator.compare(a, b);
+    }
+
+    /**
+     * Return the value at an index
+     * @param index index of value
+     * @return value
+     */
+    @SuppressWarnings("unchecked")
+    private E elementAt(final int index) {
+        return (E)array[index];
+    }
+
+    /**
+     * Return the capacity to grow to from the given size - doubling, without overflowing
+     * @param size current size
+     * @return new capacity
+     */
+    private static int grownCapacity(final int size) {
+        if (size >= MAX_CAPACITY) { throw new IllegalStateException("heap is full"); }
+        return Math.max(DEFAULT_CAPACITY, (int)Math.min((long)size << 1, MAX_CAPACITY));
+    }
+
+    /**
+     * Establishes heap order on the array
+     */
+    private void buildHeap() {
+
+        // sift down from the bottom up, minus the leaves (which are in-order by definition)
+        for (int index = (size >>> 1) - 1 ; index >= 0 ; index--) {
+            siftDown(index, elementAt(index));
+        }
+    }
+
+    /**
+     * Drops value into the hole, moving the first child (in heap order) up while it comes before value
+     * @param hole index of the hole
+     * @param value value to place
+     */
+    private void siftDown(int hole, final E value) {
+
+        // stop once the hole has no children
+        final int half = size >>> 1;
+        while (hole < half) {
+
+            // pick the child that comes first
+            int child = (hole << 1) + 1;
+            E first = elementAt(child);
+            if (child + 1 < size) {
+                E right = elementAt(child + 1);
+                if (compare(right, first) > 0) {
+                    first = right;
+                    child++;
+                }
+            }
+
+            // value belongs in the hole if it comes no later than its first child
+            if (compare(value, first) >= 0) { break; }
+
+            // move child up into the hole
+            array[hole] = first;
+            hole = child;
+        }
+        array[hole] = value;
+    }
+
+    /**
+     * Bottom-up variant of siftDown, for a value that probably belongs near the leaves (see
+     * BinaryTreeArray.maxHeapifyFromBottom)
+     * @param hole index of the hole
+     * @param value value to place
+     */
+    private void siftFromBottom(int hole, final E value) {
+
+        // drill the hole down to a leaf, moving the first child up each step
+        final int top = hole;
+        final int half = size >>> 1;
+        while (hole < half) {
+            int child = (hole << 1) + 1;
+            E first = elementAt(child);
+            if (child + 1 < size) {
+                E right = elementAt(child + 1);
+                if (compare(right, first) > 0) {
+                    first = right;
+                    child++;
+                }
+            }
+            array[hole] = first;
+            hole = child;
+        }
+
+        // climb back up until value comes no earlier than its parent, but not above where we started
+        while (hole > top) {
+            int parent = (hole - 1) >>> 1;
+            E above = elementAt(parent);
+            if (compare(value, above) <= 0) { break; }
+            array[hole] = above;
+            hole = parent;
+        }
+        array[hole] = value;
+    }
+
+    /**
+     * Moves parents down into the hole while value comes before them
+     * @param hole index of the hole
+     * @param value value to place
+     */
+    private void bubbleUp(int hole, final E value) {
+        while (hole > 0) {
+            int parent = (hole - 1) >>> 1;
+            E above = elementAt(parent);
+            if (compare(value, above) <= 0) { break; }
+            array[hole] = above;
+            hole = parent;
+        }
+        array[hole] = value;
+    }
+}
@@ -0,0 +1,196 @@
+package com.mrsnottypants.util.collection;
+
+import java.util.Arrays;
+
+/**
+ * A max heap of primitive doubles, stored in a double array.
+ *
+ * Follows the same push / pop contract as {@link Heap}, but without boxing - values live directly in the backing
+ * array, which grows by doubling as needed.
+ *
+ * Values are ordered as by {@link Double#compare}, so NaN is larger than positive infinity and 0.0 is larger than -0.0,
+ * matching a heap of boxed Doubles.
+ *
+ * Created by Eric on 10/17/2026.
+ */
+public class DoubleHeap {
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+    /**
+     * Return a new heap, built in place over the passed source
+     * The heap takes ownership of source - the caller should not modify it afterwards
+     * @param source to initialize heap
+     * @return new heap
+     */
+    public static DoubleHeap heapOf(final double[] source) {
+
+        // sanity check
+        if (source == null) { throw new IllegalArgumentException("source cannot be null"); }
+
+        DoubleHeap heap = new DoubleHeap(source, source.length);
+        heap.buildMaxHeap();
+        return heap;
+    }
+
+    /**
+     * Return a new, empty heap
+     * @return new heap
+     */
+    public static DoubleHeap emptyHeap() { return emptyHeap(DEFAULT_CAPACITY); }
+
+    /**
+     * Return a new, empty heap, with room for capacity values before it has to grow
+     * @param capacity initial capacity
+     * @return new heap
+     */
+    public static DoubleHeap emptyHeap(final int capacity) {
+
+        // sanity check
+        if (capacity < 0) { throw new IllegalArgumentException("capacity cannot be negative"); }
+
+        return new DoubleHeap(new double[capacity], 0);
+    }
+
+    // internal storage of heap
+    private double[] array;
+    private int size;
+
+    /**
+     * Construct a heap over the given array
+     * @param array backing array
+     * @param size count of values in array that belong to the heap
+     */
+    private DoubleHeap(final double[] array, final int size) {
+        this.array = array;
+        this.size = size;
+    }
+
+    /**
+     * Return a count of values in the heap
+     * @return count of values
+     */
+    public int size() { return size; }
+
+    /**
+     * Return true if the heap is empty
+     * @return true if empty
+     */
+    public boolean isEmpty() { return size == 0; }
+
+    /**
+     * Return the maximum value, without removing it from the heap
+     * @return maximum value
+     */
+    public double peek() {
+
+        // sanity check - confirm heap is not empty
+        if (size == 0) { throw new IllegalStateException("empty"); }
+
+        return array[0];
+    }
+
+    /**
+     * Push a value into the heap
+     * @param value value to push
+     */
+    public void push(final double value) {
+
+        // make room at the end of the array
+        if (size == array.length) {
+            array = Arrays.copyOf(array, grownCapacity(size));
+        }
+
+        // bubble the value up from the end to a legal spot
+        bubbleUp(size++, value);
+    }
+
+    /**
+     * Pop the maximum value off of the heap
+     * @return maximum value
+     */
+    public double pop() {
+
+        // sanity check - confirm heap is not empty
+        if (size == 0) { throw new IllegalStateException("empty"); }
+
+        // max value is held at the root
+        double value = array[0];
+
+        // move the final value into the root's position, and re-establish heap
+        double last = array[--size];
+        if (size > 0) {
+            maxHeapify(0, last);
+        }
+
+        // done!
+        return value;
+    }
+
+    /**
+     * Return the capacity to grow to from the given size - doubling, without overflowing
+     * @param size current size
+     * @return new capacity
+     */
+    private static int grownCapacity(final int size) {
+        if (size >= MAX_CAPACITY) { throw new IllegalStateException("heap is full"); }
+        return Math.max(DEFAULT_CAPACITY, (int)Math.min((long)size << 1, MAX_CAPACITY));
+    }
+
+    /**
+     * Establishes max-heapiness constraint on the array
+     */
+    private void buildMaxHeap() {
+
+        // max-heapify from the bottom up, minus the leaves (which are in-order by definition)
+        for (int index = (size >>> 1) - 1 ; index >= 0 ; index--) {
+            maxHeapify(index, array[index]);
+        }
+    }
+
+    /**
+     * Drops value into the hole at index, moving the larger child up until value is at least as large as both
+     * children
+     * @param index hole to fill
+     * @param value value to place
+     */
+    private void maxHeapify(int index, final double value) {
+
+        // stop once the hole has no children
+        int half = size >>> 1;
+        while (index < half) {
+
+            // pick the larger child
+            int child = (index << 1) + 1;
+            double largest = array[child];
+            if ((child + 1 < size) && (Double.compare(array[child + 1], largest) > 0)) {
+                largest = array[++child];
+            }
+
+            // value belongs here if it is at least as large as its larger child
+            if (Double.compare(value, largest) >= 0) { break; }
+
+            // move child up into the hole
+            array[index] = largest;
+            index = child;
+        }
+        array[index] = value;
+    }
+
+    /**
+     * Moves parents down into the hole at index until value is no larger than its parent
+     * @param index hole to fill
+     * @param value value to place
+     */
+    private void bubbleUp(int index, final double value) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            double above = array[parent];
+            if (Double.compare(value, above) <= 0) { break; }
+            array[index] = above;
+            index = parent;
+        }
+        array[index] = value;
+    }
+}
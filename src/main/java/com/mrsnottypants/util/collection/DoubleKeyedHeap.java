@@ -0,0 +1,261 @@
+package com.mrsnottypants.util.collection;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Max heap ordered by a double key, computed once per value as it is pushed
+ *
+ * Like LongKeyedHeap, for scores that are naturally doubles.  Keys are ordered as by {@link Double#compare}, like
+ * DoubleHeap.  Keys sit in a double array, alongside a parallel array of the values, so sifting compares primitives
+ * only, and each value's key extractor is called just once.  Values with equal keys pop in no particular order.
+ *
+ * Created by Eric on 10/17/2026.
+ */
+public class DoubleKeyedHeap<E> implements Heap<E> {
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+    /**
+     * Return a new heap, initialized with the passed source
+     * @param source to initialize heap
+     * @param keyExtractor computes each value's key - larger keys pop first
+     * @param <F> type of values stored in heap
+     * @return new heap
+     */
+    public static <F> DoubleKeyedHeap<F> heapOf(final List<? extends F> source,
+                                                final ToDoubleFunction<? super F> keyExtractor) {
+
+        // sanity check
+        if ((source == null) || (keyExtractor == null)) {
+            throw new IllegalArgumentException("Neither source nor keyExtractor can be null");
+        }
+
+        // copy the source and its keys in, then heapify
+        DoubleKeyedHeap<F> heap = new DoubleKeyedHeap<>(keyExtractor, source.size());
+        for (F value : source) {
+            heap.keys[heap.size] = keyExtractor.applyAsDouble(value);
+            heap.values[heap.size++] = value;
+        }
+        heap.buildMaxHeap();
+        return heap;
+    }
+
+    /**
+     * Return a new, empty heap
+     * @param keyExtractor computes each value's key - larger keys pop first
+     * @param <F> type of values stored in heap
+     * @return new heap
+     */
+    public static <F> DoubleKeyedHeap<F> emptyHeap(final ToDoubleFunction<? super F> keyExtractor) {
+
+        // sanity check
+        if (keyExtractor == null) { throw new IllegalArgumentException("keyExtractor cannot be null"); }
+
+        return new DoubleKeyedHeap<>(keyExtractor, DEFAULT_CAPACITY);
+    }
+
+    // internal storage of heap - keys[i] is the key of values[i]
+    private final ToDoubleFunction<? super E> keyExtractor;
+    private double[] keys;
+    private Object[] values;
+    private int size;
+
+    /**
+     * Construct an empty heap
+     * @param keyExtractor computes each value's key
+     * @param capacity initial capacity
+     */
+    private DoubleKeyedHeap(final ToDoubleFunction<? super E> keyExtractor, final int capacity) {
+        this.keyExtractor = keyExtractor;
+        keys = new double[capacity];
+        values = new Object[capacity];
+        size = 0;
+    }
+
+    /**
+     * Return a count of values in the heap
+     * @return count of values
+     */
+    @Override
+    public int size() { return size; }
+
+    /**
+     * Return the value with the largest key, without popping it
+     * @return value with largest key
+     */
+    @Override
+    public E peek() {
+
+        // sanity check - confirm heap is not empty
+        if (size == 0) { throw new IllegalStateException("empty"); }
+
+        return valueAt(0);
+    }
+
+    /**
+     * Return the largest key, without popping it
+     * @return largest key
+     */
+    public double peekKey() {
+
+        // sanity check - confirm heap is not empty
+        if (size == 0) { throw new IllegalStateException("empty"); }
+
+        return keys[0];
+    }
+
+    /**
+     * Push a value into the heap, computing its key
+     * @param value value to push
+     */
+    @Override
+    public void push(final E value) {
+        push(value, keyExtractor.applyAsDouble(value));
+    }
+
+    /**
+     * Push a value into the heap, with a key the caller already has
+     * @param value value to push
+     * @param key value's key
+     */
+    public void push(final E value, final double key) {
+
+        // make room at the end of the arrays
+        if (size == keys.length) {
+            int capacity = grownCapacity(size);
+            keys = Arrays.copyOf(keys, capacity);
+            values = Arrays.copyOf(values, capacity);
+        }
+
+        // bubble the value up from the end to a legal spot
+        bubbleUp(size++, key, value);
+    }
+
+    /**
+     * Pop the value with the largest key off of the heap
+     * @return value with largest key
+     */
+    @Override
+    public E pop() {
+
+        // sanity check - confirm heap is not empty
+        if (size == 0) { throw new IllegalStateException("empty"); }
+
+        // max key is held at the root
+        E value = valueAt(0);
+
+        // move the final value into the root's position, and re-establish heap
+        size--;
+        double lastKey = keys[size];
+        Object last = values[size];
+        values[size] = null;
+        if (size > 0) {
+            maxHeapify(0, lastKey, last);
+        }
+
+        // done!
+        return value;
+    }
+
+    /**
+     * Pop the value with the largest key, and push a new value in its place
+     * Takes a single sift, from the root down
+     * @param value value to push
+     * @return value with the largest key, from before the push
+     */
+    @Override
+    public E replaceTop(final E value) {
+
+        // sanity check - confirm heap is not empty
+        if (size == 0) { throw new IllegalStateException("empty"); }
+
+        E top = valueAt(0);
+        maxHeapify(0, keyExtractor.applyAsDouble(value), value);
+        return top;
+    }
+
+    /**
+     * Return the value at an index
+     * @param index index of value
+     * @return value
+     */
+    @SuppressWarnings("unchecked")
+    private E valueAt(final int index) {
+        return (E)values[index];
+    }
+
+    /**
+     * Return the capacity to grow to from the given size - doubling, without overflowing
+     * @param size current size
+     * @return new capacity
+     */
+    private static int grownCapacity(final int size) {
+        if (size >= MAX_CAPACITY) { throw new IllegalStateException("heap is full"); }
+        return Math.max(DEFAULT_CAPACITY, (int)Math.min((long)size << 1, MAX_CAPACITY));
+    }
+
+    /**
+     * Establishes max-heapiness constraint on the arrays
+     */
+    private void buildMaxHeap() {
+
+        // max-heapify from the bottom up, minus the leaves (which are in-order by definition)
+        for (int index = (size >>> 1) - 1 ; index >= 0 ; index--) {
+            maxHeapify(index, keys[index], values[index]);
+        }
+    }
+
+    /**
+     * Drops a key and its value into the hole at index, moving the child with the larger key up until key is at
+     * least as large as both children's
+     * @param index hole to fill
+     * @param key key to place
+     * @param value value to place
+     */
+    private void maxHeapify(int index, final double key, final Object value) {
+
+        // stop once the hole has no children
+        int half = size >>> 1;
+        while (index < half) {
+
+            // pick the child with the larger key
+            int child = (index << 1) + 1;
+            double largest = keys[child];
+            if ((child + 1 < size) && (Double.compare(keys[child + 1], largest) > 0)) {
+                largest = keys[++child];
+            }
+
+            // key belongs here if it is at least as large as its larger child's
+            if (Double.compare(key, largest) >= 0) { break; }
+
+            // move child up into the hole
+            keys[index] = largest;
+            values[index] = values[child];
+            index = child;
+        }
+        keys[index] = key;
+        values[index] = value;
+    }
+
+    /**
+     * Moves parents down into the hole at index until key is no larger than its parent's
+     * @param index hole to fill
+     * @param key key to place
+     * @param value value to place
+     */
+    private void bubbleUp(int index, final double key, final Object value) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            double above = keys[parent];
+            if (Double.compare(key, above) <= 0) { break; }
+            keys[index] = above;
+            values[index] = values[parent];
+            index = parent;
+        }
+        keys[index] = key;
+        values[index] = value;
+    }
+}
@@ -0,0 +1,364 @@
+package com.mrsnottypants.util.collection;
+
+import java.util.Arrays;
+
+/**
+ * Tracks one quantile of a changing set of primitive double samples, without boxing
+ *
+ * Works like QuantileTracker - a max heap of the smallest ceil(q * n) samples, and a min heap of the rest - but a
+ * sample lives in an int slot, and everything lives in primitive arrays.  Each slot holds a sample's value and its
+ * position - an index into the lower heap, or the complement (~index) of an index into the upper heap.  The heaps hold
+ * slots, and keep positions in step as they sift.
+ *
+ * Slots are reused once their samples are removed, so a handle is a long - the slot in its low 32 bits, and the slot's
+ * generation, bumped on every remove, in its high 32 bits.  A handle whose sample has been removed is refused, even
+ * after its slot has been handed out again.
+ *
+ * Created by Eric on 10/17/2026.
+ */
+public class DoubleQuantileTracker {
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+    // position of a slot not in use
+    private static final int FREE = Integer.MIN_VALUE;
+
+    /**
+     * Return a new, empty tracker
+     * @param quantile quantile to track, greater than 0 and no greater than 1 (e.g. 0.5 for the median)
+     * @return new tracker
+     */
+    public static DoubleQuantileTracker of(final double quantile) {
+
+        // sanity check
+        if (!(quantile > 0.0) || (quantile > 1.0)) {
+            throw new IllegalArgumentException(String.format("Quantile %f must be greater than 0, and at most 1",
+                    quantile));
+        }
+
+        return new DoubleQuantileTracker(quantile, DEFAULT_CAPACITY);
+    }
+
+    // slots - value and position of each sample, plus a stack of free slots
+    private double[] values;
+    private int[] positions;
+    private int[] generations;
+    private int[] free;
+    private int freeCount;
+    private int slotCount;
+
+    // heaps of slots - samples at or below the quantile, and above it
+    private int[] lower;
+    private int lowerSize;
+    private int[] upper;
+    private int upperSize;
+
+    private final double quantile;
+
+    /**
+     * Construct an empty tracker
+     * @param quantile quantile to track
+     * @param capacity initial count of slots
+     */
+    private DoubleQuantileTracker(final double quantile, final int capacity) {
+        this.quantile = quantile;
+        values = new double[capacity];
+        positions = new int[capacity];
+        generations = new int[capacity];
+        free = new int[capacity];
+        lower = new int[capacity];
+        upper = new int[capacity];
+    }
+
+    /**
+     * Return the quantile tracked
+     * @return quantile
+     */
+    public double getQuantile() { return quantile; }
+
+    /**
+     * Return the count of samples tracked
+     * @return count of samples
+     */
+    public int size() { return lowerSize + upperSize; }
+
+    /**
+     * Return true if no samples are tracked
+     * @return true if empty
+     */
+    public boolean isEmpty() { return size() == 0; }
+
+    /**
+     * Return the quantile of the samples tracked
+     * @return value at the quantile
+     */
+    public double quantile() {
+
+        // sanity check - confirm not empty
+        if (lowerSize == 0) { throw new IllegalStateException("empty"); }
+
+        return values[lower[0]];
+    }
+
+    /**
+     * Add a sample
+     * @param value sample's value, not NaN
+     * @return handle, to remove the sample later
+     */
+    public long add(final double value) {
+
+        // sanity check
+        if (Double.isNaN(value)) { throw new IllegalArgumentException("value cannot be NaN"); }
+
+        // take a slot
+        int slot = takeSlot();
+        values[slot] = value;
+
+        // goes below the quantile if no larger than it, and then we rebalance
+        if ((lowerSize == 0) || (value <= values[lower[0]])) {
+            pushLower(slot);
+        }
+        else {
+            pushUpper(slot);
+        }
+        rebalance();
+        return handleOf(slot);
+    }
+
+    /**
+     * Remove a sample
+     * @param handle handle returned when the sample was added
+     * @return sample's value
+     */
+    public double remove(final long handle) {
+
+        // sanity check
+        if (!contains(handle)) {
+            throw new IllegalArgumentException(String.format("Handle %d is not tracked", handle));
+        }
+
+        // take it out of whichever heap holds it, retire its handle, free its slot, and rebalance
+        int slot = (int)handle;
+        int position = positions[slot];
+        if (position >= 0) {
+            removeLower(position);
+        }
+        else {
+            removeUpper(~position);
+        }
+        positions[slot] = FREE;
+        generations[slot]++;
+        free[freeCount++] = slot;
+        rebalance();
+        return values[slot];
+    }
+
+    /**
+     * Return true if a handle identifies a sample tracked here
+     * @param handle handle returned when the sample was added
+     * @return true if tracked
+     */
+    public boolean contains(final long handle) {
+        int slot = (int)handle;
+        return (slot >= 0) && (slot < slotCount) && (positions[slot] != FREE)
+                && (generations[slot] == (int)(handle >>> 32));
+    }
+
+    /**
+     * Return the handle of the sample in a slot
+     * @param slot slot in use
+     * @return handle - generation high, slot low
+     */
+    private long handleOf(final int slot) {
+        return ((long)generations[slot] << 32) | slot;
+    }
+
+    /**
+     * Move samples across until the lower heap holds exactly the smallest ceil(q * n)
+     */
+    private void rebalance() {
+        final int target = QuantileTracker.rankOf(quantile, size());
+        while (lowerSize > target) {
+            pushUpper(removeLower(0));
+        }
+        while (lowerSize < target) {
+            pushLower(removeUpper(0));
+        }
+    }
+
+    /**
+     * Return a free slot, growing our arrays if none are left
+     * @return slot
+     */
+    private int takeSlot() {
+        if (freeCount > 0) { return free[--freeCount]; }
+        if (slotCount == values.length) {
+            if (values.length >= MAX_CAPACITY) { throw new IllegalStateException("full"); }
+            int capacity = (int)Math.min(MAX_CAPACITY, Math.max(DEFAULT_CAPACITY, 2L * values.length));
+            values = Arrays.copyOf(values, capacity);
+            positions = Arrays.copyOf(positions, capacity);
+            generations = Arrays.copyOf(generations, capacity);
+            free = Arrays.copyOf(free, capacity);
+            lower = Arrays.copyOf(lower, capacity);
+            upper = Arrays.copyOf(upper, capacity);
+        }
+        return slotCount++;
+    }
+
+    // Lower heap - a max heap of slots, positions are indexes
+    //
+
+    /**
+     * Push a slot into the lower heap
+     * @param slot slot to push
+     */
+    private void pushLower(final int slot) {
+        lowerUp(lowerSize++, slot);
+    }
+
+    /**
+     * Remove the slot at an index of the lower heap
+     * @param index index of slot
+     * @return removed slot
+     */
+    private int removeLower(final int index) {
+        int removed = lower[index];
+        int last = lower[--lowerSize];
+        if (index < lowerSize) {
+
+            // last can be larger than the removed slot's parent when the removed slot is in a different branch
+            if ((index > 0) && (values[last] > values[lower[(index - 1) >>> 1]])) {
+                lowerUp(index, last);
+            }
+            else {
+                lowerDown(index, last);
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Drops slot into the hole, moving the larger child up while it is larger than slot's value
+     * @param hole index of the hole
+     * @param slot slot to place
+     */
+    private void lowerDown(int hole, final int slot) {
+        final double value = values[slot];
+        final int half = lowerSize >>> 1;
+        while (hole < half) {
+
+            // pick the larger child
+            int child = (hole << 1) + 1;
+            if ((child + 1 < lowerSize) && (values[lower[child + 1]] > values[lower[child]])) {
+                child++;
+            }
+
+            // slot belongs in the hole if it is at least as large as its larger child
+            if (value >= values[lower[child]]) { break; }
+
+            // move child up into the hole
+            lower[hole] = lower[child];
+            positions[lower[hole]] = hole;
+            hole = child;
+        }
+        lower[hole] = slot;
+        positions[slot] = hole;
+    }
+
+    /**
+     * Moves parents down into the hole while slot's value is larger
+     * @param hole index of the hole
+     * @param slot slot to place
+     */
+    private void lowerUp(int hole, final int slot) {
+        final double value = values[slot];
+        while (hole > 0) {
+            int parent = (hole - 1) >>> 1;
+            if (value <= values[lower[parent]]) { break; }
+            lower[hole] = lower[parent];
+            positions[lower[hole]] = hole;
+            hole = parent;
+        }
+        lower[hole] = slot;
+        positions[slot] = hole;
+    }
+
+    // Upper heap - a min heap of slots, positions are complemented indexes
+    //
+
+    /**
+     * Push a slot into the upper heap
+     * @param slot slot to push
+     */
+    private void pushUpper(final int slot) {
+        upperUp(upperSize++, slot);
+    }
+
+    /**
+     * Remove the slot at an index of the upper heap
+     * @param index index of slot
+     * @return removed slot
+     */
+    private int removeUpper(final int index) {
+        int removed = upper[index];
+        int last = upper[--upperSize];
+        if (index < upperSize) {
+
+            // last can be smaller than the removed slot's parent when the removed slot is in a different branch
+            if ((index > 0) && (values[last] < values[upper[(index - 1) >>> 1]])) {
+                upperUp(index, last);
+            }
+            else {
+                upperDown(index, last);
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Drops slot into the hole, moving the smaller child up while it is smaller than slot's value
+     * @param hole index of the hole
+     * @param slot slot to place
+     */
+    private void upperDown(int hole, final int slot) {
+        final double value = values[slot];
+        final int half = upperSize >>> 1;
+        while (hole < half) {
+
+            // pick the smaller child
+            int child = (hole << 1) + 1;
+            if ((child + 1 < upperSize) && (values[upper[child + 1]] < values[upper[child]])) {
+                child++;
+            }
+
+            // slot belongs in the hole if it is no larger than its smaller child
+            if (value <= values[upper[child]]) { break; }
+
+            // move child up into the hole
+            upper[hole] = upper[child];
+            positions[upper[hole]] = ~hole;
+            hole = child;
+        }
+        upper[hole] = slot;
+        positions[slot] = ~hole;
+    }
+
+    /**
+     * Moves parents down into the hole while slot's value is smaller
+     * @param hole index of the hole
+     * @param slot slot to place
+     */
+    private void upperUp(int hole, final int slot) {
+        final double value = values[slot];
+        while (hole > 0) {
+            int parent = (hole - 1) >>> 1;
+            if (value >= values[upper[parent]]) { break; }
+            upper[hole] = upper[parent];
+            positions[upper[hole]] = ~hole;
+            hole = parent;
+        }
+        upper[hole] = slot;
+        positions[slot] = ~hole;
+    }
+}
@@ -0,0 +1,400 @@
+package com.mrsnottypants.util.collection;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Max heap that spills to disk, for heaps larger than memory
+ *
+ * Values are pushed into a bounded in-memory heap.  When it fills, we sort it and write the smaller half out to a
+ * temporary file as a run (in descending order), keeping the larger half - the values most likely to be popped soon -
+ * in memory.  Runs are read back lazily: each open run holds just its next value, and the runs sit in a heap of their
+ * own ordered by that next value.  Pop takes the larger of the in-memory maximum and the largest run head.
+ *
+ * Run files are read and written through RunFile.  If too many runs pile up, the smaller half of them are merged into
+ * one - merging similar sizes keeps each value from being rewritten more than a logarithmic count of times.  IO failures
+ * are thrown as UncheckedIOException, leaving the heap as it was.  Close the heap to delete its files.  Not thread-safe.
+ *
+ * Created by Eric on 10/17/2026.
+ */
+public class ExternalHeap<E extends Comparable<E>> implements Heap<E>, Closeable {
+
+    private static final int DEFAULT_MAX_RUNS = 64;
+
+    // a sorted run on disk, positioned at its next (and largest remaining) value
+    //
+    private static class Run<E extends Comparable<E>> implements Comparable<Run<E>>, Closeable {
+        private final Path path;
+        private final RunFile.Reader<E> reader;
+        private final int total;
+        private E head;
+
+        Run(Path path, RecordSerializer<E> serializer) throws IOException {
+            this.path = path;
+            reader = RunFile.open(path, serializer);
+            total = reader.remaining();
+            try {
+                advance();
+            }
+            catch (RuntimeException e) {
+                try {
+                    reader.close();
+                }
+                catch (IOException suppressed) {
+                    e.addSuppressed(suppressed);
+                }
+                throw e;
+            }
+        }
+
+        // a second, independent reader over the values left, starting with head - reading it leaves this run alone
+        RunFile.Reader<E> reopen(RecordSerializer<E> serializer) throws IOException {
+            RunFile.Reader<E> copy = RunFile.open(path, serializer);
+            try {
+                for (int skip = total - size() ; skip > 0 ; skip--) {
+                    copy.next();
+                }
+            }
+            catch (UncheckedIOException e) {
+                copy.close();
+                throw e.getCause();
+            }
+            return copy;
+        }
+
+        // read the next value into head - returns false once the run is used up
+        boolean advance() {
+            head = reader.hasNext() ? reader.next() : null;
+            return head != null;
+        }
+
+        // count of values left, including head
+        int size() { return (head == null) ? 0 : reader.remaining() + 1; }
+
+        @Override
+        public int compareTo(Run<E> other) {
+            return head.compareTo(other.head);
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+            Files.deleteIfExists(path);
+        }
+    }
+
+    /**
+     * Return a new, empty heap that spills to the default temporary directory
+     * @param memoryCapacity count of values to hold in memory
+     * @param serializer writes values to, and reads them from, run files
+     * @param <F> type of values stored in heap
+     * @return new heap
+     */
+    public static <F extends Comparable<F>> ExternalHeap<F> emptyHeap(final int memoryCapacity,
+                                                                      final RecordSerializer<F> serializer) {
+        return emptyHeap(memoryCapacity, serializer, Paths.get(System.getProperty("java.io.tmpdir")));
+    }
+
+    /**
+     * Return a new, empty heap
+     * @param memoryCapacity count of values to hold in memory
+     * @param serializer writes values to, and reads them from, run files
+     * @param directory where to write run files
+     * @param <F> type of values stored in heap
+     * @return new heap
+     */
+    public static <F extends Comparable<F>> ExternalHeap<F> emptyHeap(final int memoryCapacity,
+                                                                      final RecordSerializer<F> serializer,
+                                                                      final Path directory) {
+
+        // sanity check
+        if ((memoryCapacity < 2) || (serializer == null) || (directory == null)) {
+            throw new IllegalArgumentException("memoryCapacity must be at least 2, serializer and directory not null");
+        }
+
+        return new ExternalHeap<>(memoryCapacity, serializer, directory, DEFAULT_MAX_RUNS);
+    }
+
+    // settings
+    private final int memoryCapacity;
+    private final RecordSerializer<E> serializer;
+    private final Path directory;
+    private final int maxRuns;
+
+    // in-memory values, and runs on disk
+    private Heap<E> memory;
+    private final Heap<Run<E>> runs;
+    private int spilled;
+
+    /**
+     * Construct an empty heap
+     * @param memoryCapacity count of values to hold in memory
+     * @param serializer writes values to, and reads them from, run files
+     * @param directory where to write run files
+     * @param maxRuns count of runs that triggers a merge
+     */
+    ExternalHeap(final int memoryCapacity, final RecordSerializer<E> serializer, final Path directory,
+                 final int maxRuns) {
+        this.memoryCapacity = memoryCapacity;
+        this.serializer = serializer;
+        this.directory = directory;
+        this.maxRuns = maxRuns;
+
+        memory = BinaryTreeArray.emptyHeap();
+        runs = BinaryTreeArray.emptyHeap();
+    }
+
+    /**
+     * Return the count of runs on disk
+     * @return count of runs
+     */
+    public int getRunCount() { return runs.size(); }
+
+    /**
+     * Return a count of values in the heap, in memory and on disk
+     * @return count of values
+     */
+    @Override
+    public int size() { return memory.size() + spilled; }
+
+    /**
+     * Push a value into the heap, spilling to disk if memory is full
+     * @param value value to push
+     */
+    @Override
+    public void push(final E value) {
+
+        // sanity check
+        if (value == null) { throw new IllegalArgumentException("value cannot be null"); }
+
+        if (memory.size() >= memoryCapacity) {
+            spill();
+        }
+        memory.push(value);
+    }
+
+    /**
+     * Pop the maximum value off of the heap
+     * @return maximum value
+     */
+    @Override
+    public E pop() {
+
+        // sanity check - confirm heap is not empty
+        if (isEmpty()) { throw new IllegalStateException("empty"); }
+
+        // take from memory, unless the largest run has something larger
+        if (!fromRuns()) {
+            return memory.pop();
+        }
+
+        // take the head of the largest run, and move that run along - only counting it gone once the read succeeds
+        Run<E> run = runs.peek();
+        E value = run.head;
+        boolean more = run.advance();
+        spilled--;
+        if (more) {
+            runs.replaceTop(run);
+        }
+        else {
+            try {
+                runs.pop().close();
+            }
+            catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Return the maximum value, without popping it
+     * @return maximum value
+     */
+    @Override
+    public E peek() {
+
+        // sanity check - confirm heap is not empty
+        if (isEmpty()) { throw new IllegalStateException("empty"); }
+
+        return fromRuns() ? runs.peek().head : memory.peek();
+    }
+
+    /**
+     * Delete all run files - the heap is left empty
+     */
+    @Override
+    public void close() {
+        IOException failure = null;
+        while (!runs.isEmpty()) {
+            try {
+                runs.pop().close();
+            }
+            catch (IOException e) {
+                failure = e;
+            }
+        }
+        memory = BinaryTreeArray.emptyHeap();
+        spilled = 0;
+        if (failure != null) { throw new UncheckedIOException(failure); }
+    }
+
+    /**
+     * Return true if the maximum value is the head of a run rather than in memory
+     * @return true if maximum is on disk
+     */
+    private boolean fromRuns() {
+        if (runs.isEmpty()) { return false; }
+        if (memory.isEmpty()) { return true; }
+        return runs.peek().head.compareTo(memory.peek()) > 0;
+    }
+
+    /**
+     * Write the smaller half of memory out as a run, keeping the larger half in memory
+     */
+    private void spill() {
+
+        // drain memory in descending order - a descending list is already a max heap, so the larger half goes
+        // straight back in as one
+        List<E> sorted = new ArrayList<>(memory.size());
+        memory.popN(memory.size(), sorted::add);
+        int keep = sorted.size() / 2;
+
+        // write the rest to disk - if that fails, memory gets every value back
+        Path path = null;
+        boolean written = false;
+        try {
+            path = writeRun(sorted.subList(keep, sorted.size()));
+            addRun(path);
+            written = true;
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        finally {
+            memory = BinaryTreeArray.heapOf(written ? sorted.subList(0, keep) : sorted);
+            if (!written && (path != null)) { deleteQuietly(path); }
+        }
+
+        // too many runs - a failed merge leaves them as they were
+        try {
+            if (runs.size() > maxRuns) {
+                mergeRuns();
+            }
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Merge the smaller half of the runs into a single run
+     * The merge reads through readers of its own, and the merged run is only swapped in once written - so if it fails,
+     * the runs are left as they were
+     * @throws IOException if reading or writing fails
+     */
+    private void mergeRuns() throws IOException {
+
+        // pick the smallest runs - at least two
+        List<Run<E>> all = new ArrayList<>(runs.size());
+        while (!runs.isEmpty()) {
+            all.add(runs.pop());
+        }
+        all.sort(Comparator.comparingInt(Run::size));
+        List<Run<E>> merging = all.subList(0, Math.max(2, maxRuns / 2));
+        List<Run<E>> kept = new ArrayList<>(all.subList(merging.size(), all.size()));
+
+        // write them, largest first, to a new run
+        List<RunFile.Reader<E>> sources = new ArrayList<>(merging.size());
+        Path path = null;
+        Run<E> merged = null;
+        try {
+            int count = 0;
+            for (Run<E> run : merging) {
+                sources.add(run.reopen(serializer));
+                count += run.size();
+            }
+            path = Files.createTempFile(directory, "heap-run-", ".bin");
+            RunFile.write(path, count, KWayMerge.merge(sources, Comparator.reverseOrder()), serializer);
+            merged = new Run<>(path, serializer);
+        }
+        catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        finally {
+            for (RunFile.Reader<E> source : sources) {
+                source.close();
+            }
+
+            // on failure, put every run back, and drop the partial file
+            if (merged == null) {
+                for (Run<E> run : all) {
+                    runs.push(run);
+                }
+                if (path != null) { deleteQuietly(path); }
+            }
+        }
+
+        // swap the merged run in, and only then delete the runs it replaces
+        for (Run<E> run : kept) {
+            runs.push(run);
+        }
+        runs.push(merged);
+        for (Run<E> run : merging) {
+            run.close();
+        }
+    }
+
+    /**
+     * Write values, already in descending order, to a new run file
+     * @param values values to write
+     * @return path of run file
+     * @throws IOException if writing fails
+     */
+    private Path writeRun(final List<E> values) throws IOException {
+        Path path = Files.createTempFile(directory, "heap-run-", ".bin");
+        try {
+            RunFile.write(path, values, serializer);
+        }
+        catch (IOException | RuntimeException e) {
+            deleteQuietly(path);
+            throw e;
+        }
+        return path;
+    }
+
+    /**
+     * Delete a file we are giving up on, ignoring failure - we are already reporting one
+     * @param path file to delete
+     */
+    private static void deleteQuietly(final Path path) {
+        try {
+            Files.deleteIfExists(path);
+        }
+        catch (IOException e) {
+            // nothing more we can do
+        }
+    }
+
+    /**
+     * Open a run file, and add it to the runs
+     * @param path run file
+     * @throws IOException if opening fails
+     */
+    private void addRun(final Path path) throws IOException {
+        Run<E> run = new Run<>(path, serializer);
+        if (run.size() == 0) {
+            run.close();
+            return;
+        }
+        spilled += run.size();
+        runs.push(run);
+    }
+}
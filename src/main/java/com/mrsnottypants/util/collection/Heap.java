@@ -1,8 +1,17 @@
 package com.mrsnottypants.util.collection;
 
+import java.util.Collection;
+import java.util.function.Consumer;
+
 /**
  * A heap - maximum value is stored at the root.
  *
+ * Bulk operations have default implementations in terms of push and pop - implementations are encouraged to override
+ * them with something cheaper.
+ *
+ * peek and size came later than push and pop, so they default to throwing UnsupportedOperationException, leaving
+ * older implementations compiling as they were.  Every heap here overrides them.  isEmpty and popN need size.
+ *
  * Created by Eric on 7/3/2016.
  */
 public interface Heap<E> {
@@ -18,4 +27,88 @@ public interface Heap<E> {
      * @param value value to push
      */
     void push(E value);
+
+    /**
+     * Return the maximum value, without removing it from the heap
+     * The default throws - implementations should override it
+     * @return maximum value
+     */
+    default E peek() {
+        throw new UnsupportedOperationException("peek");
+    }
+
+    /**
+     * Return a count of values in the heap
+     * The default throws - implementations should override it
+     * @return count of values
+     */
+    default int size() {
+        throw new UnsupportedOperationException("size");
+    }
+
+    /**
+     * Return true if the heap is empty
+     * @return true if empty
+     */
+    default boolean isEmpty() { return size() == 0; }
+
+    /**
+     * Push every value in a collection into the heap
+     * @param values values to push
+     */
+    default void pushAll(final Collection<? extends E> values) {
+
+        // sanity check
+        if (values == null) { throw new IllegalArgumentException("values cannot be null"); }
+
+        for (E value : values) {
+            push(value);
+        }
+    }
+
+    /**
+     * Pop up to count values off of the heap, largest first, passing each to a consumer
+     * Stops early if the heap empties
+     * @param count maximum count of values to pop
+     * @param consumer receives popped values
+     * @return count of values popped
+     */
+    default int popN(final int count, final Consumer<? super E> consumer) {
+
+        // sanity check
+        if ((count < 0) || (consumer == null)) {
+            throw new IllegalArgumentException("count cannot be negative, and consumer cannot be null");
+        }
+
+        int popped = 0;
+        while ((popped < count) && !isEmpty()) {
+            consumer.accept(pop());
+            popped++;
+        }
+        return popped;
+    }
+
+    /**
+     * Pop the maximum value off of the heap, and push a new value in its place
+     * The popped value is returned even if the pushed value is larger
+     * @param value value to push
+     * @return maximum value, from before the push
+     */
+    default E replaceTop(final E value) {
+        E top = pop();
+        push(value);
+        return top;
+    }
+
+    /**
+     * Push a value into the heap, and then pop the maximum value off of it
+     * The default pushes and then pops.  Heaps that can compare values should override it to return the pushed value
+     * straight back, without touching the heap, when it is at least as large as the maximum
+     * @param value value to push
+     * @return maximum value, from after the push
+     */
+    default E pushPop(final E value) {
+        push(value);
+        return pop();
+    }
 }
@@ -0,0 +1,184 @@
+package com.mrsnottypants.util.collection;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters and histograms for an instrumented heap or tree - see InstrumentedHeap and InstrumentedBinaryTree
+ *
+ * Operation counts, sizes and latencies are recorded by the decorators.  Comparisons and sift lengths happen inside
+ * the heap itself, so are only recorded when heap probes are switched on, with the system property
+ * com.mrsnottypants.util.collection.probes=true - and then only for BinaryTreeArray, on the calling thread.  A rebuild
+ * of at least BinaryTreeArray.PARALLEL_THRESHOLD values runs on fork-join pool threads (given more than one), so its
+ * comparisons and sifts are not recorded.  With the property off, the probes compile away to nothing.
+ *
+ * Heaps never swap - their sifts move values into a hole instead - so swaps are only counted for trees.  For heaps,
+ * sift lengths stand in for them: a sift of length n moves n values.
+ *
+ * Every counter is striped, so one metrics object can be shared by many heaps and threads.
+ *
+ * Created by Eric on 10/17/2026.
+ */
+public class HeapMetrics {
+
+    /**
+     * Metrics at one point in time (roughly - counters are read one at a time)
+     */
+    public static final class Snapshot {
+        private final long pushes;
+        private final long pops;
+        private final long compares;
+        private final long swaps;
+        private final long navigations;
+        private final Histogram.Snapshot siftLengths;
+        private final Histogram.Snapshot sizes;
+        private final Histogram.Snapshot pushNanos;
+        private final Histogram.Snapshot popNanos;
+
+        private Snapshot(final HeapMetrics metrics) {
+            pushes = metrics.pushes.sum();
+            pops = metrics.pops.sum();
+            compares = metrics.compares.sum();
+            swaps = metrics.swaps.sum();
+            navigations = metrics.navigations.sum();
+            siftLengths = metrics.siftLengths.snapshot();
+            sizes = metrics.sizes.snapshot();
+            pushNanos = metrics.pushNanos.snapshot();
+            popNanos = metrics.popNanos.snapshot();
+        }
+
+        /**
+         * Return the count of values pushed into a heap, or added to a tree
+         * @return count of pushes
+         */
+        public long getPushes() { return pushes; }
+
+        /**
+         * Return the count of values popped off a heap
+         * @return count of pops
+         */
+        public long getPops() { return pops; }
+
+        /**
+         * Return the count of comparisons made while sifting - needs heap probes on
+         * @return count of comparisons
+         */
+        public long getCompares() { return compares; }
+
+        /**
+         * Return the count of values swapped in a tree - always 0 for a heap, whose sifts move values rather than swap
+         * them (see getSiftLengths)
+         * @return count of swaps
+         */
+        public long getSwaps() { return swaps; }
+
+        /**
+         * Return the count of steps taken navigating a tree - root, parent, left and right lookups
+         * @return count of navigations
+         */
+        public long getNavigations() { return navigations; }
+
+        /**
+         * Return the count of levels each sift moved a value (and so the count of values each sift moved) - needs
+         * heap probes on
+         * @return histogram of sift lengths
+         */
+        public Histogram.Snapshot getSiftLengths() { return siftLengths; }
+
+        /**
+         * Return the size of the heap or tree after each call that pushed or popped - once per batch, for pushAll and
+         * popN
+         * @return histogram of sizes
+         */
+        public Histogram.Snapshot getSizes() { return sizes; }
+
+        /**
+         * Return the nanoseconds each push took
+         * @return histogram of push latencies
+         */
+        public Histogram.Snapshot getPushNanos() { return pushNanos; }
+
+        /**
+         * Return the nanoseconds each pop took
+         * @return histogram of pop latencies
+         */
+        public Histogram.Snapshot getPopNanos() { return popNanos; }
+
+        @Override
+        public String toString() {
+            return String.format("pushes=%d pops=%d compares=%d swaps=%d navigations=%d siftLengths=[%s] sizes=[%s] "
+                    + "pushNanos=[%s] popNanos=[%s]", pushes, pops, compares, swaps, navigations, siftLengths, sizes,
+                    pushNanos, popNanos);
+        }
+    }
+
+    // counters
+    private final LongAdder pushes = new LongAdder();
+    private final LongAdder pops = new LongAdder();
+    private final LongAdder compares = new LongAdder();
+    private final LongAdder swaps = new LongAdder();
+    private final LongAdder navigations = new LongAdder();
+
+    // histograms
+    private final Histogram siftLengths = new Histogram();
+    private final Histogram sizes = new Histogram();
+    private final Histogram pushNanos = new Histogram();
+    private final Histogram popNanos = new Histogram();
+
+    /**
+     * Return the metrics recorded so far
+     * @return snapshot of metrics
+     */
+    public Snapshot snapshot() {
+        return new Snapshot(this);
+    }
+
+    /**
+     * Clear every counter and histogram
+     */
+    public void reset() {
+        pushes.reset();
+        pops.reset();
+        compares.reset();
+        swaps.reset();
+        navigations.reset();
+        siftLengths.reset();
+        sizes.reset();
+        pushNanos.reset();
+        popNanos.reset();
+    }
+
+    // Recording - by the decorators and probes
+    //
+
+    void recordPush(final long nanos, final int size) {
+        pushes.increment();
+        pushNanos.record(nanos);
+        sizes.record(size);
+    }
+
+    void recordPop(final long nanos, final int size) {
+        pops.increment();
+        popNanos.record(nanos);
+        sizes.record(size);
+    }
+
+    void recordPushes(final long nanos, final int count, final int size) {
+        pushes.add(count);
+        pushNanos.record(nanos / Math.max(1, count), count);
+        sizes.record(size);
+    }
+
+    void recordPops(final long nanos, final int count, final int size) {
+        pops.add(count);
+        popNanos.record(nanos / Math.max(1, count), count);
+        sizes.record(size);
+    }
+
+    void recordCompare() { compares.increment(); }
+
+    void recordSwap() { swaps.increment(); }
+
+    void recordNavigation() { navigations.increment(); }
+
+    void recordSift(final int levels) { siftLengths.record(levels); }
+}
@@ -0,0 +1,70 @@
+package com.mrsnottypants.util.collection;
+
+/**
+ * Probes inside BinaryTreeArray's sifts, reporting comparisons and sift lengths to the HeapMetrics of whichever
+ * InstrumentedHeap is calling on this thread
+ *
+ * Off unless the system property com.mrsnottypants.util.collection.probes is true when this class loads.  ENABLED is a
+ * constant, so with probes off the JIT drops every guarded probe call, and the sifts cost what they did without them.
+ *
+ * Created by Eric on 10/17/2026.
+ */
+final class HeapProbes {
+
+    static final boolean ENABLED = Boolean.getBoolean("com.mrsnottypants.util.collection.probes");
+
+    // metrics of the instrumented heap calling on this thread, if any
+    private static final ThreadLocal<HeapMetrics> ACTIVE = new ThreadLocal<>();
+
+    private HeapProbes() { }
+
+    /**
+     * Direct this thread's probes to some metrics
+     * @param metrics metrics to record into
+     * @return metrics that were bound before, to restore afterwards
+     */
+    static HeapMetrics bind(final HeapMetrics metrics) {
+        HeapMetrics previous = ACTIVE.get();
+        ACTIVE.set(metrics);
+        return previous;
+    }
+
+    /**
+     * Restore the metrics bound before a call to bind
+     * @param previous metrics returned by bind
+     */
+    static void restore(final HeapMetrics previous) {
+        if (previous == null) {
+            ACTIVE.remove();
+        }
+        else {
+            ACTIVE.set(previous);
+        }
+    }
+
+    /**
+     * Record a comparison
+     */
+    static void compared() {
+        HeapMetrics metrics = ACTIVE.get();
+        if (metrics != null) { metrics.recordCompare(); }
+    }
+
+    /**
+     * Record a sift that moved a value some count of levels
+     * @param levels count of levels
+     */
+    static void sifted(final int levels) {
+        HeapMetrics metrics = ACTIVE.get();
+        if (metrics != null) { metrics.recordSift(levels); }
+    }
+
+    /**
+     * Return the depth of an index in an implicit binary tree - 0 for the root
+     * @param index index of interest
+     * @return depth
+     */
+    static int depthOf(final int index) {
+        return 31 - Integer.numberOfLeadingZeros(index + 1);
+    }
+}
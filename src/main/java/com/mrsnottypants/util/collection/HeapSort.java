@@ -0,0 +1,131 @@
+package com.mrsnottypants.util.collection;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * In-place sorting and selection, using the heap machinery from BinaryTreeArray
+ *
+ * Everything here works directly on the caller's list or array: no copies, and O(1) extra memory.  Sorting is
+ * O(n log n) in the worst case.  Lists should support fast random access.  Sorting is not stable.
+ *
+ * Created by Eric on 10/17/2026.
+ */
+public class HeapSort {
+
+    /**
+     * Sort a list into ascending order
+     * @param list list to sort
+     * @param <F> type of values in list
+     */
+    public static <F extends Comparable<? super F>> void sort(final List<F> list) {
+        partialSort(list, list.size());
+    }
+
+    /**
+     * Sort an array into ascending order
+     * @param array array to sort
+     * @param <F> type of values in array
+     */
+    public static <F extends Comparable<? super F>> void sort(final F[] array) {
+        sort(Arrays.asList(array));
+    }
+
+    /**
+     * Move the k largest values to the end of a list, in ascending order
+     * The rest of the list is left in no particular order.  Takes O(n + k log n).
+     * @param list list to partially sort
+     * @param k count of largest values we want
+     * @param <F> type of values in list
+     */
+    public static <F extends Comparable<? super F>> void partialSort(final List<F> list, final int k) {
+
+        // sanity check
+        final int size = list.size();
+        if ((k < 0) || (k > size)) {
+            throw new IllegalArgumentException(String.format("k must be between 0 and %d, not %d", size, k));
+        }
+
+        // heapify, then repeatedly swap the maximum to just past the end of the shrinking heap
+        BinaryTreeArray.buildMaxHeap(list, size);
+        final int stop = Math.max(size - k, 1);
+        for (int end = size - 1 ; end >= stop ; end--) {
+            F last = list.get(end);
+            list.set(end, list.get(0));
+            BinaryTreeArray.maxHeapifyFromBottom(list, 0, last, end);
+        }
+    }
+
+    /**
+     * Move the k largest values to the end of an array, in ascending order
+     * @param array array to partially sort
+     * @param k count of largest values we want
+     * @param <F> type of values in array
+     */
+    public static <F extends Comparable<? super F>> void partialSort(final F[] array, final int k) {
+        partialSort(Arrays.asList(array), k);
+    }
+
+    /**
+     * Put the value that belongs at index n in sorted order at index n, with nothing larger before it and nothing
+     * smaller after it
+     *
+     * We only ever have a max heap to work with, so we pick whichever end of the list is nearer n.  For n in the upper
+     * half, we partially sort the values above it.  For n in the lower half, we keep a heap of the n + 1 smallest values
+     * seen so far at the front of the list - its maximum is the answer.  The upper half takes
+     * O(size + (size - n) log size).  The lower half takes O(size) when later values rarely beat the heap's maximum, but
+     * every one of them can (descending input, say), for O(size log n) at worst.
+     * @param list list to rearrange
+     * @param n index of interest
+     * @param <F> type of values in list
+     * @return value at index n
+     */
+    public static <F extends Comparable<? super F>> F nthElement(final List<F> list, final int n) {
+
+        // sanity check
+        final int size = list.size();
+        if ((n < 0) || (n >= size)) {
+            throw new IndexOutOfBoundsException(String.format("Index %d out of bounds, size=%d", n, size));
+        }
+
+        // upper half - the n-th is the smallest of the size - n largest
+        if (n >= size / 2) {
+            partialSort(list, size - n);
+            return list.get(n);
+        }
+
+        // lower half - heap the first n + 1 values, then swap in anything smaller than the heap's maximum
+        final int heapSize = n + 1;
+        BinaryTreeArray.buildMaxHeap(list, heapSize);
+        for (int index = heapSize ; index < size ; index++) {
+            F candidate = list.get(index);
+            F top = list.get(0);
+            if (candidate.compareTo(top) < 0) {
+                list.set(index, top);
+                BinaryTreeArray.maxHeapify(list, 0, candidate, heapSize);
+            }
+        }
+
+        // the heap's maximum belongs at n, the heap's last value can go where it was
+        F top = list.get(0);
+        list.set(0, list.get(n));
+        list.set(n, top);
+        return top;
+    }
+
+    /**
+     * Put the value that belongs at index n in sorted order at index n, with nothing larger before it and nothing
+     * smaller after it
+     * @param array array to rearrange
+     * @param n index of interest
+     * @param <F> type of values in array
+     * @return value at index n
+     */
+    public static <F extends Comparable<? super F>> F nthElement(final F[] array, final int n) {
+        return nthElement(Arrays.asList(array), n);
+    }
+
+    // no reason to instantiate this class
+    //
+    private HeapSort() {}
+}
@@ -0,0 +1,162 @@
+package com.mrsnottypants.util.collection;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogram of non-negative longs, in power-of-two buckets, safe to record into from many threads at once
+ *
+ * Bucket 0 counts zeros, and bucket b counts values in [2^(b-1), 2^b).  Each bucket is a striped counter (LongAdder),
+ * so recording is cheap even under contention.  Read it through a snapshot.
+ *
+ * Created by Eric on 10/17/2026.
+ */
+public class Histogram {
+
+    private static final int BUCKETS = 65;
+
+    /**
+     * Counts from a histogram, at one point in time (roughly - buckets are read one at a time)
+     */
+    public static final class Snapshot {
+        private final long[] counts;
+        private final long count;
+        private final long sum;
+
+        private Snapshot(final long[] counts, final long sum) {
+            this.counts = counts;
+            this.count = Arrays.stream(counts).sum();
+            this.sum = sum;
+        }
+
+        /**
+         * Return the count of values recorded
+         * @return count of values
+         */
+        public long getCount() { return count; }
+
+        /**
+         * Return the sum of values recorded
+         * @return sum of values
+         */
+        public long getSum() { return sum; }
+
+        /**
+         * Return the mean of values recorded, or 0 if none
+         * @return mean
+         */
+        public double getMean() { return (count == 0) ? 0.0 : (double)sum / count; }
+
+        /**
+         * Return the count of values in a bucket
+         * @param bucket 0 for zeros, b for values in [2^(b-1), 2^b)
+         * @return count of values
+         */
+        public long getBucketCount(final int bucket) {
+            if ((bucket < 0) || (bucket >= BUCKETS)) {
+                throw new IndexOutOfBoundsException(String.format("Bucket %d out of bounds", bucket));
+            }
+            return counts[bucket];
+        }
+
+        /**
+         * Return an upper bound on a quantile of the values recorded - the top of the bucket holding it
+         * @param quantile between 0 and 1
+         * @return upper bound of quantile, or 0 if nothing recorded
+         */
+        public long getQuantileBound(final double quantile) {
+
+            // sanity check
+            if (!(quantile >= 0.0) || (quantile > 1.0)) {
+                throw new IllegalArgumentException(String.format("Quantile %f must be between 0 and 1", quantile));
+            }
+
+            // find the bucket holding the value of this rank
+            long rank = (long)Math.ceil(quantile * count);
+            long seen = 0;
+            for (int bucket = 0 ; bucket < BUCKETS ; bucket++) {
+                seen += counts[bucket];
+                if ((seen >= rank) && (seen > 0)) {
+                    return upperBoundOf(bucket);
+                }
+            }
+            return 0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("count=%d mean=%.1f p50<=%d p99<=%d", count, getMean(), getQuantileBound(0.5),
+                    getQuantileBound(0.99));
+        }
+    }
+
+    // counts of values, by bucket, and their sum
+    private final LongAdder[] counts;
+    private final LongAdder sum = new LongAdder();
+
+    /**
+     * Construct an empty histogram
+     */
+    public Histogram() {
+        counts = new LongAdder[BUCKETS];
+        for (int bucket = 0 ; bucket < BUCKETS ; bucket++) {
+            counts[bucket] = new LongAdder();
+        }
+    }
+
+    /**
+     * Record a value
+     * @param value value to record - negative values are recorded as 0
+     */
+    public void record(final long value) {
+        long recorded = Math.max(0, value);
+        counts[64 - Long.numberOfLeadingZeros(recorded)].increment();
+        sum.add(recorded);
+    }
+
+    /**
+     * Record a value several times over, in one update
+     * @param value value to record - negative values are recorded as 0
+     * @param count count of times to record it - not negative
+     */
+    public void record(final long value, final long count) {
+
+        // sanity check
+        if (count < 0) { throw new IllegalArgumentException("count cannot be negative"); }
+
+        long recorded = Math.max(0, value);
+        counts[64 - Long.numberOfLeadingZeros(recorded)].add(count);
+        sum.add(recorded * count);
+    }
+
+    /**
+     * Return the counts recorded so far
+     * @return snapshot of counts
+     */
+    public Snapshot snapshot() {
+        long[] snapshot = new long[BUCKETS];
+        for (int bucket = 0 ; bucket < BUCKETS ; bucket++) {
+            snapshot[bucket] = counts[bucket].sum();
+        }
+        return new Snapshot(snapshot, sum.sum());
+    }
+
+    /**
+     * Clear every count
+     */
+    public void reset() {
+        for (LongAdder count : counts) {
+            count.reset();
+        }
+        sum.reset();
+    }
+
+    /**
+     * Return the largest value that falls in a bucket
+     * @param bucket bucket of interest
+     * @return largest value in bucket
+     */
+    private static long upperBoundOf(final int bucket) {
+        return (bucket == 0) ? 0 : ((bucket == 64) ? Long.MAX_VALUE : (1L << bucket) - 1);
+    }
+}
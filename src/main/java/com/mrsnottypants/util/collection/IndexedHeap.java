@@ -0,0 +1,319 @@
+package com.mrsnottypants.util.collection;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Max heap (or min heap), stored in an array(list), whose keys stay valid as values move around the heap
+ *
+ * Unlike the positional keys handed out by BinaryTreeArray, a key here is the node holding the value, and the node
+ * tracks its own position in the array.  That lets us find a value in O(1), and update or remove it in O(log n).
+ * A key becomes invalid once its value is popped or removed.
+ *
+ * Below, "larger" means first in the heap's order - larger for a max heap (emptyHeap), smaller for a min heap
+ * (emptyMinHeap).
+ *
+ * Created by Eric on 10/17/2026.
+ */
+public class IndexedHeap<E extends Comparable<E>> implements Heap<E> {
+
+    // our node key - holds the value and its current index, -1 once it has left the heap
+    //
+    private static class Node<E> implements NodeKey {
+        private final IndexedHeap<?> owner;
+        private E value;
+        private int index;
+
+        Node(IndexedHeap<?> owner, E value, int index) {
+            this.owner = owner;
+            this.value = value;
+            this.index = index;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Index: %d", index);
+        }
+    }
+
+    /**
+     * Return a new, empty heap
+     * @param <F> type of values sorted in heap
+     * @return new heap
+     */
+    public static <F extends Comparable<F>> IndexedHeap<F> emptyHeap() { return new IndexedHeap<>(false); }
+
+    /**
+     * Return a new, empty min heap - pop and peek return the minimum value
+     * @param <F> type of values sorted in heap
+     * @return new heap
+     */
+    public static <F extends Comparable<F>> IndexedHeap<F> emptyMinHeap() { return new IndexedHeap<>(true); }
+
+    // internal storage of heap
+    private final List<Node<E>> array;
+    private final boolean min;
+
+    /**
+     * Construct an empty heap
+     * @param min true for a min heap, false for a max heap
+     */
+    private IndexedHeap(final boolean min) {
+        array = new ArrayList<>();
+        this.min = min;
+    }
+
+    /**
+     * Return a count of values in the heap
+     * @return count of values
+     */
+    @Override
+    public int size() {
+        return array.size();
+    }
+
+    /**
+     * Add a value to the heap
+     * @param value value to add
+     * @return key identifying the value, for as long as it stays in the heap
+     */
+    public NodeKey add(final E value) {
+
+        // sanity check
+        if (value == null) { throw new IllegalArgumentException("value cannot be null"); }
+
+        // add it to end of the heap, and bubble it up to a legal spot
+        Node<E> node = new Node<>(this, value, array.size());
+        array.add(node);
+        bubbleUp(node.index, node);
+        return node;
+    }
+
+    /**
+     * Push a value into the heap
+     * @param value value to push
+     */
+    @Override
+    public void push(final E value) {
+        add(value);
+    }
+
+    /**
+     * Return the key of the largest value, or empty if the heap is empty
+     * @return key of largest value, or empty if heap empty
+     */
+    public Optional<NodeKey> getRoot() {
+        return array.isEmpty() ? Optional.empty() : Optional.of(array.get(0));
+    }
+
+    /**
+     * Return the largest value, without popping it
+     * @return largest value
+     */
+    @Override
+    public E peek() {
+
+        // sanity check - confirm heap is not empty
+        if (array.isEmpty()) { throw new IllegalStateException("empty"); }
+
+        return array.get(0).value;
+    }
+
+    /**
+     * Pop the largest value off of the heap
+     * @return largest value
+     */
+    @Override
+    public E pop() {
+
+        // sanity check - confirm heap is not empty
+        if (array.isEmpty()) { throw new IllegalStateException("empty"); }
+
+        return removeAt(0);
+    }
+
+    /**
+     * Return true if the key identifies a value still in this heap
+     * @param key key to check
+     * @return true if value still in heap
+     */
+    public boolean contains(final NodeKey key) {
+        if (!(key instanceof Node)) { return false; }
+        Node<?> node = (Node<?>)key;
+        return (node.owner == this) && (node.index >= 0);
+    }
+
+    /**
+     * Return the value at a given key
+     * @param key identifies the value we want
+     * @return value
+     */
+    public E get(final NodeKey key) {
+        return nodeOf(key).value;
+    }
+
+    /**
+     * Change the value at a given key, moving it up or down the heap as needed
+     * The key remains valid
+     * @param key identifies the value to change
+     * @param value new value
+     */
+    public void update(final NodeKey key, final E value) {
+
+        // sanity check
+        if (value == null) { throw new IllegalArgumentException("value cannot be null"); }
+
+        // swap in new value
+        Node<E> node = nodeOf(key);
+        E previous = node.value;
+        node.value = value;
+
+        // a larger value can only need to move up, a smaller value can only need to move down
+        int comparison = compare(value, previous);
+        if (comparison > 0) {
+            bubbleUp(node.index, node);
+        }
+        else if (comparison < 0) {
+            maxHeapify(node.index, node);
+        }
+    }
+
+    /**
+     * Move the value at a given key up or down the heap as needed, after it has changed in place
+     * For values whose ordering is mutable - update is simpler for values that are swapped out
+     * The key remains valid
+     * @param key identifies the value that changed
+     */
+    public void refresh(final NodeKey key) {
+        Node<E> node = nodeOf(key);
+        int index = node.index;
+        if ((index > 0) && (compare(node.value, array.get((index - 1) >>> 1).value) > 0)) {
+            bubbleUp(index, node);
+        }
+        else {
+            maxHeapify(index, node);
+        }
+    }
+
+    /**
+     * Remove the value at a given key from the heap
+     * The key becomes invalid
+     * @param key identifies the value to remove
+     * @return removed value
+     */
+    public E remove(final NodeKey key) {
+        return removeAt(nodeOf(key).index);
+    }
+
+    /**
+     * Cast a key to our node, confirming it is still in this heap
+     * @param key key to cast
+     * @return node
+     */
+    @SuppressWarnings("unchecked")
+    private Node<E> nodeOf(final NodeKey key) {
+        if (!contains(key)) {
+            throw new IllegalArgumentException(String.format("Key %s is not in this heap", key));
+        }
+        return (Node<E>)key;
+    }
+
+    /**
+     * Remove the node at a given index, and re-establish heap
+     * @param index index of node to remove
+     * @return removed value
+     */
+    private E removeAt(final int index) {
+
+        // retire the node
+        Node<E> removed = array.get(index);
+        removed.index = -1;
+
+        // shrink array, and drop the final node into the hole - unless it was the final node
+        Node<E> last = array.remove(array.size() - 1);
+        if (last != removed) {
+
+            // last can be larger than the removed node's parent when the removed node is in a different branch
+            last.index = index;
+            if ((index > 0) && (compare(last.value, array.get((index - 1) >>> 1).value) > 0)) {
+                bubbleUp(index, last);
+            }
+            else {
+                maxHeapify(index, last);
+            }
+        }
+
+        // done!
+        return removed.value;
+    }
+
+    /**
+     * Drops node into the hole, moving the larger child up while it is larger than node's value
+     * @param hole index of the hole
+     * @param node node to place
+     */
+    private void maxHeapify(int hole, final Node<E> node) {
+
+        // stop once the hole has no children
+        final int size = array.size();
+        final int half = size >>> 1;
+        while (hole < half) {
+
+            // pick the larger child
+            int child = (hole << 1) + 1;
+            Node<E> largest = array.get(child);
+            if (child + 1 < size) {
+                Node<E> right = array.get(child + 1);
+                if (compare(right.value, largest.value) > 0) {
+                    largest = right;
+                    child++;
+                }
+            }
+
+            // node belongs in the hole if it is at least as large as its larger child
+            if (compare(node.value, largest.value) >= 0) { break; }
+
+            // move child up into the hole
+            place(hole, largest);
+            hole = child;
+        }
+        place(hole, node);
+    }
+
+    /**
+     * Moves parents down into the hole while node's value is larger
+     * @param hole index of the hole
+     * @param node node to place
+     */
+    private void bubbleUp(int hole, final Node<E> node) {
+        while (hole > 0) {
+            int parent = (hole - 1) >>> 1;
+            Node<E> above = array.get(parent);
+            if (compare(node.value, above.value) <= 0) { break; }
+            place(hole, above);
+            hole = parent;
+        }
+        place(hole, node);
+    }
+
+    /**
+     * Compare two values in the heap's order
+     * @param a first value
+     * @param b second value
+     * @return positive if a is "larger" (comes first), negative if b is, 0 if equal
+     */
+    private int compare(final E a, final E b) {
+        return min ? b.compareTo(a) : a.compareTo(b);
+    }
+
+    /**
+     * Put a node at an index, keeping its own record of its index in step
+     * @param index where node goes
+     * @param node node to place
+     */
+    private void place(final int index, final Node<E> node) {
+        array.set(index, node);
+        node.index = index;
+    }
+}
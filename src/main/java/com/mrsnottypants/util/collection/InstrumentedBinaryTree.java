@@ -0,0 +1,107 @@
+package com.mrsnottypants.util.collection;
+
+import java.util.Optional;
+
+/**
+ * BinaryTree decorator that records adds, swaps, navigation and sizes into HeapMetrics
+ *
+ * Opt-in - wrap the trees you want to watch.  Traversals and the default navigation methods (getLeftestLeaf,
+ * getClosestRight...) go through the decorator, so every step they take is counted.
+ *
+ * Created by Eric on 10/17/2026.
+ */
+public class InstrumentedBinaryTree<E> implements BinaryTree<E> {
+
+    /**
+     * Return a tree that records its use into some metrics
+     * @param tree tree to wrap
+     * @param metrics metrics to record into
+     * @param <F> type of values stored in tree
+     * @return instrumented tree
+     */
+    public static <F> BinaryTree<F> wrap(final BinaryTree<F> tree, final HeapMetrics metrics) {
+
+        // sanity check
+        if ((tree == null) || (metrics == null)) {
+            throw new IllegalArgumentException("Neither tree nor metrics can be null");
+        }
+
+        return new InstrumentedBinaryTree<>(tree, metrics);
+    }
+
+    private final BinaryTree<E> tree;
+    private final HeapMetrics metrics;
+
+    /**
+     * Construct a decorator
+     * @param tree tree to wrap
+     * @param metrics metrics to record into
+     */
+    private InstrumentedBinaryTree(final BinaryTree<E> tree, final HeapMetrics metrics) {
+        this.tree = tree;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public int size() {
+        return tree.size();
+    }
+
+    @Override
+    public NodeKey add(final E value) {
+        long start = System.nanoTime();
+        NodeKey key = tree.add(value);
+        metrics.recordPush(System.nanoTime() - start, tree.size());
+        return key;
+    }
+
+    @Override
+    public E get(final NodeKey key) {
+        return tree.get(key);
+    }
+
+    @Override
+    public void swap(final NodeKey key1, final NodeKey key2) {
+        tree.swap(key1, key2);
+        metrics.recordSwap();
+    }
+
+    @Override
+    public Optional<NodeKey> getRoot() {
+        metrics.recordNavigation();
+        return tree.getRoot();
+    }
+
+    @Override
+    public boolean hasParent(final NodeKey key) {
+        return tree.hasParent(key);
+    }
+
+    @Override
+    public Optional<NodeKey> getParent(final NodeKey key) {
+        metrics.recordNavigation();
+        return tree.getParent(key);
+    }
+
+    @Override
+    public boolean hasLeft(final NodeKey key) {
+        return tree.hasLeft(key);
+    }
+
+    @Override
+    public Optional<NodeKey> getLeft(final NodeKey key) {
+        metrics.recordNavigation();
+        return tree.getLeft(key);
+    }
+
+    @Override
+    public boolean hasRight(final NodeKey key) {
+        return tree.hasRight(key);
+    }
+
+    @Override
+    public Optional<NodeKey> getRight(final NodeKey key) {
+        metrics.recordNavigation();
+        return tree.getRight(key);
+    }
+}
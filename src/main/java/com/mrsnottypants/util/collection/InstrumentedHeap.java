@@ -0,0 +1,188 @@
+package com.mrsnottypants.util.collection;
+
+import java.util.Collection;
+import java.util.function.Consumer;
+
+/**
+ * Heap decorator that records pushes, pops, sizes and latencies into HeapMetrics
+ *
+ * Opt-in - wrap the heaps you want to watch, and leave the rest alone.  While a call is in the wrapped heap, its
+ * comparisons and sift lengths are recorded too, if heap probes are on (see HeapMetrics).
+ *
+ * Created by Eric on 10/17/2026.
+ */
+public class InstrumentedHeap<E> implements Heap<E> {
+
+    /**
+     * Return a heap that records its use into some metrics
+     * @param heap heap to wrap
+     * @param metrics metrics to record into
+     * @param <F> type of values stored in heap
+     * @return instrumented heap
+     */
+    public static <F> Heap<F> wrap(final Heap<F> heap, final HeapMetrics metrics) {
+
+        // sanity check
+        if ((heap == null) || (metrics == null)) {
+            throw new IllegalArgumentException("Neither heap nor metrics can be null");
+        }
+
+        return new InstrumentedHeap<>(heap, metrics);
+    }
+
+    private final Heap<E> heap;
+    private final HeapMetrics metrics;
+
+    /**
+     * Construct a decorator
+     * @param heap heap to wrap
+     * @param metrics metrics to record into
+     */
+    private InstrumentedHeap(final Heap<E> heap, final HeapMetrics metrics) {
+        this.heap = heap;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public int size() {
+        return heap.size();
+    }
+
+    @Override
+    public E peek() {
+        return heap.peek();
+    }
+
+    @Override
+    public void push(final E value) {
+        HeapMetrics previous = bind();
+        long start = System.nanoTime();
+        try {
+            heap.push(value);
+        }
+        finally {
+            restore(previous);
+        }
+        metrics.recordPush(System.nanoTime() - start, heap.size());
+    }
+
+    @Override
+    public E pop() {
+        HeapMetrics previous = bind();
+        long start = System.nanoTime();
+        E value;
+        try {
+            value = heap.pop();
+        }
+        finally {
+            restore(previous);
+        }
+        metrics.recordPop(System.nanoTime() - start, heap.size());
+        return value;
+    }
+
+    /**
+     * Push every value in a collection - recorded as one push per value, sharing the batch's time evenly, and one
+     * size sample for the batch
+     * @param values values to push
+     */
+    @Override
+    public void pushAll(final Collection<? extends E> values) {
+        HeapMetrics previous = bind();
+        long start = System.nanoTime();
+        try {
+            heap.pushAll(values);
+        }
+        finally {
+            restore(previous);
+        }
+        metrics.recordPushes(System.nanoTime() - start, values.size(), heap.size());
+    }
+
+    /**
+     * Pop up to count values - recorded as one pop per value, sharing the batch's time evenly, and one size sample
+     * for the batch
+     * @param count maximum count of values to pop
+     * @param consumer receives popped values
+     * @return count of values popped
+     */
+    @Override
+    public int popN(final int count, final Consumer<? super E> consumer) {
+        HeapMetrics previous = bind();
+        long start = System.nanoTime();
+        int popped;
+        try {
+            popped = heap.popN(count, consumer);
+        }
+        finally {
+            restore(previous);
+        }
+        metrics.recordPops(System.nanoTime() - start, popped, heap.size());
+        return popped;
+    }
+
+    /**
+     * Pop the top value, and push a new value in its place - recorded as a pop and a push, sharing the time
+     * @param value value to push
+     * @return top value, from before the push
+     */
+    @Override
+    public E replaceTop(final E value) {
+        HeapMetrics previous = bind();
+        long start = System.nanoTime();
+        E top;
+        try {
+            top = heap.replaceTop(value);
+        }
+        finally {
+            restore(previous);
+        }
+        recordPushAndPop(System.nanoTime() - start);
+        return top;
+    }
+
+    /**
+     * Push a value, and then pop the top value - recorded as a push and a pop, sharing the time
+     * @param value value to push
+     * @return top value, from after the push
+     */
+    @Override
+    public E pushPop(final E value) {
+        HeapMetrics previous = bind();
+        long start = System.nanoTime();
+        E top;
+        try {
+            top = heap.pushPop(value);
+        }
+        finally {
+            restore(previous);
+        }
+        recordPushAndPop(System.nanoTime() - start);
+        return top;
+    }
+
+    /**
+     * Record a push and a pop, made in one call
+     * @param nanos time taken by the call
+     */
+    private void recordPushAndPop(final long nanos) {
+        metrics.recordPush(nanos / 2, heap.size());
+        metrics.recordPop(nanos / 2, heap.size());
+    }
+
+    /**
+     * Point this thread's heap probes at our metrics, if probes are on
+     * @return metrics bound before, or null
+     */
+    private HeapMetrics bind() {
+        return HeapProbes.ENABLED ? HeapProbes.bind(metrics) : null;
+    }
+
+    /**
+     * Point this thread's heap probes back where they were
+     * @param previous metrics bound before
+     */
+    private void restore(final HeapMetrics previous) {
+        if (HeapProbes.ENABLED) { HeapProbes.restore(previous); }
+    }
+}
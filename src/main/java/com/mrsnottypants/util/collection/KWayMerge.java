@@ -0,0 +1,259 @@
+package com.mrsnottypants.util.collection;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Merges any number of sorted sources into one sorted iterator
+ *
+ * Sources sit at the leaves of a loser tree - a tournament where each internal node remembers the loser of the match
+ * played there, and the overall winner is kept aside.  Producing a value means replaying the winner's leaf against the
+ * losers on its path to the root: one pass of log(k) comparisons, with nothing to allocate and no separate pop and push.
+ * Ties go to the earlier source, so the merge is stable.
+ *
+ * Each source is read a batch at a time into a small buffer.  Sources that are Closeable, like run file readers, are
+ * closed by close(), or as soon as they are used up.
+ *
+ * Created by Eric on 10/17/2026.
+ */
+public class KWayMerge<E> implements Iterator<E>, Closeable {
+
+    private static final int DEFAULT_BATCH_SIZE = 64;
+
+    // a source, and the batch of values we have read from it
+    //
+    private static class Cursor<E> {
+        private final Iterator<? extends E> source;
+        private final Object[] batch;
+        private int at;
+        private int count;
+
+        Cursor(Iterator<? extends E> source, int batchSize) {
+            this.source = source;
+            this.batch = new Object[batchSize];
+            fill();
+        }
+
+        boolean isExhausted() { return at == count; }
+
+        @SuppressWarnings("unchecked")
+        E head() { return (E)batch[at]; }
+
+        // move past head, reading the next batch if this one is used up
+        void advance() {
+            batch[at++] = null;
+            if (at == count) { fill(); }
+        }
+
+        private void fill() {
+            at = 0;
+            count = 0;
+            while ((count < batch.length) && source.hasNext()) {
+                batch[count++] = source.next();
+            }
+            if (count == 0) { close(); }
+        }
+
+        void close() {
+            if (source instanceof Closeable) {
+                try {
+                    ((Closeable)source).close();
+                }
+                catch (IOException e) {
+                    // nothing more to read from it either way
+                }
+            }
+        }
+    }
+
+    /**
+     * Merge sources sorted in ascending natural order
+     * @param sources sorted iterators
+     * @param <F> type of values
+     * @return merged iterator
+     */
+    public static <F extends Comparable<? super F>> KWayMerge<F> merge(
+            final List<? extends Iterator<? extends F>> sources) {
+        return merge(sources, Comparator.naturalOrder());
+    }
+
+    /**
+     * Merge sources sorted in the order of a comparator
+     * @param sources sorted iterators
+     * @param comparator order the sources are sorted in
+     * @param <F> type of values
+     * @return merged iterator
+     */
+    public static <F> KWayMerge<F> merge(final List<? extends Iterator<? extends F>> sources,
+                                         final Comparator<? super F> comparator) {
+        return merge(sources, comparator, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Merge sources sorted in the order of a comparator
+     * @param sources sorted iterators
+     * @param comparator order the sources are sorted in
+     * @param batchSize count of values to read from a source at a time
+     * @param <F> type of values
+     * @return merged iterator
+     */
+    public static <F> KWayMerge<F> merge(final List<? extends Iterator<? extends F>> sources,
+                                         final Comparator<? super F> comparator, final int batchSize) {
+
+        // sanity check
+        if ((sources == null) || (comparator == null) || (batchSize < 1)) {
+            throw new IllegalArgumentException("sources and comparator cannot be null, batchSize must be at least 1");
+        }
+
+        return new KWayMerge<>(sources, comparator, batchSize);
+    }
+
+    /**
+     * Merge run files sorted in the order of a comparator
+     * @param files run files, as written by RunFile
+     * @param serializer reads values
+     * @param comparator order the files are sorted in
+     * @param <F> type of values
+     * @return merged iterator - close it if it is abandoned before the end
+     * @throws IOException if a file can not be opened
+     */
+    public static <F> KWayMerge<F> mergeFiles(final List<Path> files, final RecordSerializer<F> serializer,
+                                              final Comparator<? super F> comparator) throws IOException {
+
+        // sanity check
+        if ((files == null) || (serializer == null)) {
+            throw new IllegalArgumentException("files and serializer cannot be null");
+        }
+
+        // open every file, closing what we opened if one fails
+        List<RunFile.Reader<F>> readers = new ArrayList<>(files.size());
+        try {
+            for (Path file : files) {
+                readers.add(RunFile.open(file, serializer));
+            }
+        }
+        catch (IOException e) {
+            for (RunFile.Reader<F> reader : readers) {
+                reader.close();
+            }
+            throw e;
+        }
+        return merge(readers, comparator);
+    }
+
+    // the sources, and their order
+    private final Cursor<E>[] cursors;
+    private final Comparator<? super E> comparator;
+
+    // losers[node] is the cursor that lost the match at internal node, 1..k-1 - leaf of cursor i is node k + i
+    private final int[] losers;
+    private int winner;
+
+    /**
+     * Construct a merge, and play the opening tournament
+     * @param sources sorted iterators
+     * @param comparator order the sources are sorted in
+     * @param batchSize count of values to read from a source at a time
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private KWayMerge(final List<? extends Iterator<? extends E>> sources, final Comparator<? super E> comparator,
+                      final int batchSize) {
+        this.comparator = comparator;
+
+        int k = sources.size();
+        cursors = new Cursor[k];
+        for (int i = 0 ; i < k ; i++) {
+            cursors[i] = new Cursor<>(sources.get(i), batchSize);
+        }
+
+        // play every match from the leaves up, remembering winners as we go
+        losers = new int[Math.max(k, 1)];
+        int[] winners = new int[2 * k];
+        for (int i = 0 ; i < k ; i++) {
+            winners[k + i] = i;
+        }
+        for (int node = k - 1 ; node >= 1 ; node--) {
+            int left = winners[2 * node];
+            int right = winners[(2 * node) + 1];
+            boolean leftWins = beats(left, right);
+            winners[node] = leftWins ? left : right;
+            losers[node] = leftWins ? right : left;
+        }
+        winner = (k > 1) ? winners[1] : 0;
+    }
+
+    /**
+     * Return true if there is a next value
+     * @return true if there is a next value
+     */
+    @Override
+    public boolean hasNext() {
+        return (cursors.length > 0) && !cursors[winner].isExhausted();
+    }
+
+    /**
+     * Return the smallest value across all sources
+     * @return next value
+     */
+    @Override
+    public E next() {
+
+        // sanity check - there is a next
+        if (!hasNext()) { throw new NoSuchElementException("Past end of merge"); }
+
+        // take the winner's head, then replay its leaf up to the root
+        E next = cursors[winner].head();
+        cursors[winner].advance();
+        replay();
+
+        // done!
+        return next;
+    }
+
+    /**
+     * Close every source that is Closeable
+     */
+    @Override
+    public void close() {
+        for (Cursor<E> cursor : cursors) {
+            cursor.close();
+        }
+    }
+
+    /**
+     * Play the winner's new head against the losers on the path from its leaf to the root
+     */
+    private void replay() {
+        int candidate = winner;
+        for (int node = (candidate + cursors.length) >>> 1 ; node >= 1 ; node >>>= 1) {
+            if (beats(losers[node], candidate)) {
+                int loser = candidate;
+                candidate = losers[node];
+                losers[node] = loser;
+            }
+        }
+        winner = candidate;
+    }
+
+    /**
+     * Return true if cursor a's head comes before cursor b's head
+     * Exhausted cursors come after everything, and ties go to the lower index
+     * @param a cursor index
+     * @param b cursor index
+     * @return true if a beats b
+     */
+    private boolean beats(final int a, final int b) {
+        Cursor<E> first = cursors[a];
+        Cursor<E> second = cursors[b];
+        if (first.isExhausted()) { return false; }
+        if (second.isExhausted()) { return true; }
+        int comparison = comparator.compare(first.head(), second.head());
+        return (comparison < 0) || ((comparison == 0) && (a < b));
+    }
+}
@@ -0,0 +1,153 @@
+package com.mrsnottypants.util.collection;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Max heap that puts off ordering most of its initial values until pops reach them
+ *
+ * For when only a few pops follow a big heapOf - see BinaryTreeArray.lazyHeapOf.  On the first peek or pop, we pick a
+ * pivot from a sample of the source, so that only a few thousand values should be at least as large, and make one
+ * pass - a single partition step, as in quickselect - heaping just those values.  The rest of the source is left
+ * untouched, and only heaped if pops get down past the pivot.  So popping a few values out of n takes about n
+ * comparisons, rather than the ~2n comparisons and moves of heapifying a copy of everything.
+ *
+ * Values pushed go into the same heap, but pops only trust its top while it is at least the pivot - so values pop in
+ * exactly the order an eager heap would give.
+ *
+ * The heap reads the source until it has taken in every value - the caller should not modify it meanwhile.
+ *
+ * Created by Eric on 10/17/2026.
+ */
+class LazyHeap<E extends Comparable<E>> implements Heap<E> {
+
+    // sources smaller than this are heaped eagerly
+    private static final int EAGER_THRESHOLD = 1 << 14;
+
+    // count of values sampled to pick a pivot, and count of values we aim to have at or above it
+    private static final int SAMPLE_SIZE = 1024;
+    private static final int TOP_TARGET = 4096;
+
+    // source values not yet taken in, all smaller than the pivot - null once every value has been taken in
+    private List<E> source;
+    private E pivot;
+    private int restCount;
+
+    // values taken in, and values pushed
+    private final Heap<E> heap = BinaryTreeArray.emptyHeap();
+
+    /**
+     * Construct a lazy heap over the passed source
+     * @param source initial values - read until taken in, not modified
+     */
+    LazyHeap(final List<E> source) {
+        this.source = source;
+        this.pivot = null;
+        this.restCount = source.size();
+    }
+
+    /**
+     * Return a count of values in the heap
+     * @return count of values
+     */
+    @Override
+    public int size() {
+        return heap.size() + ((source != null) ? restCount : 0);
+    }
+
+    /**
+     * Push a value into the heap
+     * @param value value to push
+     */
+    @Override
+    public void push(final E value) {
+        heap.push(value);
+    }
+
+    /**
+     * Return the maximum value, without popping it
+     * @return maximum value
+     */
+    @Override
+    public E peek() {
+        return readyHeap().peek();
+    }
+
+    /**
+     * Pop the maximum value off of the heap
+     * @return maximum value
+     */
+    @Override
+    public E pop() {
+        return readyHeap().pop();
+    }
+
+    /**
+     * Take in as much of the source as the heap needs for its top to be the true maximum
+     * @return heap, whose top is the maximum (if any)
+     */
+    private Heap<E> readyHeap() {
+        if (source != null) {
+            if (pivot == null) {
+                takeTop();
+            }
+            if ((source != null) && (heap.isEmpty() || (heap.peek().compareTo(pivot) < 0))) {
+                takeRest();
+            }
+        }
+        return heap;
+    }
+
+    /**
+     * Take in the source values at or above a sampled pivot - or all of them, for a small source
+     */
+    private void takeTop() {
+
+        // small enough that laziness is not worth it
+        final int size = source.size();
+        if (size < EAGER_THRESHOLD) {
+            takeRest();
+            return;
+        }
+
+        // sample evenly across the source, and pick the pivot we expect TOP_TARGET values to be at or above
+        List<E> sample = new ArrayList<>(SAMPLE_SIZE);
+        for (int i = 0 ; i < SAMPLE_SIZE ; i++) {
+            sample.add(source.get((int)(((long)i * size) / SAMPLE_SIZE)));
+        }
+        Collections.sort(sample);
+        int rank = (int)(((long)TOP_TARGET * SAMPLE_SIZE) / size);
+        pivot = sample.get(SAMPLE_SIZE - 1 - rank);
+
+        // one pass - values at or above the pivot are heaped, the rest are only counted
+        List<E> top = new ArrayList<>();
+        for (E value : source) {
+            if (value.compareTo(pivot) >= 0) {
+                top.add(value);
+            }
+        }
+        restCount = size - top.size();
+        heap.pushAll(top);
+    }
+
+    /**
+     * Take in every source value not yet taken in
+     */
+    private void takeRest() {
+        if (pivot == null) {
+            heap.pushAll(source);
+        }
+        else {
+            List<E> rest = new ArrayList<>(restCount);
+            for (E value : source) {
+                if (value.compareTo(pivot) < 0) {
+                    rest.add(value);
+                }
+            }
+            heap.pushAll(rest);
+        }
+        source = null;
+        restCount = 0;
+    }
+}
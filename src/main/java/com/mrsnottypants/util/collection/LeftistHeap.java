@@ -0,0 +1,149 @@
+package com.mrsnottypants.util.collection;
+
+/**
+ * Max leftist heap - a pointer-based heap with O(log n) push, pop and meld
+ *
+ * Each node records its rank, the length of the shortest path down to a missing child.  A left child's rank is never
+ * less than its sibling's, which keeps every right spine at most log(n) long.  Everything is a merge of two right
+ * spines.
+ *
+ * See PersistentLeftistHeap for an immutable version.
+ *
+ * Created by Eric on 10/17/2026.
+ */
+public class LeftistHeap<E extends Comparable<E>> implements MeldableHeap<E> {
+
+    // a node
+    //
+    private static class Node<E> {
+        private final E value;
+        private Node<E> left;
+        private Node<E> right;
+        private int rank;
+
+        Node(E value) {
+            this.value = value;
+            this.rank = 1;
+        }
+    }
+
+    /**
+     * Return a new, empty heap
+     * @param <F> type of values stored in heap
+     * @return new heap
+     */
+    public static <F extends Comparable<F>> LeftistHeap<F> emptyHeap() { return new LeftistHeap<>(); }
+
+    private Node<E> root;
+    private int size;
+
+    /**
+     * Construct an empty heap
+     */
+    private LeftistHeap() {}
+
+    /**
+     * Return a count of values in the heap
+     * @return count of values
+     */
+    @Override
+    public int size() { return size; }
+
+    /**
+     * Push a value into the heap
+     * @param value value to push
+     */
+    @Override
+    public void push(final E value) {
+
+        // sanity check
+        if (value == null) { throw new IllegalArgumentException("value cannot be null"); }
+
+        root = merge(root, new Node<>(value));
+        size++;
+    }
+
+    /**
+     * Return the maximum value, without popping it
+     * @return maximum value
+     */
+    @Override
+    public E peek() {
+
+        // sanity check - confirm heap is not empty
+        if (root == null) { throw new IllegalStateException("empty"); }
+
+        return root.value;
+    }
+
+    /**
+     * Pop the maximum value off of the heap
+     * @return maximum value
+     */
+    @Override
+    public E pop() {
+
+        // sanity check - confirm heap is not empty
+        if (root == null) { throw new IllegalStateException("empty"); }
+
+        E value = root.value;
+        root = merge(root.left, root.right);
+        size--;
+        return value;
+    }
+
+    /**
+     * Move every value in another heap into this heap, leaving the other heap empty
+     * O(log n) for another leftist heap
+     * @param other heap to absorb
+     */
+    @Override
+    public void meld(final Heap<E> other) {
+
+        // sanity check
+        if ((other == null) || (other == this)) {
+            throw new IllegalArgumentException("other cannot be null, or this heap");
+        }
+
+        // same kind of heap - merge the trees
+        if (other instanceof LeftistHeap) {
+            LeftistHeap<E> leftist = (LeftistHeap<E>)other;
+            root = merge(root, leftist.root);
+            size += leftist.size;
+            leftist.root = null;
+            leftist.size = 0;
+            return;
+        }
+
+        // otherwise pop across
+        while (!other.isEmpty()) {
+            push(other.pop());
+        }
+    }
+
+    /**
+     * Merge two trees along their right spines
+     * Recursion depth is bounded by the combined right spine length, O(log n)
+     * @param a tree to merge, or null
+     * @param b tree to merge, or null
+     * @return root of merged tree
+     */
+    private Node<E> merge(final Node<E> a, final Node<E> b) {
+        if (a == null) { return b; }
+        if (b == null) { return a; }
+
+        // larger root stays on top, and the other tree merges into its right branch
+        Node<E> top = (a.value.compareTo(b.value) >= 0) ? a : b;
+        Node<E> other = (top == a) ? b : a;
+        top.right = merge(top.right, other);
+
+        // keep the higher rank on the left
+        if ((top.left == null) || (top.left.rank < top.right.rank)) {
+            Node<E> swap = top.left;
+            top.left = top.right;
+            top.right = swap;
+        }
+        top.rank = (top.right == null) ? 1 : top.right.rank + 1;
+        return top;
+    }
+}
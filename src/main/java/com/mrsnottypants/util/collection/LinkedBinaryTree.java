@@ -0,0 +1,372 @@
+package com.mrsnottypants.util.collection;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Optional;
+
+/**
+ * Binary tree of linked nodes, for sparse or unbalanced shapes that an array tree cannot hold
+ *
+ * Each node is its own NodeKey, with a pointer to its parent as well as its children - so moving between nodes is
+ * O(1) and never allocates a key, and the traversals run in amortized O(1) per step.  Nodes are attached where the
+ * caller wants them (attachLeft, attachRight), and whole branches can be detached into a tree of their own.  Each node
+ * knows its tree, so keys from another tree - including a branch detached from this one - are refused with an
+ * IllegalArgumentException.
+ *
+ * Created by Eric on 10/17/2026.
+ */
+public class LinkedBinaryTree<E> implements BinaryTree<E> {
+
+    // our node, which is also its own key - owner is the tree it is in, so keys from other trees can be refused
+    //
+    private static final class Node<E> implements NodeKey {
+        private E value;
+        private LinkedBinaryTree<E> owner;
+        private Node<E> parent;
+        private Node<E> left;
+        private Node<E> right;
+
+        Node(E value, LinkedBinaryTree<E> owner, Node<E> parent) {
+            this.value = value;
+            this.owner = owner;
+            this.parent = parent;
+        }
+    }
+
+    // our cursor - a position is just a node, so walking allocates nothing
+    //
+    private class NodeCursor implements TreeCursor<E> {
+        private Node<E> node;
+
+        NodeCursor() { toRoot(); }
+
+        @Override
+        public boolean toLeft() { return moveTo((node == null) ? null : node.left); }
+
+        @Override
+        public boolean toRight() { return moveTo((node == null) ? null : node.right); }
+
+        @Override
+        public boolean toParent() { return moveTo((node == null) ? null : node.parent); }
+
+        @Override
+        public boolean toRoot() {
+            node = root;
+            return node != null;
+        }
+
+        @Override
+        public E value() {
+
+            // sanity check - confirm we have a node
+            if (node == null) { throw new IllegalStateException("empty"); }
+
+            return node.value;
+        }
+
+        // move to target, if there is one
+        private boolean moveTo(Node<E> target) {
+            if (target == null) { return false; }
+            node = target;
+            return true;
+        }
+    }
+
+    /**
+     * Return a new, empty tree
+     * @param <F> type of values stored in tree
+     * @return new tree
+     */
+    public static <F> LinkedBinaryTree<F> emptyTree() {
+        return new LinkedBinaryTree<>(null, 0);
+    }
+
+    // internal storage of tree
+    private Node<E> root;
+    private int size;
+
+    /**
+     * Construct a tree
+     * @param root root node, or null for an empty tree
+     * @param size count of nodes under root
+     */
+    private LinkedBinaryTree(final Node<E> root, final int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * Return the count of nodes in the tree
+     * @return count of nodes
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Add a value to the tree - as the root if the tree is empty, otherwise at the first free child in level order
+     * Finding that child takes O(n) - use attachLeft or attachRight to place a node directly
+     * @param value value to add to tree
+     * @return key of newly added node
+     */
+    @Override
+    public NodeKey add(final E value) {
+
+        // first node is the root
+        if (root == null) {
+            root = new Node<>(value, this, null);
+            size = 1;
+            return root;
+        }
+
+        // search level by level for a node with a free child
+        Deque<Node<E>> queue = new ArrayDeque<>();
+        queue.add(root);
+        while (true) {
+            Node<E> node = queue.remove();
+            if (node.left == null) { return attachLeft(node, value); }
+            if (node.right == null) { return attachRight(node, value); }
+            queue.add(node.left);
+            queue.add(node.right);
+        }
+    }
+
+    /**
+     * Add a value as the left child of a node
+     * @param parent node to attach to
+     * @param value value to add to tree
+     * @return key of newly added node
+     */
+    public NodeKey attachLeft(final NodeKey parent, final E value) {
+
+        // confirm parent has no left child
+        Node<E> node = nodeOf(parent);
+        if (node.left != null) { throw new IllegalStateException("Node already has a left child"); }
+
+        node.left = new Node<>(value, this, node);
+        size++;
+        return node.left;
+    }
+
+    /**
+     * Add a value as the right child of a node
+     * @param parent node to attach to
+     * @param value value to add to tree
+     * @return key of newly added node
+     */
+    public NodeKey attachRight(final NodeKey parent, final E value) {
+
+        // confirm parent has no right child
+        Node<E> node = nodeOf(parent);
+        if (node.right != null) { throw new IllegalStateException("Node already has a right child"); }
+
+        node.right = new Node<>(value, this, node);
+        size++;
+        return node.right;
+    }
+
+    /**
+     * Remove a node, and all of its descendants, from the tree
+     * The removed nodes become a tree of their own, so their keys stay good - in the returned tree, and are refused by
+     * this one
+     * Takes time proportional to the count of nodes removed, to keep both sizes
+     * @param key root of the branch to remove
+     * @return removed branch, as a tree
+     */
+    public LinkedBinaryTree<E> detach(final NodeKey key) {
+
+        // unlink the branch from its parent (or from us, if it is our root)
+        Node<E> node = nodeOf(key);
+        Node<E> parent = node.parent;
+        if (parent == null) {
+            root = null;
+        }
+        else if (parent.left == node) {
+            parent.left = null;
+        }
+        else {
+            parent.right = null;
+        }
+        node.parent = null;
+
+        // hand the branch over
+        LinkedBinaryTree<E> branch = new LinkedBinaryTree<>(node, 0);
+        branch.size = adopt(node, branch);
+        size -= branch.size;
+        return branch;
+    }
+
+    /**
+     * Return the value of the node at a given key
+     * @param key identifies the node we want
+     * @return value
+     */
+    @Override
+    public E get(final NodeKey key) {
+        return nodeOf(key).value;
+    }
+
+    /**
+     * Swap the values of the nodes at the given keys
+     * @param key1 swap this value
+     * @param key2 swap this value
+     */
+    @Override
+    public void swap(final NodeKey key1, final NodeKey key2) {
+        Node<E> node1 = nodeOf(key1);
+        Node<E> node2 = nodeOf(key2);
+        E value1 = node1.value;
+        node1.value = node2.value;
+        node2.value = value1;
+    }
+
+    /**
+     * Return the key of the root node, or empty if tree empty
+     * @return key for root node, or empty if tree empty
+     */
+    @Override
+    public Optional<NodeKey> getRoot() {
+        return Optional.ofNullable(root);
+    }
+
+    /**
+     * Return true if the node at this key has a parent
+     * @param key of interest
+     * @return true if it has a parent
+     */
+    @Override
+    public boolean hasParent(final NodeKey key) {
+        return nodeOf(key).parent != null;
+    }
+
+    /**
+     * Return the key of the parent of the node at this key
+     * @param key we want the parent of this key
+     * @return key of the parent, or empty if no parent
+     */
+    @Override
+    public Optional<NodeKey> getParent(final NodeKey key) {
+        return Optional.ofNullable(nodeOf(key).parent);
+    }
+
+    /**
+     * Return true if the node at this key has a left child
+     * @param key of interest
+     * @return true if it has a left child
+     */
+    @Override
+    public boolean hasLeft(final NodeKey key) {
+        return nodeOf(key).left != null;
+    }
+
+    /**
+     * Return the key of the left child of the given key
+     * @param key we want the left child of this
+     * @return key of left child, or empty if no left child
+     */
+    @Override
+    public Optional<NodeKey> getLeft(final NodeKey key) {
+        return Optional.ofNullable(nodeOf(key).left);
+    }
+
+    /**
+     * Return true if the node at this key has a right child
+     * @param key of interest
+     * @return true if it has a right child
+     */
+    @Override
+    public boolean hasRight(final NodeKey key) {
+        return nodeOf(key).right != null;
+    }
+
+    /**
+     * Return the key of the right child of the given key
+     * @param key we want the right child of this
+     * @return key of right child, or empty if no right child
+     */
+    @Override
+    public Optional<NodeKey> getRight(final NodeKey key) {
+        return Optional.ofNullable(nodeOf(key).right);
+    }
+
+    /**
+     * Return true if left is the left child of parent - compares nodes directly, without an Optional
+     * @param parent looking at this node's left child
+     * @param left looking to match this
+     * @return true if left is the left child
+     */
+    @Override
+    public boolean isLeft(final NodeKey parent, final NodeKey left) {
+
+        // sanity check
+        if ((parent == null) || (left == null)) {
+            throw new IllegalArgumentException("Neither parent nor left can be null");
+        }
+
+        return nodeOf(parent).left == left;
+    }
+
+    /**
+     * Return a cursor, starting at the root, whose position is a node - moves allocate nothing
+     * @return new cursor
+     */
+    @Override
+    public TreeCursor<E> cursor() {
+        return new NodeCursor();
+    }
+
+    /**
+     * Return the node behind a key, confirming it is in this tree
+     * @param key key of node
+     * @return node
+     */
+    @SuppressWarnings("unchecked")
+    private Node<E> nodeOf(final NodeKey key) {
+
+        // sanity check
+        if (!(key instanceof Node) || (((Node<E>)key).owner != this)) {
+            throw new IllegalArgumentException(String.format("Key %s is not in this tree", key));
+        }
+
+        return (Node<E>)key;
+    }
+
+    /**
+     * Move the nodes in a branch to a new owner, and count them - walks parent pointers back up, rather than recursing
+     * @param top root of the branch
+     * @param owner tree taking the branch
+     * @param <F> type of values in tree
+     * @return count of nodes
+     */
+    private static <F> int adopt(final Node<F> top, final LinkedBinaryTree<F> owner) {
+
+        // pre-order walk - down to the left first, then the closest right back up
+        int count = 0;
+        Node<F> node = top;
+        while (node != null) {
+            node.owner = owner;
+            count++;
+            if (node.left != null) {
+                node = node.left;
+            }
+            else if (node.right != null) {
+                node = node.right;
+            }
+            else {
+
+                // climb until we come up from a left branch whose parent has a right, without leaving the branch
+                Node<F> next = null;
+                while ((node != top) && (next == null)) {
+                    Node<F> parent = node.parent;
+                    if ((parent.left == node) && (parent.right != null)) {
+                        next = parent.right;
+                    }
+                    node = parent;
+                }
+                node = next;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,17 @@
+package com.mrsnottypants.util.collection;
+
+/**
+ * A heap that can absorb another heap cheaply
+ *
+ * Created by Eric on 10/17/2026.
+ */
+public interface MeldableHeap<E> extends Heap<E> {
+
+    /**
+     * Move every value in another heap into this heap, leaving the other heap empty
+     * Cheap when the other heap is the same kind of heap as this one - otherwise its values are popped across one at
+     * a time
+     * @param other heap to absorb
+     */
+    void meld(Heap<E> other);
+}
@@ -0,0 +1,272 @@
+package com.mrsnottypants.util.collection;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Min-max heap - a double ended priority queue, with both the minimum and maximum at hand
+ *
+ * Uses the same implicit layout as BinaryTreeArray, so it is also a BinaryTree, and can be navigated and traversed
+ * the same way.  Levels alternate in their ordering - a node on an even level (the root's, 0) is no larger than
+ * anything below it, and a node on an odd level is no smaller than anything below it.  So the minimum is the root,
+ * and the maximum is the larger of the root's children.
+ *
+ * As a Heap, pop and peek work on the maximum, like the rest of this package's heaps.
+ *
+ * Created by Eric on 10/17/2026.
+ */
+public class MinMaxHeap<E extends Comparable<E>> extends AbstractBinaryTreeArray<E> implements Heap<E> {
+
+    /**
+     * Return a new heap, initialized with the passed source
+     * @param source to initialize heap
+     * @param <F> type of values stored in heap
+     * @return new heap
+     */
+    public static <F extends Comparable<F>> MinMaxHeap<F> heapOf(final List<F> source) {
+
+        // sanity check
+        if (source == null) { throw new IllegalArgumentException("source cannot be null"); }
+
+        MinMaxHeap<F> heap = new MinMaxHeap<>(source);
+        heap.buildMinMaxHeap();
+        return heap;
+    }
+
+    /**
+     * Return a new, empty heap
+     * @param <F> type of values stored in heap
+     * @return new heap
+     */
+    public static <F extends Comparable<F>> MinMaxHeap<F> emptyHeap() { return new MinMaxHeap<F>(new ArrayList<>()); }
+
+    /**
+     * Construct a tree from a given list of values - call buildMinMaxHeap to order it
+     * @param source initial contents of tree
+     */
+    private MinMaxHeap(final List<E> source) {
+        super(source);
+    }
+
+    /**
+     * Return the minimum value, without popping it
+     * @return minimum value
+     */
+    public E peekMin() {
+
+        // sanity check - confirm tree is not empty
+        if (!hasRoot()) { throw new IllegalStateException("empty"); }
+
+        return array.get(0);
+    }
+
+    /**
+     * Return the maximum value, without popping it
+     * @return maximum value
+     */
+    public E peekMax() {
+
+        // sanity check - confirm tree is not empty
+        if (!hasRoot()) { throw new IllegalStateException("empty"); }
+
+        return array.get(maxIndex());
+    }
+
+    /**
+     * Pop the minimum value off of the heap
+     * @return minimum value
+     */
+    public E popMin() {
+
+        // sanity check - confirm tree is not empty
+        if (!hasRoot()) { throw new IllegalStateException("empty"); }
+
+        return removeAt(0);
+    }
+
+    /**
+     * Pop the maximum value off of the heap
+     * @return maximum value
+     */
+    public E popMax() {
+
+        // sanity check - confirm tree is not empty
+        if (!hasRoot()) { throw new IllegalStateException("empty"); }
+
+        return removeAt(maxIndex());
+    }
+
+    /**
+     * Push a value into the heap
+     * @param value value to push
+     */
+    @Override
+    public void push(final E value) {
+
+        // add it to the end of the tree
+        array.add(value);
+        int hole = array.size() - 1;
+        if (hole == 0) { return; }
+
+        // if value is out of order with its parent, it belongs on the parent's levels instead - swap with the parent
+        // either way, it then only climbs through grandparents, on levels ordered the same way as its own
+        int parent = (hole - 1) >>> 1;
+        boolean min = isMinLevel(hole);
+        E above = array.get(parent);
+        if (before(above, value, min)) {
+            array.set(hole, above);
+            bubbleUp(parent, value, !min);
+        }
+        else {
+            bubbleUp(hole, value, min);
+        }
+    }
+
+    /**
+     * Pop the maximum value off of the heap
+     * @return maximum value
+     */
+    @Override
+    public E pop() {
+        return popMax();
+    }
+
+    /**
+     * Return the maximum value, without popping it
+     * @return maximum value
+     */
+    @Override
+    public E peek() {
+        return peekMax();
+    }
+
+    /**
+     * Return the index of the maximum value - the root if alone, else the larger of its children
+     * @return index of maximum value
+     */
+    private int maxIndex() {
+        if (array.size() < 3) { return array.size() - 1; }
+        return (array.get(2).compareTo(array.get(1)) > 0) ? 2 : 1;
+    }
+
+    /**
+     * Remove the value at an index holding the minimum or maximum, and fill its spot from the end of the tree
+     * @param index index of the value to remove
+     * @return removed value
+     */
+    private E removeAt(final int index) {
+        E value = array.get(index);
+        E last = array.remove(array.size() - 1);
+        if (index < array.size()) {
+            trickleDown(index, last, isMinLevel(index));
+        }
+        return value;
+    }
+
+    /**
+     * Establishes min-max constraint on the tree
+     */
+    private void buildMinMaxHeap() {
+
+        // trickle down from the bottom up, minus the leaves (which are in-order by definition)
+        for (int index = (array.size() >>> 1) - 1 ; index >= 0 ; index--) {
+            trickleDown(index, array.get(index), isMinLevel(index));
+        }
+    }
+
+    /**
+     * Assumes the trees rooted at the hole's children are min-max heaps.  Drops value into the hole, moving it down
+     * through the hole's grandchildren (same ordering as the hole) while one of them belongs before it.
+     * @param hole index of the hole
+     * @param value value to place
+     * @param min true if the hole is on a min level
+     */
+    private void trickleDown(int hole, E value, final boolean min) {
+        final int size = array.size();
+        while (true) {
+
+            // pick the first, by this level's ordering, of the hole's children and grandchildren
+            int first = (hole << 1) + 1;
+            if (first >= size) { break; }
+            int candidate = firstOf(first, first + 1, Math.min(first + 2, size), min);
+            int grandchild = (first << 1) + 1;
+            candidate = firstOf(candidate, grandchild, Math.min(grandchild + 4, size), min);
+            E best = array.get(candidate);
+
+            // value belongs in the hole if nothing below comes before it
+            if (!before(best, value, min)) { break; }
+
+            // move the pick up - if it was a child, value can go where it was, and we are done
+            array.set(hole, best);
+            hole = candidate;
+            if (candidate <= first + 1) { break; }
+
+            // a grandchild - if value is out of order with its new parent, swap them, and carry on down
+            int parent = (candidate - 1) >>> 1;
+            E above = array.get(parent);
+            if (before(above, value, min)) {
+                array.set(parent, value);
+                value = above;
+            }
+        }
+        array.set(hole, value);
+    }
+
+    /**
+     * Return the index of the first value, by a level's ordering, among a current pick and a range of indexes
+     * @param pick index picked so far
+     * @param from first index of the range
+     * @param to index past the end of the range
+     * @param min true for a min level
+     * @return index of the first value
+     */
+    private int firstOf(int pick, final int from, final int to, final boolean min) {
+        E best = array.get(pick);
+        for (int index = from ; index < to ; index++) {
+            E next = array.get(index);
+            if (before(next, best, min)) {
+                best = next;
+                pick = index;
+            }
+        }
+        return pick;
+    }
+
+    /**
+     * Moves value up from the hole through its grandparents, while it comes before them
+     * @param hole index of the hole
+     * @param value value to place
+     * @param min true if the hole is on a min level
+     */
+    private void bubbleUp(int hole, final E value, final boolean min) {
+        while (hole > 2) {
+            int grandparent = ((hole + 1) >>> 2) - 1;
+            E above = array.get(grandparent);
+            if (!before(value, above, min)) { break; }
+            array.set(hole, above);
+            hole = grandparent;
+        }
+        array.set(hole, value);
+    }
+
+    /**
+     * Return true if a comes strictly before b, in a level's ordering
+     * @param a first value
+     * @param b second value
+     * @param min true for a min level (smaller first), false for a max level (larger first)
+     * @return true if a comes before b
+     */
+    private static <F extends Comparable<F>> boolean before(final F a, final F b, final boolean min) {
+        int comparison = a.compareTo(b);
+        return min ? (comparison < 0) : (comparison > 0);
+    }
+
+    /**
+     * Return true if the index is on a min level - levels 0, 2, 4...
+     * @param index index of interest
+     * @return true if on a min level
+     */
+    private static boolean isMinLevel(final int index) {
+        return ((31 - Integer.numberOfLeadingZeros(index + 1)) & 1) == 0;
+    }
+}
@@ -0,0 +1,214 @@
+package com.mrsnottypants.util.collection;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A concurrent, relaxed max heap - a MultiQueue
+ *
+ * Values are spread across several sub-heaps, each behind its own lock.  A push goes into a random sub-heap.  A pop
+ * looks at the tops of two random sub-heaps and pops the larger.  With enough sub-heaps, threads rarely contend for
+ * the same lock, so throughput scales with the thread count.
+ *
+ * The price is ordering - pop returns a value close to the maximum, not necessarily the maximum.  The rank error is
+ * small in expectation (on the order of the sub-heap count) but not a hard guarantee.  size and peek are likewise
+ * approximate while other threads are pushing or popping.  Pop only fails on an empty heap once every sub-heap has been
+ * locked and found empty.
+ *
+ * Created by Eric on 10/17/2026.
+ */
+public class MultiQueueHeap<E extends Comparable<E>> implements Heap<E> {
+
+    private static final int DEFAULT_QUEUES_PER_CORE = 2;
+
+    // a sub-heap, and its lock
+    // top and size are published after every change, so they can be read without taking the lock
+    //
+    private static class SubHeap<E extends Comparable<E>> {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Heap<E> heap = BinaryTreeArray.emptyHeap();
+        private volatile E top;
+        private volatile int size;
+
+        // must hold lock
+        private void publish() {
+            size = heap.size();
+            top = (size > 0) ? heap.peek() : null;
+        }
+    }
+
+    /**
+     * Return a new, empty heap with the default count of sub-heaps per core
+     * @param <F> type of values stored in heap
+     * @return new heap
+     */
+    public static <F extends Comparable<F>> MultiQueueHeap<F> emptyHeap() {
+        return emptyHeap(DEFAULT_QUEUES_PER_CORE);
+    }
+
+    /**
+     * Return a new, empty heap with the given count of sub-heaps per core
+     * More sub-heaps mean less contention, but a larger rank error
+     * @param queuesPerCore count of sub-heaps per available processor
+     * @param <F> type of values stored in heap
+     * @return new heap
+     */
+    public static <F extends Comparable<F>> MultiQueueHeap<F> emptyHeap(final int queuesPerCore) {
+
+        // sanity check
+        if (queuesPerCore < 1) { throw new IllegalArgumentException("queuesPerCore must be at least 1"); }
+
+        // need at least two sub-heaps to pick two
+        return new MultiQueueHeap<>(Math.max(2, queuesPerCore * Runtime.getRuntime().availableProcessors()));
+    }
+
+    // the sub-heaps
+    private final SubHeap<E>[] queues;
+
+    /**
+     * Construct an empty heap
+     * @param count count of sub-heaps
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private MultiQueueHeap(final int count) {
+        queues = new SubHeap[count];
+        for (int i = 0 ; i < count ; i++) {
+            queues[i] = new SubHeap<>();
+        }
+    }
+
+    /**
+     * Return the count of sub-heaps
+     * @return count of sub-heaps
+     */
+    public int getQueueCount() { return queues.length; }
+
+    /**
+     * Return a count of values in the heap - approximate while other threads are pushing or popping
+     * @return count of values
+     */
+    @Override
+    public int size() {
+        int size = 0;
+        for (SubHeap<E> queue : queues) {
+            size += queue.size;
+        }
+        return size;
+    }
+
+    /**
+     * Push a value into a random sub-heap, skipping sub-heaps that are locked by another thread
+     * @param value value to push
+     */
+    @Override
+    public void push(final E value) {
+
+        // sanity check
+        if (value == null) { throw new IllegalArgumentException("value cannot be null"); }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (true) {
+            SubHeap<E> queue = queues[random.nextInt(queues.length)];
+            if (queue.lock.tryLock()) {
+                try {
+                    queue.heap.push(value);
+                    queue.publish();
+                    return;
+                }
+                finally {
+                    queue.lock.unlock();
+                }
+            }
+        }
+    }
+
+    /**
+     * Pop a value close to the maximum off of the heap
+     * @return larger of the tops of two random sub-heaps
+     */
+    @Override
+    public E pop() {
+
+        // two random choices, while they turn up something
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (true) {
+
+            // pick two different sub-heaps, and prefer the one with the larger top
+            int first = random.nextInt(queues.length);
+            int second = random.nextInt(queues.length - 1);
+            if (second >= first) { second++; }
+            SubHeap<E> queue = larger(queues[first], queues[second]);
+
+            // both empty - sweep everything before concluding the heap is empty
+            if (queue == null) { return sweep(random.nextInt(queues.length)); }
+
+            // another thread may get there first - if so, pick again
+            if (queue.lock.tryLock()) {
+                try {
+                    if (queue.size > 0) {
+                        E value = queue.heap.pop();
+                        queue.publish();
+                        return value;
+                    }
+                }
+                finally {
+                    queue.lock.unlock();
+                }
+            }
+        }
+    }
+
+    /**
+     * Return a value close to the maximum, without popping it - the largest top across sub-heaps at the time we look
+     * @return largest top
+     */
+    @Override
+    public E peek() {
+        E best = null;
+        for (SubHeap<E> queue : queues) {
+            E top = queue.top;
+            if ((top != null) && ((best == null) || (top.compareTo(best) > 0))) {
+                best = top;
+            }
+        }
+        if (best == null) { throw new IllegalStateException("empty"); }
+        return best;
+    }
+
+    /**
+     * Return whichever sub-heap has the larger top, or null if both are empty
+     * @param first sub-heap to compare
+     * @param second sub-heap to compare
+     * @return sub-heap with larger top, or null if both empty
+     */
+    private SubHeap<E> larger(final SubHeap<E> first, final SubHeap<E> second) {
+        E firstTop = first.top;
+        E secondTop = second.top;
+        if (firstTop == null) { return (secondTop == null) ? null : second; }
+        if (secondTop == null) { return first; }
+        return (firstTop.compareTo(secondTop) >= 0) ? first : second;
+    }
+
+    /**
+     * Lock each sub-heap in turn, and pop from the first that is not empty
+     * @param start index of first sub-heap to try
+     * @return popped value
+     */
+    private E sweep(final int start) {
+        for (int i = 0 ; i < queues.length ; i++) {
+            SubHeap<E> queue = queues[(start + i) % queues.length];
+            queue.lock.lock();
+            try {
+                if (queue.size > 0) {
+                    E value = queue.heap.pop();
+                    queue.publish();
+                    return value;
+                }
+            }
+            finally {
+                queue.lock.unlock();
+            }
+        }
+        throw new IllegalStateException("empty");
+    }
+}
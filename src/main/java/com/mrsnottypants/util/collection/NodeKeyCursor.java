@@ -0,0 +1,82 @@
+package com.mrsnottypants.util.collection;
+
+/**
+ * TreeCursor over any BinaryTree, moving through its NodeKey navigation
+ *
+ * The default cursor (see BinaryTree.cursor) - it only saves the Optional around each key, so trees with a cheaper way
+ * to hold a position should override cursor with their own.
+ *
+ * Created by Eric on 10/17/2026.
+ */
+class NodeKeyCursor<E> implements TreeCursor<E> {
+
+    private final BinaryTree<E> tree;
+
+    // current node - null if the tree was empty
+    private NodeKey key;
+
+    /**
+     * Construct a cursor at the tree's root
+     * @param tree tree to walk
+     */
+    NodeKeyCursor(final BinaryTree<E> tree) {
+        this.tree = tree;
+        this.key = tree.getRoot().orElse(null);
+    }
+
+    /**
+     * Move to the left child of the current node
+     * @return true if moved, false if there is no left child
+     */
+    @Override
+    public boolean toLeft() {
+        if ((key == null) || !tree.hasLeft(key)) { return false; }
+        key = tree.getLeft(key).get();
+        return true;
+    }
+
+    /**
+     * Move to the right child of the current node
+     * @return true if moved, false if there is no right child
+     */
+    @Override
+    public boolean toRight() {
+        if ((key == null) || !tree.hasRight(key)) { return false; }
+        key = tree.getRight(key).get();
+        return true;
+    }
+
+    /**
+     * Move to the parent of the current node
+     * @return true if moved, false if the current node is the root
+     */
+    @Override
+    public boolean toParent() {
+        if ((key == null) || !tree.hasParent(key)) { return false; }
+        key = tree.getParent(key).get();
+        return true;
+    }
+
+    /**
+     * Move back to the root
+     * @return true if moved, false if the tree is empty
+     */
+    @Override
+    public boolean toRoot() {
+        key = tree.getRoot().orElse(null);
+        return key != null;
+    }
+
+    /**
+     * Return the value of the current node
+     * @return value of current node
+     */
+    @Override
+    public E value() {
+
+        // sanity check - confirm we have a node
+        if (key == null) { throw new IllegalStateException("empty"); }
+
+        return tree.get(key);
+    }
+}
@@ -0,0 +1,394 @@
+package com.mrsnottypants.util.collection;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Max heap of fixed-width records, stored outside the Java heap in direct byte buffers
+ *
+ * Records are plain bytes - there is no object per record, so the garbage collector never sees them.  Records are
+ * ordered by a long key that the caller extracts from the record's bytes.  Values go in and come out through
+ * Record flyweights, small reusable views onto a record's bytes:
+ *
+ *  - push copies the record's bytes into the heap, so any record view can be pushed, including the heap's staging()
+ *  - pop copies the maximum record into a slot owned by the heap, and returns a view of it that stays valid until the
+ *    next pop
+ *  - peek returns a view of the maximum record that stays valid until the heap next changes
+ *
+ * Memory is allocated a segment at a time as the heap grows, and released by close().  Not thread-safe.
+ *
+ * Created by Eric on 10/17/2026.
+ */
+public class OffHeapRecordHeap implements Heap<OffHeapRecordHeap.Record>, AutoCloseable {
+
+    private static final int DEFAULT_RECORDS_PER_SEGMENT = 1 << 16;
+
+    /**
+     * Pulls a record's ordering key out of its bytes
+     */
+    @FunctionalInterface
+    public interface KeyExtractor {
+
+        /**
+         * Return the key of the record starting at offset
+         * @param buffer buffer holding the record
+         * @param offset offset of the record's first byte
+         * @return key
+         */
+        long keyOf(ByteBuffer buffer, int offset);
+    }
+
+    /**
+     * A view onto a fixed-width record held in a byte buffer
+     * Field offsets are relative to the start of the record, and values are stored in native byte order
+     */
+    public static final class Record {
+        private final int width;
+        private ByteBuffer buffer;
+        private int offset;
+
+        /**
+         * Return a new record, backed by its own (on-heap) buffer
+         * @param width count of bytes in record
+         * @return new record
+         */
+        public static Record allocate(final int width) {
+
+            // sanity check
+            if (width < 1) { throw new IllegalArgumentException("width must be at least 1"); }
+
+            return new Record(ByteBuffer.allocate(width).order(ByteOrder.nativeOrder()), 0, width);
+        }
+
+        private Record(final ByteBuffer buffer, final int offset, final int width) {
+            this.buffer = buffer;
+            this.offset = offset;
+            this.width = width;
+        }
+
+        public int width() { return width; }
+
+        public byte getByte(final int field) { return buffer.get(at(field, Byte.BYTES)); }
+        public int getInt(final int field) { return buffer.getInt(at(field, Integer.BYTES)); }
+        public long getLong(final int field) { return buffer.getLong(at(field, Long.BYTES)); }
+        public double getDouble(final int field) { return buffer.getDouble(at(field, Double.BYTES)); }
+
+        public Record putByte(final int field, final byte value) {
+            buffer.put(at(field, Byte.BYTES), value);
+            return this;
+        }
+
+        public Record putInt(final int field, final int value) {
+            buffer.putInt(at(field, Integer.BYTES), value);
+            return this;
+        }
+
+        public Record putLong(final int field, final long value) {
+            buffer.putLong(at(field, Long.BYTES), value);
+            return this;
+        }
+
+        public Record putDouble(final int field, final double value) {
+            buffer.putDouble(at(field, Double.BYTES), value);
+            return this;
+        }
+
+        /**
+         * Return the absolute buffer position of a field, confirming it fits within the record
+         * @param field offset of field within record
+         * @param bytes size of field
+         * @return absolute position
+         */
+        private int at(final int field, final int bytes) {
+            if ((field < 0) || (field + bytes > width)) {
+                throw new IndexOutOfBoundsException(String.format("Field %d (%d bytes) out of bounds, width=%d",
+                        field, bytes, width));
+            }
+            return offset + field;
+        }
+    }
+
+    /**
+     * Return a new, empty heap
+     * @param width count of bytes in each record
+     * @param extractor pulls the ordering key out of a record
+     * @return new heap
+     */
+    public static OffHeapRecordHeap emptyHeap(final int width, final KeyExtractor extractor) {
+        return emptyHeap(width, extractor, DEFAULT_RECORDS_PER_SEGMENT);
+    }
+
+    /**
+     * Return a new, empty heap
+     * @param width count of bytes in each record
+     * @param extractor pulls the ordering key out of a record
+     * @param recordsPerSegment count of records per direct buffer - rounded up to a power of two
+     * @return new heap
+     */
+    public static OffHeapRecordHeap emptyHeap(final int width, final KeyExtractor extractor,
+                                              final int recordsPerSegment) {
+
+        // sanity check
+        if ((width < 1) || (extractor == null) || (recordsPerSegment < 1)) {
+            throw new IllegalArgumentException("width and recordsPerSegment must be at least 1, extractor not null");
+        }
+        int shift = 32 - Integer.numberOfLeadingZeros(recordsPerSegment - 1);
+        if ((long)width << shift > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("segment would exceed 2GB");
+        }
+
+        return new OffHeapRecordHeap(width, extractor, shift);
+    }
+
+    // record layout
+    private final int width;
+    private final KeyExtractor extractor;
+    private final int shift;
+    private final int mask;
+
+    // storage - segments of records, plus a few records of working space
+    private final List<ByteBuffer> segments;
+    private ByteBuffer scratch;
+    private int size;
+
+    // working space - a record in flight during a sift, a staging record for callers, and the last popped record
+    private static final int HOLE = 0;
+    private static final int STAGING = 1;
+    private static final int POPPED = 2;
+    private final Record staging;
+    private final Record popped;
+    private final Record top;
+
+    /**
+     * Construct an empty heap
+     * @param width count of bytes in each record
+     * @param extractor pulls the ordering key out of a record
+     * @param shift log2 of records per segment
+     */
+    private OffHeapRecordHeap(final int width, final KeyExtractor extractor, final int shift) {
+        this.width = width;
+        this.extractor = extractor;
+        this.shift = shift;
+        this.mask = (1 << shift) - 1;
+
+        segments = new ArrayList<>();
+        scratch = ByteBuffer.allocateDirect(3 * width).order(ByteOrder.nativeOrder());
+        staging = new Record(scratch, STAGING * width, width);
+        popped = new Record(scratch, POPPED * width, width);
+        top = new Record(null, 0, width);
+    }
+
+    /**
+     * Return the count of bytes in each record
+     * @return record width
+     */
+    public int getWidth() { return width; }
+
+    /**
+     * Return a record owned by the heap, for callers to fill in and push
+     * @return staging record
+     */
+    public Record staging() {
+        confirmOpen();
+        return staging;
+    }
+
+    /**
+     * Return a count of records in the heap
+     * @return count of records
+     */
+    @Override
+    public int size() { return size; }
+
+    /**
+     * Push a copy of a record into the heap
+     * @param record record to copy
+     */
+    @Override
+    public void push(final Record record) {
+
+        // sanity check
+        confirmOpen();
+        if ((record == null) || (record.width != width)) {
+            throw new IllegalArgumentException(String.format("record must be %d bytes wide", width));
+        }
+
+        // make room at the end
+        if ((size >>> shift) == segments.size()) {
+            segments.add(ByteBuffer.allocateDirect(width << shift).order(ByteOrder.nativeOrder()));
+        }
+
+        // lift the record into the hole, and bubble it up from the end
+        copy(record.buffer, record.offset, scratch, HOLE);
+        bubbleUp(size++, extractor.keyOf(scratch, HOLE));
+    }
+
+    /**
+     * Pop the record with the maximum key off of the heap
+     * @return view of the popped record, valid until the next pop
+     */
+    @Override
+    public Record pop() {
+
+        // sanity check - confirm heap is not empty
+        confirmOpen();
+        if (size == 0) { throw new IllegalStateException("empty"); }
+
+        // max record is held at the root
+        copy(segments.get(0), 0, scratch, POPPED * width);
+
+        // lift the final record into the hole, and sift it down from the root
+        size--;
+        if (size > 0) {
+            copy(segmentOf(size), offsetOf(size), scratch, HOLE);
+            maxHeapify(0, extractor.keyOf(scratch, HOLE));
+        }
+
+        // done!
+        return popped;
+    }
+
+    /**
+     * Return the record with the maximum key, without popping it
+     * @return view of the maximum record, valid until the heap changes
+     */
+    @Override
+    public Record peek() {
+
+        // sanity check - confirm heap is not empty
+        confirmOpen();
+        if (size == 0) { throw new IllegalStateException("empty"); }
+
+        top.buffer = segments.get(0);
+        top.offset = 0;
+        return top;
+    }
+
+    /**
+     * Release the heap's memory - the heap, and any record views it handed out, can not be used afterwards
+     */
+    @Override
+    public void close() {
+        if (scratch == null) { return; }
+        for (ByteBuffer segment : segments) {
+            release(segment);
+        }
+        segments.clear();
+        release(scratch);
+        scratch = null;
+        staging.buffer = null;
+        popped.buffer = null;
+        top.buffer = null;
+        size = 0;
+    }
+
+    /**
+     * Throws an illegal state exception if the heap has been closed
+     */
+    private void confirmOpen() {
+        if (scratch == null) { throw new IllegalStateException("closed"); }
+    }
+
+    private ByteBuffer segmentOf(final int index) { return segments.get(index >>> shift); }
+    private int offsetOf(final int index) { return (index & mask) * width; }
+    private long keyAt(final int index) { return extractor.keyOf(segmentOf(index), offsetOf(index)); }
+
+    /**
+     * Drops the hole record into the hole at index, moving the larger child up while its key is larger
+     * @param hole index of the hole
+     * @param key key of the hole record
+     */
+    private void maxHeapify(int hole, final long key) {
+
+        // stop once the hole has no children
+        final int half = size >>> 1;
+        while (hole < half) {
+
+            // pick the larger child
+            int child = (hole << 1) + 1;
+            long largest = keyAt(child);
+            if (child + 1 < size) {
+                long right = keyAt(child + 1);
+                if (right > largest) {
+                    largest = right;
+                    child++;
+                }
+            }
+
+            // record belongs in the hole if its key is at least as large as its larger child's
+            if (key >= largest) { break; }
+
+            // move child up into the hole
+            copy(segmentOf(child), offsetOf(child), segmentOf(hole), offsetOf(hole));
+            hole = child;
+        }
+        copy(scratch, HOLE, segmentOf(hole), offsetOf(hole));
+    }
+
+    /**
+     * Moves parents down into the hole at index while the hole record's key is larger
+     * @param hole index of the hole
+     * @param key key of the hole record
+     */
+    private void bubbleUp(int hole, final long key) {
+        while (hole > 0) {
+            int parent = (hole - 1) >>> 1;
+            if (key <= keyAt(parent)) { break; }
+            copy(segmentOf(parent), offsetOf(parent), segmentOf(hole), offsetOf(hole));
+            hole = parent;
+        }
+        copy(scratch, HOLE, segmentOf(hole), offsetOf(hole));
+    }
+
+    /**
+     * Copy one record's bytes over another's - a long at a time, then a byte at a time for whatever is left
+     * @param from source buffer
+     * @param fromOffset offset of source record
+     * @param to destination buffer
+     * @param toOffset offset of destination record
+     */
+    private void copy(final ByteBuffer from, final int fromOffset, final ByteBuffer to, final int toOffset) {
+        int at = 0;
+        for ( ; at + Long.BYTES <= width ; at += Long.BYTES) {
+            to.putLong(toOffset + at, from.getLong(fromOffset + at));
+        }
+        for ( ; at < width ; at++) {
+            to.put(toOffset + at, from.get(fromOffset + at));
+        }
+    }
+
+    /**
+     * Free a direct buffer's memory now, rather than whenever the garbage collector gets to it
+     * There is no public API for this - we try Unsafe.invokeCleaner (Java 9+), then DirectBuffer.cleaner (Java 8), and
+     * otherwise leave it to the garbage collector
+     * @param buffer buffer to free
+     */
+    private static void release(final ByteBuffer buffer) {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+            Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            invokeCleaner.invoke(theUnsafe.get(null), buffer);
+            return;
+        }
+        catch (ReflectiveOperationException | RuntimeException e) {
+            // not Java 9+, try Java 8
+        }
+        try {
+            Method cleaner = buffer.getClass().getMethod("cleaner");
+            cleaner.setAccessible(true);
+            Object clean = cleaner.invoke(buffer);
+            if (clean != null) {
+                clean.getClass().getMethod("clean").invoke(clean);
+            }
+        }
+        catch (ReflectiveOperationException | RuntimeException e) {
+            // leave it to the garbage collector
+        }
+    }
+}
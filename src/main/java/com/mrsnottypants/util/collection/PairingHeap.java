@@ -0,0 +1,165 @@
+package com.mrsnottypants.util.collection;
+
+/**
+ * Max pairing heap - a pointer-based heap with O(1) push and meld, and O(log n) amortized pop
+ *
+ * Each node keeps its children as a singly linked list.  Push and meld just link two roots, making the smaller a child
+ * of the larger.  Pop removes the root and pairs its children back up - left to right in pairs, then folding the pairs
+ * together right to left.
+ *
+ * Created by Eric on 10/17/2026.
+ */
+public class PairingHeap<E extends Comparable<E>> implements MeldableHeap<E> {
+
+    // a node - first child, and next sibling
+    //
+    private static class Node<E> {
+        private final E value;
+        private Node<E> child;
+        private Node<E> sibling;
+
+        Node(E value) { this.value = value; }
+    }
+
+    /**
+     * Return a new, empty heap
+     * @param <F> type of values stored in heap
+     * @return new heap
+     */
+    public static <F extends Comparable<F>> PairingHeap<F> emptyHeap() { return new PairingHeap<>(); }
+
+    private Node<E> root;
+    private int size;
+
+    /**
+     * Construct an empty heap
+     */
+    private PairingHeap() {}
+
+    /**
+     * Return a count of values in the heap
+     * @return count of values
+     */
+    @Override
+    public int size() { return size; }
+
+    /**
+     * Push a value into the heap
+     * @param value value to push
+     */
+    @Override
+    public void push(final E value) {
+
+        // sanity check
+        if (value == null) { throw new IllegalArgumentException("value cannot be null"); }
+
+        root = link(root, new Node<>(value));
+        size++;
+    }
+
+    /**
+     * Return the maximum value, without popping it
+     * @return maximum value
+     */
+    @Override
+    public E peek() {
+
+        // sanity check - confirm heap is not empty
+        if (root == null) { throw new IllegalStateException("empty"); }
+
+        return root.value;
+    }
+
+    /**
+     * Pop the maximum value off of the heap
+     * @return maximum value
+     */
+    @Override
+    public E pop() {
+
+        // sanity check - confirm heap is not empty
+        if (root == null) { throw new IllegalStateException("empty"); }
+
+        E value = root.value;
+        root = pairUp(root.child);
+        size--;
+        return value;
+    }
+
+    /**
+     * Move every value in another heap into this heap, leaving the other heap empty
+     * O(1) for another pairing heap
+     * @param other heap to absorb
+     */
+    @Override
+    public void meld(final Heap<E> other) {
+
+        // sanity check
+        if ((other == null) || (other == this)) {
+            throw new IllegalArgumentException("other cannot be null, or this heap");
+        }
+
+        // same kind of heap - link the roots
+        if (other instanceof PairingHeap) {
+            PairingHeap<E> pairing = (PairingHeap<E>)other;
+            root = link(root, pairing.root);
+            size += pairing.size;
+            pairing.root = null;
+            pairing.size = 0;
+            return;
+        }
+
+        // otherwise pop across
+        while (!other.isEmpty()) {
+            push(other.pop());
+        }
+    }
+
+    /**
+     * Make the root with the smaller value the first child of the other
+     * @param a root to link, or null
+     * @param b root to link, or null
+     * @return root of linked tree
+     */
+    private Node<E> link(final Node<E> a, final Node<E> b) {
+        if (a == null) { return b; }
+        if (b == null) { return a; }
+        Node<E> parent = (a.value.compareTo(b.value) >= 0) ? a : b;
+        Node<E> child = (parent == a) ? b : a;
+        child.sibling = parent.child;
+        parent.child = child;
+        return parent;
+    }
+
+    /**
+     * Combine a list of siblings into a single tree - link them in pairs, left to right, then fold the pairs into one
+     * right to left.  Iterative, so a long list of siblings can't blow the stack.
+     * @param first first sibling, or null
+     * @return root of combined tree, or null
+     */
+    private Node<E> pairUp(Node<E> first) {
+
+        // first pass - link pairs, stacking each pair's root using the sibling pointer
+        Node<E> pairs = null;
+        while (first != null) {
+            Node<E> second = first.sibling;
+            Node<E> next = (second == null) ? null : second.sibling;
+            first.sibling = null;
+            if (second != null) { second.sibling = null; }
+            Node<E> pair = link(first, second);
+            pair.sibling = pairs;
+            pairs = pair;
+            first = next;
+        }
+
+        // second pass - fold the stack of pairs together, last pair first
+        Node<E> combined = null;
+        while (pairs != null) {
+            Node<E> next = pairs.sibling;
+            pairs.sibling = null;
+            combined = link(combined, pairs);
+            pairs = next;
+        }
+        return combined;
+    }
+}
@@ -0,0 +1,139 @@
+package com.mrsnottypants.util.collection;
+
+/**
+ * Immutable max leftist heap
+ *
+ * Every operation returns a new heap and leaves this one unchanged.  The new heap shares all but O(log n) nodes with
+ * the old, so keeping old versions around is cheap - there is no copying.  Safe to share between threads.
+ *
+ * Created by Eric on 10/17/2026.
+ */
+public final class PersistentLeftistHeap<E extends Comparable<E>> {
+
+    // an immutable node
+    //
+    private static final class Node<E> {
+        private final E value;
+        private final Node<E> left;
+        private final Node<E> right;
+        private final int rank;
+
+        Node(E value, Node<E> left, Node<E> right) {
+            this.value = value;
+
+            // keep the higher rank on the left
+            int leftRank = rankOf(left);
+            int rightRank = rankOf(right);
+            this.left = (leftRank >= rightRank) ? left : right;
+            this.right = (leftRank >= rightRank) ? right : left;
+            this.rank = Math.min(leftRank, rightRank) + 1;
+        }
+
+        private static int rankOf(Node<?> node) { return (node == null) ? 0 : node.rank; }
+    }
+
+    private static final PersistentLeftistHeap<?> EMPTY = new PersistentLeftistHeap<>(null, 0);
+
+    /**
+     * Return the empty heap
+     * @param <F> type of values stored in heap
+     * @return empty heap
+     */
+    @SuppressWarnings("unchecked")
+    public static <F extends Comparable<F>> PersistentLeftistHeap<F> emptyHeap() {
+        return (PersistentLeftistHeap<F>)EMPTY;
+    }
+
+    private final Node<E> root;
+    private final int size;
+
+    /**
+     * Construct a heap
+     * @param root root node, or null
+     * @param size count of values
+     */
+    private PersistentLeftistHeap(final Node<E> root, final int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * Return a count of values in the heap
+     * @return count of values
+     */
+    public int size() { return size; }
+
+    /**
+     * Return true if the heap is empty
+     * @return true if empty
+     */
+    public boolean isEmpty() { return size == 0; }
+
+    /**
+     * Return the maximum value
+     * @return maximum value
+     */
+    public E peek() {
+
+        // sanity check - confirm heap is not empty
+        if (root == null) { throw new IllegalStateException("empty"); }
+
+        return root.value;
+    }
+
+    /**
+     * Return a heap with a value added
+     * @param value value to add
+     * @return new heap
+     */
+    public PersistentLeftistHeap<E> push(final E value) {
+
+        // sanity check
+        if (value == null) { throw new IllegalArgumentException("value cannot be null"); }
+
+        return new PersistentLeftistHeap<>(merge(root, new Node<>(value, null, null)), size + 1);
+    }
+
+    /**
+     * Return a heap without the maximum value
+     * @return new heap
+     */
+    public PersistentLeftistHeap<E> popped() {
+
+        // sanity check - confirm heap is not empty
+        if (root == null) { throw new IllegalStateException("empty"); }
+
+        return new PersistentLeftistHeap<>(merge(root.left, root.right), size - 1);
+    }
+
+    /**
+     * Return a heap holding the values of both heaps
+     * @param other heap to meld with
+     * @return new heap
+     */
+    public PersistentLeftistHeap<E> meld(final PersistentLeftistHeap<E> other) {
+
+        // sanity check
+        if (other == null) { throw new IllegalArgumentException("other cannot be null"); }
+
+        if (other.root == null) { return this; }
+        if (root == null) { return other; }
+        return new PersistentLeftistHeap<>(merge(root, other.root), size + other.size);
+    }
+
+    /**
+     * Merge two trees along their right spines, copying only the nodes on the path
+     * @param a tree to merge, or null
+     * @param b tree to merge, or null
+     * @param <E> type of values
+     * @return root of merged tree
+     */
+    private static <E extends Comparable<E>> Node<E> merge(final Node<E> a, final Node<E> b) {
+        if (a == null) { return b; }
+        if (b == null) { return a; }
+        if (a.value.compareTo(b.value) >= 0) {
+            return new Node<>(a.value, a.left, merge(a.right, b));
+        }
+        return new Node<>(b.value, b.left, merge(b.right, a));
+    }
+}
@@ -0,0 +1,198 @@
+package com.mrsnottypants.util.collection;
+
+/**
+ * Tracks one quantile (median, p90, p99...) of a changing set of samples
+ *
+ * Samples are split across two heaps - a max heap holding the smallest ceil(q * n) samples, and a min heap holding the
+ * rest - so the quantile is always the root of the max heap, and reading it is O(1).  Adding or removing a sample
+ * takes O(log n), plus at most one sample moving across to keep the split balanced.
+ *
+ * The quantile is by nearest rank - the smallest sample with at least q of the samples at or below it.  So the median
+ * of an even count of samples is the lower of the two middle samples.
+ *
+ * Adding a sample returns a handle, which removes it again later - e.g. once it falls out of a sliding window.
+ * For doubles without boxing, see DoubleQuantileTracker.
+ *
+ * Created by Eric on 10/17/2026.
+ */
+public class QuantileTracker<E extends Comparable<E>> {
+
+    /**
+     * A sample being tracked - the handle used to remove it
+     * @param <E> type of value
+     */
+    public static final class Sample<E extends Comparable<E>> implements Comparable<Sample<E>> {
+        private final E value;
+        private NodeKey key;
+        private boolean lower;
+
+        private Sample(final E value) {
+            this.value = value;
+        }
+
+        /**
+         * Return the sample's value
+         * @return value
+         */
+        public E getValue() { return value; }
+
+        /**
+         * Return true if the sample is still tracked (has not been removed)
+         * @return true if tracked
+         */
+        public boolean isTracked() { return key != null; }
+
+        @Override
+        public int compareTo(final Sample<E> other) {
+            return value.compareTo(other.value);
+        }
+    }
+
+    /**
+     * Return a new, empty tracker
+     * @param quantile quantile to track, greater than 0 and no greater than 1 (e.g. 0.5 for the median)
+     * @param <F> type of values tracked
+     * @return new tracker
+     */
+    public static <F extends Comparable<F>> QuantileTracker<F> of(final double quantile) {
+
+        // sanity check
+        if (!(quantile > 0.0) || (quantile > 1.0)) {
+            throw new IllegalArgumentException(String.format("Quantile %f must be greater than 0, and at most 1",
+                    quantile));
+        }
+
+        return new QuantileTracker<>(quantile);
+    }
+
+    // samples at or below the quantile, and above it
+    private final IndexedHeap<Sample<E>> lower = IndexedHeap.emptyHeap();
+    private final IndexedHeap<Sample<E>> upper = IndexedHeap.emptyMinHeap();
+    private final double quantile;
+
+    /**
+     * Construct an empty tracker
+     * @param quantile quantile to track
+     */
+    private QuantileTracker(final double quantile) {
+        this.quantile = quantile;
+    }
+
+    /**
+     * Return the quantile tracked
+     * @return quantile
+     */
+    public double getQuantile() { return quantile; }
+
+    /**
+     * Return the count of samples tracked
+     * @return count of samples
+     */
+    public int size() { return lower.size() + upper.size(); }
+
+    /**
+     * Return true if no samples are tracked
+     * @return true if empty
+     */
+    public boolean isEmpty() { return size() == 0; }
+
+    /**
+     * Return the quantile of the samples tracked
+     * @return value at the quantile
+     */
+    public E quantile() {
+
+        // sanity check - confirm not empty
+        if (lower.isEmpty()) { throw new IllegalStateException("empty"); }
+
+        return lower.peek().value;
+    }
+
+    /**
+     * Add a sample
+     * @param value sample's value
+     * @return handle, to remove the sample later
+     */
+    public Sample<E> add(final E value) {
+
+        // sanity check
+        if (value == null) { throw new IllegalArgumentException("value cannot be null"); }
+
+        // goes below the quantile if no larger than it, and then we rebalance
+        Sample<E> sample = new Sample<>(value);
+        if (lower.isEmpty() || (value.compareTo(lower.peek().value) <= 0)) {
+            addTo(lower, sample);
+        }
+        else {
+            addTo(upper, sample);
+        }
+        rebalance();
+        return sample;
+    }
+
+    /**
+     * Remove a sample
+     * @param sample handle returned when the sample was added
+     * @return sample's value
+     */
+    public E remove(final Sample<E> sample) {
+
+        // sanity check
+        if (!contains(sample)) { throw new IllegalArgumentException("sample is not tracked here"); }
+
+        // take it out of whichever heap holds it, and rebalance
+        (sample.lower ? lower : upper).remove(sample.key);
+        sample.key = null;
+        rebalance();
+        return sample.value;
+    }
+
+    /**
+     * Return true if a sample is tracked here
+     * @param sample handle returned when the sample was added
+     * @return true if tracked
+     */
+    public boolean contains(final Sample<E> sample) {
+        return (sample != null) && (sample.key != null) && (sample.lower ? lower : upper).contains(sample.key);
+    }
+
+    /**
+     * Move samples across until the lower heap holds exactly the smallest ceil(q * n)
+     * Each add or remove shifts the balance by at most one, so at most one sample moves
+     */
+    private void rebalance() {
+        final int target = rankOf(quantile, size());
+        while (lower.size() > target) {
+            addTo(upper, lower.pop());
+        }
+        while (lower.size() < target) {
+            addTo(lower, upper.pop());
+        }
+    }
+
+    /**
+     * Add a sample to one of our heaps, keeping its record of where it is in step
+     * @param heap lower or upper
+     * @param sample sample to add
+     */
+    private void addTo(final IndexedHeap<Sample<E>> heap, final Sample<E> sample) {
+        sample.key = heap.add(sample);
+        sample.lower = (heap == lower);
+    }
+
+    /**
+     * Return the nearest rank of a quantile - ceil(q * n), but at least 1 for any samples
+     * q * n can land a hair above a whole number (0.7 * 10 is 7.000000000000001), so within a few ulps counts as
+     * whole - a tolerance relative to the rank, so real fractions still round up however many samples there are
+     * @param quantile quantile, greater than 0 and at most 1
+     * @param count count of samples
+     * @return count of samples at or below the quantile
+     */
+    static int rankOf(final double quantile, final int count) {
+        if (count == 0) { return 0; }
+        double rank = quantile * count;
+        long whole = Math.round(rank);
+        long ceiling = (Math.abs(rank - whole) <= 4 * Math.ulp(rank)) ? whole : (long)Math.ceil(rank);
+        return (int)Math.max(1, Math.min(count, ceiling));
+    }
+}
@@ -0,0 +1,222 @@
+package com.mrsnottypants.util.collection;
+
+import java.util.Arrays;
+
+/**
+ * Monotone min heap of values with long keys - a radix heap
+ *
+ * Pops values in non-decreasing key order, under the condition that nothing is pushed with a key smaller than the
+ * last key popped.  That suits timestamps and shortest-path distances, and lets us skip comparisons almost entirely:
+ * a value goes into a bucket picked by the highest bit where its key differs from the last popped key.  Pop empties
+ * the lowest non-empty bucket into lower buckets, relative to its minimum key.  A value only ever moves down, so each
+ * push costs O(log C) amortized, where C is the spread of live keys.
+ *
+ * Otherwise follows the Heap contract (push, pop, peek), but in min order, with keys passed separately.
+ *
+ * Created by Eric on 10/17/2026.
+ */
+public class RadixHeap<E> {
+
+    private static final int BUCKET_COUNT = Long.SIZE + 1;
+    private static final int DEFAULT_BUCKET_CAPACITY = 8;
+
+    // a bucket - keys, and their values alongside
+    //
+    private static class Bucket {
+        private long[] keys = new long[DEFAULT_BUCKET_CAPACITY];
+        private Object[] values = new Object[DEFAULT_BUCKET_CAPACITY];
+        private int count;
+
+        void add(long key, Object value) {
+            if (count == keys.length) {
+                keys = Arrays.copyOf(keys, count << 1);
+                values = Arrays.copyOf(values, count << 1);
+            }
+            keys[count] = key;
+            values[count++] = value;
+        }
+    }
+
+    /**
+     * Return a new, empty heap
+     * @param <F> type of values stored in heap
+     * @return new heap
+     */
+    public static <F> RadixHeap<F> emptyHeap() { return new RadixHeap<>(); }
+
+    // bucket 0 holds keys equal to last, bucket i keys whose highest bit differing from last is bit i - 1
+    private final Bucket[] buckets;
+    private long last;
+    private int size;
+
+    // where peek found the smallest key, outside bucket 0 - or -1 if not known, cleared by every pop
+    private int peekBucket = -1;
+    private int peekAt;
+
+    /**
+     * Construct an empty heap
+     */
+    private RadixHeap() {
+        buckets = new Bucket[BUCKET_COUNT];
+        for (int i = 0 ; i < BUCKET_COUNT ; i++) {
+            buckets[i] = new Bucket();
+        }
+        last = Long.MIN_VALUE;
+    }
+
+    /**
+     * Return a count of values in the heap
+     * @return count of values
+     */
+    public int size() { return size; }
+
+    /**
+     * Return true if the heap is empty
+     * @return true if empty
+     */
+    public boolean isEmpty() { return size == 0; }
+
+    /**
+     * Return the last key popped - no key smaller than this can be pushed
+     * @return last key popped, or Long.MIN_VALUE if nothing popped yet
+     */
+    public long lastKey() { return last; }
+
+    /**
+     * Push a value into the heap
+     * @param key value's key - no smaller than the last key popped
+     * @param value value to push
+     */
+    public void push(final long key, final E value) {
+
+        // sanity check - keys must not go backwards
+        if (key < last) {
+            throw new IllegalArgumentException(String.format("Key %d is less than the last popped key %d", key, last));
+        }
+
+        // keep a peeked minimum current - adding to a bucket never moves what is already in it, and findMin checks
+        // bucket 0 itself, so the cache only covers the other buckets
+        int index = bucketOf(key);
+        Bucket bucket = buckets[index];
+        bucket.add(key, value);
+        size++;
+        if (index == 0) {
+            peekBucket = -1;
+        }
+        else if ((peekBucket >= 0) && (key < buckets[peekBucket].keys[peekAt])) {
+            peekBucket = index;
+            peekAt = bucket.count - 1;
+        }
+    }
+
+    /**
+     * Return the smallest key, without popping it
+     * @return smallest key
+     */
+    public long peekKey() {
+        return buckets[findMin()].keys[peekAt];
+    }
+
+    /**
+     * Return the value with the smallest key, without popping it
+     * @return value with smallest key
+     */
+    @SuppressWarnings("unchecked")
+    public E peek() {
+        return (E)buckets[findMin()].values[peekAt];
+    }
+
+    /**
+     * Pop the value with the smallest key off of the heap
+     * @return value with smallest key
+     */
+    @SuppressWarnings("unchecked")
+    public E pop() {
+        Bucket bucket = settle();
+        int at = --bucket.count;
+        E value = (E)bucket.values[at];
+        bucket.values[at] = null;
+        size--;
+        peekBucket = -1;
+        return value;
+    }
+
+    /**
+     * Return the bucket a key belongs in, relative to last
+     * @param key key to place
+     * @return bucket index
+     */
+    private int bucketOf(final long key) {
+        return Long.SIZE - Long.numberOfLeadingZeros(key ^ last);
+    }
+
+    /**
+     * Find the smallest key without moving anything, so that peeking leaves last, and what can be pushed, alone
+     * Sets peekAt to its position, and remembers the bucket outside bucket 0 until the next pop
+     * @return index of the bucket holding the smallest key
+     */
+    private int findMin() {
+
+        // sanity check - confirm heap is not empty
+        if (size == 0) { throw new IllegalStateException("empty"); }
+
+        // bucket 0 holds keys equal to last, which nothing can be smaller than
+        Bucket zero = buckets[0];
+        if (zero.count > 0) {
+            peekAt = zero.count - 1;
+            return 0;
+        }
+
+        // otherwise the smallest key is in the lowest non-empty bucket
+        if (peekBucket < 0) {
+            int index = 1;
+            while (buckets[index].count == 0) {
+                index++;
+            }
+            Bucket bucket = buckets[index];
+            int at = 0;
+            for (int i = 1 ; i < bucket.count ; i++) {
+                if (bucket.keys[i] < bucket.keys[at]) { at = i; }
+            }
+            peekBucket = index;
+            peekAt = at;
+        }
+        return peekBucket;
+    }
+
+    /**
+     * Make sure bucket 0 holds the smallest keys, and return it - only for pop, since it moves last
+     * If bucket 0 is empty, the lowest non-empty bucket is redistributed relative to its own minimum, which then
+     * becomes last.  Every one of its values lands in a lower bucket, and at least one in bucket 0.
+     * @return bucket 0, not empty
+     */
+    private Bucket settle() {
+
+        // sanity check - confirm heap is not empty
+        if (size == 0) { throw new IllegalStateException("empty"); }
+
+        Bucket zero = buckets[0];
+        if (zero.count > 0) { return zero; }
+
+        // find lowest non-empty bucket, and its minimum key
+        int index = 1;
+        while (buckets[index].count == 0) {
+            index++;
+        }
+        Bucket bucket = buckets[index];
+        long min = bucket.keys[0];
+        for (int i = 1 ; i < bucket.count ; i++) {
+            min = Math.min(min, bucket.keys[i]);
+        }
+
+        // redistribute relative to the new last
+        peekBucket = -1;
+        last = min;
+        for (int i = 0 ; i < bucket.count ; i++) {
+            buckets[bucketOf(bucket.keys[i])].add(bucket.keys[i], bucket.values[i]);
+            bucket.values[i] = null;
+        }
+        bucket.count = 0;
+        return zero;
+    }
+}
@@ -0,0 +1,29 @@
+package com.mrsnottypants.util.collection;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Writes values to, and reads them back from, a binary stream
+ *
+ * Created by Eric on 10/17/2026.
+ */
+public interface RecordSerializer<E> {
+
+    /**
+     * Write a value
+     * @param value value to write
+     * @param out stream to write to
+     * @throws IOException if writing fails
+     */
+    void write(E value, DataOutput out) throws IOException;
+
+    /**
+     * Read back a value written by write
+     * @param in stream to read from
+     * @return value read
+     * @throws IOException if reading fails
+     */
+    E read(DataInput in) throws IOException;
+}
@@ -0,0 +1,143 @@
+package com.mrsnottypants.util.collection;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads and writes run files - a count, followed by that many values written by a RecordSerializer
+ *
+ * All access is sequential and buffered.
+ *
+ * Created by Eric on 10/17/2026.
+ */
+public class RunFile {
+
+    private static final int IO_BUFFER_BYTES = 1 << 16;
+
+    /**
+     * Reads a run file, one value at a time
+     * Closes itself once the last value has been read
+     * @param <E> type of values in file
+     */
+    public static class Reader<E> implements Iterator<E>, Closeable {
+        private final RecordSerializer<E> serializer;
+        private final DataInputStream in;
+        private int remaining;
+
+        /**
+         * Open a run file, positioned before its first value
+         * @param path run file
+         * @param serializer reads values
+         * @throws IOException if opening fails
+         */
+        private Reader(final Path path, final RecordSerializer<E> serializer) throws IOException {
+            this.serializer = serializer;
+            in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), IO_BUFFER_BYTES));
+            try {
+                remaining = in.readInt();
+            }
+            catch (IOException e) {
+                in.close();
+                throw e;
+            }
+            if (remaining == 0) { in.close(); }
+        }
+
+        /**
+         * Return the count of values not yet read
+         * @return count of values left
+         */
+        public int remaining() { return remaining; }
+
+        @Override
+        public boolean hasNext() {
+            return remaining > 0;
+        }
+
+        /**
+         * Read the next value
+         * @return next value
+         * @throws UncheckedIOException if reading fails
+         */
+        @Override
+        public E next() {
+
+            // sanity check - there is a next
+            if (!hasNext()) { throw new NoSuchElementException("Past end of run"); }
+
+            try {
+                E value = serializer.read(in);
+                if (--remaining == 0) { in.close(); }
+                return value;
+            }
+            catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            remaining = 0;
+            in.close();
+        }
+    }
+
+    /**
+     * Write a collection of values to a run file
+     * @param path run file - replaced if it exists
+     * @param values values to write
+     * @param serializer writes values
+     * @param <F> type of values
+     * @throws IOException if writing fails
+     */
+    public static <F> void write(final Path path, final Collection<? extends F> values,
+                                 final RecordSerializer<F> serializer) throws IOException {
+        write(path, values.size(), values.iterator(), serializer);
+    }
+
+    /**
+     * Write the next count values from an iterator to a run file
+     * @param path run file - replaced if it exists
+     * @param count count of values to write
+     * @param values values to write
+     * @param serializer writes values
+     * @param <F> type of values
+     * @throws IOException if writing fails
+     */
+    public static <F> void write(final Path path, final int count, final Iterator<? extends F> values,
+                                 final RecordSerializer<F> serializer) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(path), IO_BUFFER_BYTES))) {
+            out.writeInt(count);
+            for (int i = 0 ; i < count ; i++) {
+                serializer.write(values.next(), out);
+            }
+        }
+    }
+
+    /**
+     * Open a run file for reading
+     * @param path run file
+     * @param serializer reads values
+     * @param <F> type of values
+     * @return reader, positioned before the first value
+     * @throws IOException if opening fails
+     */
+    public static <F> Reader<F> open(final Path path, final RecordSerializer<F> serializer) throws IOException {
+        return new Reader<>(path, serializer);
+    }
+
+    // no reason to instantiate this class
+    //
+    private RunFile() {}
+}
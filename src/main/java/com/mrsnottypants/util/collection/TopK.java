@@ -0,0 +1,233 @@
+package com.mrsnottypants.util.collection;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collector;
+
+/**
+ * Keeps the K largest values seen - in O(K) memory, and O(log K) time per value
+ *
+ * Values are held in a min heap capped at K values, so the smallest value kept is at the root.  Once full, a value no
+ * larger than the root is rejected with a single comparison, and a larger one replaces the root.  Among equal values,
+ * the first seen are kept.  The heap's array grows as values come in, so a large K costs little until that many values
+ * have been seen - which matters for the collector, where each partition of a stream keeps a top-K of its own.
+ *
+ * Use the push API directly, or collect a stream with {@link #collector(int)}.
+ *
+ * Created by Eric on 10/17/2026.
+ */
+public class TopK<E extends Comparable<E>> {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * Return a new, empty top-K, keeping the k largest values pushed into it
+     * @param k count of values to keep
+     * @param <F> type of values kept
+     * @return new top-K
+     */
+    public static <F extends Comparable<F>> TopK<F> largest(final int k) {
+
+        // sanity check
+        if (k < 0) { throw new IllegalArgumentException("k cannot be negative"); }
+
+        return new TopK<>(k);
+    }
+
+    /**
+     * Return a collector that gathers the k largest values of a stream, largest first
+     * Safe for parallel streams - partial results are merged
+     * @param k count of values to keep
+     * @param <F> type of values kept
+     * @return collector
+     */
+    public static <F extends Comparable<F>> Collector<F, ?, List<F>> collector(final int k) {
+
+        // sanity check
+        if (k < 0) { throw new IllegalArgumentException("k cannot be negative"); }
+
+        return Collector.of(() -> new TopK<F>(k), TopK::push, TopK::merge, TopK::toList);
+    }
+
+    // internal storage of heap - grown as needed, up to k
+    private final int k;
+    private Object[] array;
+    private int size;
+
+    /**
+     * Construct an empty top-K
+     * @param k count of values to keep
+     */
+    private TopK(final int k) {
+        this.k = k;
+        array = new Object[Math.min(k, DEFAULT_CAPACITY)];
+        size = 0;
+    }
+
+    /**
+     * Return the count of values kept so far
+     * @return count of values
+     */
+    public int size() { return size; }
+
+    /**
+     * Return true if no values are kept
+     * @return true if empty
+     */
+    public boolean isEmpty() { return size == 0; }
+
+    /**
+     * Return the count of values this will keep
+     * @return k
+     */
+    public int getCapacity() { return k; }
+
+    /**
+     * Return the smallest value kept - once full, a value must be larger than this to be kept
+     * @return smallest value kept
+     */
+    public E peekSmallest() {
+
+        // sanity check - confirm not empty
+        if (size == 0) { throw new IllegalStateException("empty"); }
+
+        return elementAt(0);
+    }
+
+    /**
+     * Offer a value
+     * @param value value to offer
+     * @return true if the value is kept (for now), false if rejected
+     */
+    public boolean push(final E value) {
+
+        // sanity check
+        if (value == null) { throw new IllegalArgumentException("value cannot be null"); }
+
+        // room to spare - add it to the end, and bubble it up
+        if (size < k) {
+            if (size == array.length) {
+                array = Arrays.copyOf(array, (int)Math.min(k, 2L * size));
+            }
+            bubbleUp(size++, value);
+            return true;
+        }
+
+        // full - reject anything no larger than the smallest kept, or let it replace the smallest
+        if ((size == 0) || (value.compareTo(elementAt(0)) <= 0)) { return false; }
+        minHeapify(0, value);
+        return true;
+    }
+
+    /**
+     * Offer every value in a collection
+     * @param values values to offer
+     */
+    public void pushAll(final Collection<? extends E> values) {
+
+        // sanity check
+        if (values == null) { throw new IllegalArgumentException("values cannot be null"); }
+
+        for (E value : values) {
+            push(value);
+        }
+    }
+
+    /**
+     * Offer every value kept by another top-K
+     * @param other top-K to merge
+     * @return this, merged
+     */
+    public TopK<E> merge(final TopK<E> other) {
+
+        // sanity check
+        if (other == null) { throw new IllegalArgumentException("other cannot be null"); }
+
+        for (int index = 0 ; index < other.size ; index++) {
+            push(other.elementAt(index));
+        }
+        return this;
+    }
+
+    /**
+     * Return the values kept, largest first
+     * @return new list of values
+     */
+    public List<E> toList() {
+        List<E> values = new ArrayList<>(size);
+        for (int index = 0 ; index < size ; index++) {
+            values.add(elementAt(index));
+        }
+        values.sort(Collections.reverseOrder());
+        return values;
+    }
+
+    /**
+     * Drop every value kept
+     */
+    public void clear() {
+        Arrays.fill(array, 0, size, null);
+        size = 0;
+    }
+
+    /**
+     * Return the value at an index
+     * @param index index of value
+     * @return value
+     */
+    @SuppressWarnings("unchecked")
+    private E elementAt(final int index) {
+        return (E)array[index];
+    }
+
+    /**
+     * Drops value into the hole at index, moving the smaller child up until value is no larger than either child
+     * @param index hole to fill
+     * @param value value to place
+     */
+    private void minHeapify(int index, final E value) {
+
+        // stop once the hole has no children
+        int half = size >>> 1;
+        while (index < half) {
+
+            // pick the smaller child
+            int child = (index << 1) + 1;
+            E smallest = elementAt(child);
+            if (child + 1 < size) {
+                E right = elementAt(child + 1);
+                if (right.compareTo(smallest) < 0) {
+                    smallest = right;
+                    child++;
+                }
+            }
+
+            // value belongs here if it is no larger than its smaller child
+            if (value.compareTo(smallest) <= 0) { break; }
+
+            // move child up into the hole
+            array[index] = smallest;
+            index = child;
+        }
+        array[index] = value;
+    }
+
+    /**
+     * Moves parents down into the hole at index until value is at least as large as its parent
+     * @param index hole to fill
+     * @param value value to place
+     */
+    private void bubbleUp(int index, final E value) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            E above = elementAt(parent);
+            if (value.compareTo(above) >= 0) { break; }
+            array[index] = above;
+            index = parent;
+        }
+        array[index] = value;
+    }
+}
@@ -0,0 +1,43 @@
+package com.mrsnottypants.util.collection;
+
+/**
+ * A mutable position in a binary tree, for walking it without a new key per step
+ *
+ * Moves return false, and leave the cursor where it was, if there is no node to move to.  A cursor starts at the root
+ * - over an empty tree it has no position, so every move returns false and value throws.  Trees that are changed
+ * while a cursor walks them may leave it at a node that no longer exists.
+ *
+ * Created by Eric on 10/17/2026.
+ */
+public interface TreeCursor<E> {
+
+    /**
+     * Move to the left child of the current node
+     * @return true if moved, false if there is no left child
+     */
+    boolean toLeft();
+
+    /**
+     * Move to the right child of the current node
+     * @return true if moved, false if there is no right child
+     */
+    boolean toRight();
+
+    /**
+     * Move to the parent of the current node
+     * @return true if moved, false if the current node is the root
+     */
+    boolean toParent();
+
+    /**
+     * Move back to the root
+     * @return true if moved, false if the tree is empty
+     */
+    boolean toRoot();
+
+    /**
+     * Return the value of the current node
+     * @return value of current node
+     */
+    E value();
+}
@@ -0,0 +1,523 @@
+package com.mrsnottypants.util.concurrent;
+
+import com.mrsnottypants.util.collection.BinaryTreeArray;
+import com.mrsnottypants.util.collection.Heap;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Executor service that runs tasks in priority order - larger priorities first
+ *
+ * Each worker thread owns a heap of tasks behind its own lock, so submitters and workers spread out rather than
+ * queueing on one lock.  Tasks submitted from outside the pool are dealt round-robin across workers; tasks submitted
+ * by a worker go onto its own heap.  Before running its own top task, a worker glances at the tops of two other
+ * workers, and steals whichever task has the highest priority - so priority order holds approximately across the whole
+ * pool, and idle workers soak up work from busy ones.
+ *
+ * With aging enabled, a waiting task gains one unit of priority per aging interval, so low priority tasks can not
+ * starve.  Aging is folded into each task's key at submission - effective priority p + (now - submitted) / interval
+ * orders tasks the same as p * interval - submitted, whatever now is - so heaps never need re-ordering.  Among equal
+ * keys, tasks run in submission order.
+ *
+ * Idle workers park, backing off from a millisecond up to a second between checks, and are unparked when given work.
+ *
+ * Spreading the tasks out only pays when many threads contend for them.  Measured on a single core, this runs tiny
+ * tasks slower than a ThreadPoolExecutor over a PriorityBlockingQueue - about 1.3 thousand versus 2 to 4 thousand per
+ * millisecond, from one submitting thread or four.  Contention across several cores has not been measured, so prefer
+ * the single queue unless profiling shows its lock hot.
+ *
+ * Created by Eric on 10/17/2026.
+ */
+public class PriorityExecutorService extends AbstractExecutorService {
+
+    private static final int DEFAULT_PRIORITY = 0;
+    private static final long MIN_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long MAX_PARK_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    // a task, and the key it is ordered by
+    //
+    private static final class Task implements Comparable<Task> {
+        private final Runnable runnable;
+        private final long key;
+        private final long sequence;
+
+        Task(Runnable runnable, long key, long sequence) {
+            this.runnable = runnable;
+            this.key = key;
+            this.sequence = sequence;
+        }
+
+        // larger key first, then earlier submission
+        @Override
+        public int compareTo(Task other) {
+            int comparison = Long.compare(key, other.key);
+            return (comparison != 0) ? comparison : Long.compare(other.sequence, sequence);
+        }
+    }
+
+    // a worker's thread - knows its worker, so a task submitted from inside the pool finds it without a search
+    //
+    private static final class WorkerThread extends Thread {
+        private final PriorityExecutorService executor;
+        private final Worker worker;
+
+        WorkerThread(PriorityExecutorService executor, Worker worker, String name) {
+            super(worker, name);
+            this.executor = executor;
+            this.worker = worker;
+        }
+    }
+
+    // a worker - its thread, and its heap of tasks
+    // size and top are published after every change, so other threads can look without taking the lock
+    //
+    private final class Worker implements Runnable {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Heap<Task> heap = BinaryTreeArray.emptyHeap();
+        private volatile int size;
+        private volatile Task top;
+        private volatile boolean parked;
+        private long parkNanos = MIN_PARK_NANOS;
+        private Thread thread;
+
+        // must hold lock
+        private void publish() {
+            size = heap.size();
+            top = (size > 0) ? heap.peek() : null;
+        }
+
+        // pop our top task, unless another thread has it locked
+        private Task tryPop() {
+            if ((size == 0) || !lock.tryLock()) { return null; }
+            try {
+                if (heap.isEmpty()) { return null; }
+                Task task = heap.pop();
+                publish();
+                return task;
+            }
+            finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (true) {
+                    Task task = next(this);
+                    if (task != null) {
+                        parkNanos = MIN_PARK_NANOS;
+                        runTask(task);
+                    }
+                    else if (isShutdown() && (pending.get() == 0)) {
+                        return;
+                    }
+                    else {
+                        idle(this);
+                    }
+                }
+            }
+            finally {
+                terminated.countDown();
+            }
+        }
+    }
+
+    /**
+     * Return a new executor, without aging
+     * @param threads count of worker threads
+     * @return new executor
+     */
+    public static PriorityExecutorService create(final int threads) {
+        return create(threads, 0, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Return a new executor, with aging
+     * @param threads count of worker threads
+     * @param agingInterval a waiting task gains one unit of priority each interval - 0 to turn aging off
+     * @param unit unit of agingInterval
+     * @return new executor
+     */
+    public static PriorityExecutorService create(final int threads, final long agingInterval, final TimeUnit unit) {
+
+        // sanity check
+        if ((threads < 1) || (agingInterval < 0) || (unit == null)) {
+            throw new IllegalArgumentException("threads must be at least 1, agingInterval not negative, unit not null");
+        }
+
+        PriorityExecutorService executor = new PriorityExecutorService(threads, unit.toNanos(agingInterval));
+        executor.start();
+        return executor;
+    }
+
+    // workers
+    private final Worker[] workers;
+    private final AtomicInteger nextWorker = new AtomicInteger();
+    private final AtomicInteger idleWorkers = new AtomicInteger();
+
+    // ordering
+    private final long agingNanos;
+    private final long startNanos;
+    private final AtomicLong sequence = new AtomicLong();
+
+    // lifecycle - pending counts tasks accepted but not yet taken by a worker
+    private final AtomicLong pending = new AtomicLong();
+    private final CountDownLatch terminated;
+    private volatile boolean shutdown;
+    private volatile boolean stopped;
+
+    /**
+     * Construct an executor - call start to start its workers
+     * @param threads count of worker threads
+     * @param agingNanos aging interval in nanos, 0 for none
+     */
+    private PriorityExecutorService(final int threads, final long agingNanos) {
+        this.agingNanos = agingNanos;
+        this.startNanos = System.nanoTime();
+        this.terminated = new CountDownLatch(threads);
+
+        workers = new Worker[threads];
+        for (int i = 0 ; i < threads ; i++) {
+            workers[i] = new Worker();
+        }
+    }
+
+    /**
+     * Start the worker threads
+     */
+    private void start() {
+        for (int i = 0 ; i < workers.length ; i++) {
+            workers[i].thread = new WorkerThread(this, workers[i], String.format("priority-executor-%d", i));
+            workers[i].thread.start();
+        }
+    }
+
+    /**
+     * Run a task at the default priority
+     * @param command task to run
+     */
+    @Override
+    public void execute(final Runnable command) {
+        execute(command, DEFAULT_PRIORITY);
+    }
+
+    /**
+     * Run a task at a given priority
+     * @param command task to run
+     * @param priority larger runs first
+     */
+    public void execute(final Runnable command, final int priority) {
+
+        // sanity check
+        if (command == null) { throw new IllegalArgumentException("command cannot be null"); }
+
+        accept(1);
+        Worker worker = target();
+        Task task = new Task(command, keyOf(priority), sequence.getAndIncrement());
+        worker.lock.lock();
+        try {
+            worker.heap.push(task);
+            worker.publish();
+        }
+        finally {
+            worker.lock.unlock();
+        }
+        wake(worker);
+    }
+
+    /**
+     * Submit a task at a given priority
+     * @param task task to run
+     * @param priority larger runs first
+     * @return future for the task
+     */
+    public Future<?> submit(final Runnable task, final int priority) {
+        FutureTask<Object> future = new FutureTask<>(task, null);
+        execute(future, priority);
+        return future;
+    }
+
+    /**
+     * Submit a task at a given priority
+     * @param task task to run
+     * @param priority larger runs first
+     * @param <T> type of result
+     * @return future for the task
+     */
+    public <T> Future<T> submit(final Callable<T> task, final int priority) {
+        FutureTask<T> future = new FutureTask<>(task);
+        execute(future, priority);
+        return future;
+    }
+
+    /**
+     * Run a batch of tasks, all at one priority
+     * The batch is split evenly across workers, and each worker's share is pushed in one go, under one lock
+     * @param commands tasks to run
+     * @param priority larger runs first
+     */
+    public void executeAll(final Collection<? extends Runnable> commands, final int priority) {
+
+        // sanity check
+        if (commands == null) { throw new IllegalArgumentException("commands cannot be null"); }
+        if (commands.isEmpty()) { return; }
+
+        // check the whole batch before counting any of it
+        for (Runnable command : commands) {
+            if (command == null) { throw new IllegalArgumentException("commands cannot contain null"); }
+        }
+
+        // all share a key, and take consecutive sequence numbers
+        accept(commands.size());
+        long key = keyOf(priority);
+        long first = sequence.getAndAdd(commands.size());
+        List<Task> tasks = new ArrayList<>(commands.size());
+        for (Runnable command : commands) {
+            tasks.add(new Task(command, key, first + tasks.size()));
+        }
+
+        // deal out a share to each worker
+        int shares = Math.min(workers.length, tasks.size());
+        int start = nextWorker.getAndAdd(shares);
+        for (int i = 0 ; i < shares ; i++) {
+            Worker worker = workers[Math.floorMod(start + i, workers.length)];
+            List<Task> share = tasks.subList((i * tasks.size()) / shares, ((i + 1) * tasks.size()) / shares);
+            worker.lock.lock();
+            try {
+                worker.heap.pushAll(share);
+                worker.publish();
+            }
+            finally {
+                worker.lock.unlock();
+            }
+            wake(worker);
+        }
+    }
+
+    /**
+     * Stop accepting tasks - tasks already accepted still run
+     */
+    @Override
+    public void shutdown() {
+        shutdown = true;
+        for (Worker worker : workers) {
+            LockSupport.unpark(worker.thread);
+        }
+    }
+
+    /**
+     * Stop accepting tasks, interrupt running tasks, and return tasks that had not started
+     * @return tasks that never ran
+     */
+    @Override
+    public List<Runnable> shutdownNow() {
+        stopped = true;
+        shutdown = true;
+        List<Runnable> drained = new ArrayList<>();
+        for (Worker worker : workers) {
+            worker.lock.lock();
+            try {
+                while (!worker.heap.isEmpty()) {
+                    drained.add(worker.heap.pop().runnable);
+                    pending.decrementAndGet();
+                }
+                worker.publish();
+            }
+            finally {
+                worker.lock.unlock();
+            }
+            worker.thread.interrupt();
+        }
+        return drained;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return terminated.getCount() == 0;
+    }
+
+    @Override
+    public boolean awaitTermination(final long timeout, final TimeUnit unit) throws InterruptedException {
+        return terminated.await(timeout, unit);
+    }
+
+    /**
+     * Count tasks as accepted, or reject them if we have shut down
+     * Counting first means a worker never sees zero pending while a task is on its way in
+     * @param count count of tasks
+     */
+    private void accept(final int count) {
+        pending.addAndGet(count);
+        if (shutdown) {
+            pending.addAndGet(-count);
+            throw new RejectedExecutionException("shut down");
+        }
+    }
+
+    /**
+     * Return the heap key for a priority, folding in aging
+     * @param priority task's priority
+     * @return key - larger runs first
+     */
+    private long keyOf(final int priority) {
+        if (agingNanos == 0) { return priority; }
+
+        // priority * interval - waited so far, saturating rather than overflowing
+        long scaled;
+        try {
+            scaled = Math.multiplyExact((long)priority, agingNanos);
+        }
+        catch (ArithmeticException e) {
+            scaled = (priority > 0) ? Long.MAX_VALUE / 2 : Long.MIN_VALUE / 2;
+        }
+        return scaled - (System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Pick the worker to give a task to - the calling worker, if it is one of ours, or else the next in turn
+     * @return worker
+     */
+    private Worker target() {
+        Thread current = Thread.currentThread();
+        if ((current instanceof WorkerThread) && (((WorkerThread)current).executor == this)) {
+            return ((WorkerThread)current).worker;
+        }
+        return workers[Math.floorMod(nextWorker.getAndIncrement(), workers.length)];
+    }
+
+    /**
+     * Wake a worker that has just been given work, and another idle worker to help if it is busy
+     * @param worker worker given work
+     */
+    private void wake(final Worker worker) {
+        if (worker.parked) {
+            LockSupport.unpark(worker.thread);
+        }
+        else {
+            wakeIdle();
+        }
+    }
+
+    /**
+     * Wake one idle worker, if any
+     */
+    private void wakeIdle() {
+        if (idleWorkers.get() > 0) {
+            for (Worker other : workers) {
+                if (other.parked) {
+                    LockSupport.unpark(other.thread);
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Return the next task for a worker - its own top, or a higher priority top stolen from one of two random workers
+     * @param worker worker looking for work
+     * @return task, or null if none found
+     */
+    private Task next(final Worker worker) {
+
+        // the best of our top and two others' tops
+        Worker best = (worker.size > 0) ? worker : null;
+        if (workers.length > 1) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            best = better(best, workers[random.nextInt(workers.length)]);
+            best = better(best, workers[random.nextInt(workers.length)]);
+        }
+
+        // take it, falling back to our own, then to anyone's
+        Task task = (best != null) ? best.tryPop() : null;
+        if ((task == null) && (best != worker)) { task = worker.tryPop(); }
+        if (task == null) {
+            for (Worker other : workers) {
+                task = other.tryPop();
+                if (task != null) { break; }
+            }
+        }
+        // if work is left over, pass the wake-up on, so parked workers do not sit out their back-off
+        if ((task != null) && (pending.decrementAndGet() > 0)) { wakeIdle(); }
+        return task;
+    }
+
+    /**
+     * Return whichever worker has the higher top task
+     * @param current best so far, or null
+     * @param candidate worker to compare
+     * @return better worker, or null if neither has work
+     */
+    private Worker better(final Worker current, final Worker candidate) {
+        Task candidateTop = candidate.top;
+        if (candidateTop == null) { return current; }
+        if (current == null) { return candidate; }
+        Task currentTop = current.top;
+        return ((currentTop == null) || (candidateTop.compareTo(currentTop) > 0)) ? candidate : current;
+    }
+
+    /**
+     * Run a task, reporting any exception to the thread's handler rather than losing the worker
+     * Clears any interrupt left over from the last task (such as a cancel(true) that came late), so it does not leak
+     * into this one - unless shutdownNow has been called, in which case the task starts interrupted
+     * @param task task to run
+     */
+    private void runTask(final Task task) {
+
+        // re-check stopped after clearing, in case shutdownNow interrupted us in between
+        Thread thread = Thread.currentThread();
+        if ((stopped || (Thread.interrupted() && stopped)) && !thread.isInterrupted()) {
+            thread.interrupt();
+        }
+
+        try {
+            task.runnable.run();
+        }
+        catch (Throwable t) {
+            thread.getUncaughtExceptionHandler().uncaughtException(thread, t);
+        }
+    }
+
+    /**
+     * Park a worker that found nothing to do, until it is given work or its back-off passes
+     * Each idle round in a row doubles the back-off, up to MAX_PARK_NANOS - the wait is only a safety net, since
+     * wake unparks workers as soon as they are given work
+     * @param worker idle worker
+     */
+    private void idle(final Worker worker) {
+        worker.parked = true;
+        idleWorkers.incrementAndGet();
+        try {
+
+            // check once more, now that submitters can see we are parked
+            if ((pending.get() == 0) && !shutdown) {
+                LockSupport.parkNanos(this, worker.parkNanos);
+                worker.parkNanos = Math.min(worker.parkNanos << 1, MAX_PARK_NANOS);
+            }
+        }
+        finally {
+            idleWorkers.decrementAndGet();
+            worker.parked = false;
+        }
+        Thread.interrupted();
+    }
+}
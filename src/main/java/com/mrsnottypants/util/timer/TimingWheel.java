@@ -0,0 +1,348 @@
+package com.mrsnottypants.util.timer;
+
+import com.mrsnottypants.util.collection.IndexedHeap;
+import com.mrsnottypants.util.collection.NodeKey;
+
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel - O(1) schedule and cancel for large numbers of timeouts
+ *
+ * Time is cut into ticks, and each level of the wheel is a ring of slots covering slotsPerLevel times the span of the
+ * level below.  A timeout goes into a slot of the lowest level whose span reaches its deadline, in a doubly linked
+ * list, so scheduling and cancelling never search.  As time advances through a higher level's slot, its timeouts are
+ * cascaded down to finer levels, until they fire from level 0.  Deadlines beyond the top level wait in a heap, and
+ * move into the wheel once it reaches them.
+ *
+ * The wheel has no clock of its own - callers pass the time to advance().  Times and durations are in whatever unit
+ * the caller likes (millis, nanos, ...).  A timeout fires on the first advance() at or past its deadline, at tick
+ * granularity - never early, and at most one tick late.  Not thread-safe.
+ *
+ * Created by Eric on 10/17/2026.
+ */
+public class TimingWheel<E> {
+
+    private static final int DEFAULT_SLOTS_PER_LEVEL = 256;
+    private static final int DEFAULT_LEVELS = 4;
+
+    /**
+     * A scheduled timeout, used to cancel it
+     * @param <E> type of value fired
+     */
+    public static final class Timeout<E> implements Comparable<Timeout<E>> {
+        private final E value;
+        private final long deadline;
+        private final long deadlineTick;
+
+        // where it is waiting - a slot, or the overflow heap
+        private Slot<E> slot;
+        private Timeout<E> previous;
+        private Timeout<E> next;
+        private NodeKey overflowKey;
+
+        private Timeout(final E value, final long deadline, final long deadlineTick) {
+            this.value = value;
+            this.deadline = deadline;
+            this.deadlineTick = deadlineTick;
+        }
+
+        public E getValue() { return value; }
+        public long getDeadline() { return deadline; }
+
+        /**
+         * Return true if the timeout has neither fired nor been cancelled
+         * @return true if pending
+         */
+        public boolean isPending() { return (slot != null) || (overflowKey != null); }
+
+        /**
+         * Earlier deadlines are larger, so the overflow (max) heap keeps the earliest at its root
+         * @param other timeout to compare with
+         * @return comparison of deadlines, reversed
+         */
+        @Override
+        public int compareTo(final Timeout<E> other) {
+            return Long.compare(other.deadlineTick, deadlineTick);
+        }
+    }
+
+    // a slot - a doubly linked list of timeouts
+    //
+    private static final class Slot<E> {
+        private Timeout<E> head;
+
+        void add(Timeout<E> timeout) {
+            timeout.slot = this;
+            timeout.previous = null;
+            timeout.next = head;
+            if (head != null) { head.previous = timeout; }
+            head = timeout;
+        }
+
+        void remove(Timeout<E> timeout) {
+            if (timeout.previous != null) { timeout.previous.next = timeout.next; } else { head = timeout.next; }
+            if (timeout.next != null) { timeout.next.previous = timeout.previous; }
+            timeout.slot = null;
+            timeout.previous = null;
+            timeout.next = null;
+        }
+
+        // detach and return the whole list
+        Timeout<E> takeAll() {
+            Timeout<E> all = head;
+            head = null;
+            return all;
+        }
+    }
+
+    /**
+     * Return a new wheel with 4 levels of 256 slots
+     * @param now current time
+     * @param tickDuration span of a tick
+     * @param <F> type of values fired
+     * @return new wheel
+     */
+    public static <F> TimingWheel<F> startingAt(final long now, final long tickDuration) {
+        return startingAt(now, tickDuration, DEFAULT_SLOTS_PER_LEVEL, DEFAULT_LEVELS);
+    }
+
+    /**
+     * Return a new wheel
+     * @param now current time
+     * @param tickDuration span of a tick
+     * @param slotsPerLevel count of slots in each level - a power of two
+     * @param levels count of levels
+     * @param <F> type of values fired
+     * @return new wheel
+     */
+    public static <F> TimingWheel<F> startingAt(final long now, final long tickDuration, final int slotsPerLevel,
+                                                final int levels) {
+
+        // sanity check
+        if ((tickDuration < 1) || (now < 0)) {
+            throw new IllegalArgumentException("tickDuration must be positive, and now not negative");
+        }
+        if ((slotsPerLevel < 2) || (Integer.bitCount(slotsPerLevel) != 1) || (levels < 1)) {
+            throw new IllegalArgumentException("slotsPerLevel must be a power of two, and levels at least 1");
+        }
+        int bits = Integer.numberOfTrailingZeros(slotsPerLevel);
+        if (bits * levels > 62) {
+            throw new IllegalArgumentException("wheel spans more ticks than a long can count");
+        }
+
+        return new TimingWheel<>(now, tickDuration, bits, levels);
+    }
+
+    // layout
+    private final long tickDuration;
+    private final int bits;
+    private final int mask;
+
+    // levels of slots, overdue timeouts, and timeouts beyond the top level
+    private final Slot<E>[][] wheel;
+    private final Slot<E> due;
+    private final IndexedHeap<Timeout<E>> overflow;
+
+    // last tick processed, and count of pending timeouts
+    private long now;
+    private long tick;
+    private int size;
+
+    /**
+     * Construct an empty wheel
+     * @param now current time
+     * @param tickDuration span of a tick
+     * @param bits log2 of slots per level
+     * @param levels count of levels
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private TimingWheel(final long now, final long tickDuration, final int bits, final int levels) {
+        this.tickDuration = tickDuration;
+        this.bits = bits;
+        this.mask = (1 << bits) - 1;
+
+        wheel = new Slot[levels][1 << bits];
+        for (Slot<E>[] level : wheel) {
+            for (int i = 0 ; i < level.length ; i++) {
+                level[i] = new Slot<>();
+            }
+        }
+        due = new Slot<>();
+        overflow = IndexedHeap.emptyHeap();
+
+        this.now = now;
+        this.tick = now / tickDuration;
+    }
+
+    /**
+     * Return the count of pending timeouts
+     * @return count of pending timeouts
+     */
+    public int size() { return size; }
+
+    /**
+     * Return the time last passed to advance (or the start time)
+     * @return current time
+     */
+    public long getNow() { return now; }
+
+    /**
+     * Schedule a value to fire at a deadline
+     * A deadline that has already passed fires on the next advance
+     * @param value value to fire
+     * @param deadline when to fire
+     * @return timeout, to cancel with
+     */
+    public Timeout<E> schedule(final E value, final long deadline) {
+
+        // round the deadline up to a tick, so we never fire early
+        long deadlineTick = (deadline <= 0) ? 0 : ((deadline - 1) / tickDuration) + 1;
+        Timeout<E> timeout = new Timeout<>(value, deadline, deadlineTick);
+        place(timeout);
+        size++;
+        return timeout;
+    }
+
+    /**
+     * Cancel a timeout
+     * @param timeout timeout to cancel
+     * @return true if it was pending, false if it had already fired or been cancelled
+     */
+    public boolean cancel(final Timeout<E> timeout) {
+        if (timeout.slot != null) {
+            timeout.slot.remove(timeout);
+        }
+        else if (timeout.overflowKey != null) {
+            overflow.remove(timeout.overflowKey);
+            timeout.overflowKey = null;
+        }
+        else {
+            return false;
+        }
+        size--;
+        return true;
+    }
+
+    /**
+     * Move time forward, firing every timeout whose deadline has been reached
+     * @param now current time - no earlier than the last
+     * @param expired receives the value of each timeout that fires
+     * @return count of timeouts fired
+     */
+    public int advance(final long now, final Consumer<? super E> expired) {
+
+        // sanity check
+        if (now < this.now) {
+            throw new IllegalArgumentException(String.format("Time went backwards, from %d to %d", this.now, now));
+        }
+        this.now = now;
+
+        // overdue timeouts, from scheduling in the past
+        int fired = fire(due, expired);
+
+        final long target = now / tickDuration;
+        while (tick < target) {
+
+            // nothing in the wheel - jump straight to the target, or to where the overflow needs attention
+            if (isWheelEmpty()) {
+                long jump = overflow.isEmpty() ? target : Math.min(target, overflow.peek().deadlineTick - 1);
+                if (jump > tick) {
+                    tick = jump;
+                    pullOverflow();
+                    continue;
+                }
+            }
+
+            // next tick - cascade levels whose lower digits have wrapped, highest first
+            tick++;
+            for (int level = wheel.length - 1 ; level > 0 ; level--) {
+                if ((tick & ((1L << (bits * level)) - 1)) == 0) {
+                    cascade(wheel[level][(int)(tick >>> (bits * level)) & mask]);
+                }
+            }
+            pullOverflow();
+
+            // fire this tick's slot, and anything cascaded into due
+            fired += fire(wheel[0][(int)tick & mask], expired);
+            fired += fire(due, expired);
+        }
+        return fired;
+    }
+
+    /**
+     * Put a timeout where it belongs, relative to the current tick
+     * @param timeout timeout to place
+     */
+    private void place(final Timeout<E> timeout) {
+
+        // already due
+        if (timeout.deadlineTick <= tick) {
+            due.add(timeout);
+            return;
+        }
+
+        // the level is picked by the highest bit where deadline and now differ
+        int level = (63 - Long.numberOfLeadingZeros(timeout.deadlineTick ^ tick)) / bits;
+        if (level < wheel.length) {
+            wheel[level][(int)(timeout.deadlineTick >>> (bits * level)) & mask].add(timeout);
+        }
+        else {
+            timeout.overflowKey = overflow.add(timeout);
+        }
+    }
+
+    /**
+     * Move overflow timeouts that the wheel can now reach into the wheel
+     */
+    private void pullOverflow() {
+        while (!overflow.isEmpty()) {
+            Timeout<E> timeout = overflow.peek();
+            int level = (63 - Long.numberOfLeadingZeros(timeout.deadlineTick ^ tick)) / bits;
+            if ((timeout.deadlineTick > tick) && (level >= wheel.length)) { return; }
+            overflow.pop();
+            timeout.overflowKey = null;
+            place(timeout);
+        }
+    }
+
+    /**
+     * Re-place every timeout in a slot, relative to the current tick - they all land at lower levels, or in due
+     * @param slot slot to empty
+     */
+    private void cascade(final Slot<E> slot) {
+        Timeout<E> timeout = slot.takeAll();
+        while (timeout != null) {
+            Timeout<E> next = timeout.next;
+            place(timeout);
+            timeout = next;
+        }
+    }
+
+    /**
+     * Fire every timeout in a slot, including any the consumer adds to it
+     * @param slot slot to empty
+     * @param expired receives fired values
+     * @return count fired
+     */
+    private int fire(final Slot<E> slot, final Consumer<? super E> expired) {
+
+        // unlink one at a time, so the consumer can safely cancel or schedule as we go
+        int fired = 0;
+        while (slot.head != null) {
+            Timeout<E> timeout = slot.head;
+            slot.remove(timeout);
+            size--;
+            fired++;
+            expired.accept(timeout.value);
+        }
+        return fired;
+    }
+
+    /**
+     * Return true if no timeouts are waiting in the wheel's slots (there may still be some in overflow)
+     * @return true if slots empty
+     */
+    private boolean isWheelEmpty() {
+        return size == overflow.size();
+    }
+}
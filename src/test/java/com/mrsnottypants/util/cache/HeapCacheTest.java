@@ -0,0 +1,139 @@
+package com.mrsnottypants.util.cache;
+
+import com.mrsnottypants.test.Exceptions;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Optional;
+
+/**
+ * Created by Eric on 10/17/2026.
+ */
+public class HeapCacheTest {
+
+    @Test
+    public void testLeastFrequentlyUsed() {
+
+        HeapCache<String, Integer> cache = HeapCache.create(3, EvictionPolicy.leastFrequentlyUsed());
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.put("c", 3);
+
+        // a and c are used more than b, so b goes when d comes in
+        cache.get("a");
+        cache.get("a");
+        cache.get("c");
+        cache.put("d", 4);
+        Assert.assertEquals(Optional.empty(), cache.get("b"));
+        Assert.assertEquals(Optional.of(1), cache.get("a"));
+        Assert.assertEquals(3, cache.size());
+        Assert.assertEquals(1, cache.getEvictionCount());
+
+        // d and c tie on hits, until d is read - then c, the least recently used of the two, goes
+        cache.get("d");
+        cache.get("d");
+        cache.put("e", 5);
+        Assert.assertFalse(cache.get("c").isPresent());
+        Assert.assertTrue(cache.get("d").isPresent());
+    }
+
+    @Test
+    public void testLeastRecentlyUsed() {
+
+        HeapCache<String, Integer> cache = HeapCache.create(2, EvictionPolicy.leastRecentlyUsed());
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.get("a");
+        cache.put("c", 3);
+        Assert.assertFalse(cache.get("b").isPresent());
+
+        // replacing a value counts as an access
+        cache.put("a", 10);
+        cache.put("d", 4);
+        Assert.assertFalse(cache.get("c").isPresent());
+        Assert.assertEquals(Optional.of(10), cache.get("a"));
+        Assert.assertEquals(2, cache.getEvictionCount());
+    }
+
+    @Test
+    public void testCostWeighted() {
+
+        // values are their own cost - one expensive hit outweighs several cheap ones
+        HeapCache<String, Integer> cache = HeapCache.create(2, EvictionPolicy.costWeighted(v -> v));
+        cache.put("cheap", 1);
+        cache.put("costly", 100);
+        for (int i = 0 ; i < 10 ; i++) {
+            cache.get("cheap");
+        }
+        cache.put("new", 50);
+        Assert.assertFalse(cache.get("cheap").isPresent());
+        Assert.assertTrue(cache.get("costly").isPresent());
+    }
+
+    @Test
+    public void testComputeAndCounters() {
+
+        HeapCache<Integer, String> cache = HeapCache.create(10, EvictionPolicy.leastFrequentlyUsed());
+        Assert.assertEquals("1", cache.computeIfAbsent(1, String::valueOf));
+        Assert.assertEquals("1", cache.computeIfAbsent(1, k -> "not called"));
+        Assert.assertNull(cache.computeIfAbsent(2, k -> null));
+        Assert.assertEquals(1, cache.size());
+        cache.get(3);
+
+        Assert.assertEquals(1, cache.getHitCount());
+        Assert.assertEquals(3, cache.getMissCount());
+        Assert.assertEquals(0, cache.getEvictionCount());
+
+        // removing is not evicting
+        Assert.assertEquals(Optional.of("1"), cache.remove(1));
+        Assert.assertEquals(Optional.empty(), cache.remove(1));
+        Assert.assertEquals(0, cache.size());
+        Assert.assertEquals(0, cache.getEvictionCount());
+
+        Assert.assertTrue(Exceptions.isExpected(() -> HeapCache.create(0, EvictionPolicy.leastRecentlyUsed()),
+                IllegalArgumentException.class));
+        Assert.assertTrue(Exceptions.isExpected(() -> cache.put(null, "x"), IllegalArgumentException.class));
+    }
+
+    @Test
+    public void testReentrantCompute() {
+
+        // a mapping that caches the key itself wins, and leaves a single entry for it
+        HeapCache<Integer, String> cache = HeapCache.create(2, EvictionPolicy.leastRecentlyUsed());
+        Assert.assertEquals("inner", cache.computeIfAbsent(1, k -> {
+            cache.put(k, "inner");
+            return "outer";
+        }));
+        Assert.assertEquals(1, cache.size());
+        Assert.assertEquals(Optional.of("inner"), cache.get(1));
+
+        // so evictions still line up with entries
+        cache.put(2, "two");
+        cache.put(3, "three");
+        cache.put(4, "four");
+        Assert.assertEquals(2, cache.size());
+        Assert.assertEquals(2, cache.getEvictionCount());
+        Assert.assertEquals(Optional.of("three"), cache.get(3));
+        Assert.assertEquals(Optional.of("four"), cache.get(4));
+    }
+
+    @Test
+    public void testBounded() {
+
+        // many keys through a small cache - size never passes capacity, and every put past it evicts
+        HeapCache<Integer, Integer> cache = HeapCache.create(100, EvictionPolicy.leastFrequentlyUsed());
+        for (int i = 0 ; i < 10000 ; i++) {
+            cache.computeIfAbsent(i % 1000, k -> k);
+            cache.get(i % 7);
+            Assert.assertTrue(cache.size() <= 100);
+        }
+        Assert.assertEquals(100, cache.size());
+        Assert.assertEquals(20000, cache.getHitCount() + cache.getMissCount());
+        Assert.assertTrue(cache.getEvictionCount() > 0);
+
+        // the hot keys, read every time, are never evicted
+        for (int i = 0 ; i < 7 ; i++) {
+            Assert.assertTrue(cache.get(i).isPresent());
+        }
+    }
+}
@@ -9,6 +9,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Random;
 
 /**
  * Created by Eric on 7/11/2016.
@@ -65,4 +66,147 @@ public class BinaryTreeArrayHeapTest {
         // confirm heap is empty
         Assert.assertTrue(Exceptions.isIllegalState(heap::pop));
     }
+
+    @Test
+    public void testRandom() {
+
+        // lots of values, with plenty of duplicates, pushed and popped in a mix
+        Random random = new Random(7);
+        List<Integer> source = new ArrayList<>();
+        for (int i = 0 ; i < 2000 ; i++) {
+            source.add(random.nextInt(500));
+        }
+        heap = BinaryTreeArray.heapOf(source.subList(0, 1000));
+        for (Integer i : source.subList(1000, 2000)) {
+            heap.push(i);
+        }
+
+        // order the source
+        List<Integer> inOrder = new ArrayList<>(source);
+        Collections.sort(inOrder);
+        Collections.reverse(inOrder);
+
+        // confirm we're popping in order
+        for (Integer i : inOrder) {
+            Assert.assertEquals(i, heap.pop());
+        }
+        Assert.assertTrue(Exceptions.isIllegalState(heap::pop));
+    }
+
+    @Test
+    public void testPeek() {
+        Assert.assertEquals(Integer.valueOf(20), heap.peek());
+        Assert.assertEquals(SOURCE.size(), heap.size());
+
+        heap = BinaryTreeArray.emptyHeap();
+        Assert.assertTrue(heap.isEmpty());
+        Assert.assertTrue(Exceptions.isIllegalState(heap::peek));
+    }
+
+    @Test
+    public void testPushAll() {
+
+        // a small batch into a big heap is bubbled up, a big batch into a small heap triggers a rebuild
+        for (int existing : new int[] {0, 3, 1000}) {
+            for (int batch : new int[] {0, 1, 5, 2000}) {
+
+                Random random = new Random(existing * 31 + batch);
+                List<Integer> source = new ArrayList<>();
+                heap = BinaryTreeArray.emptyHeap();
+                for (int i = 0 ; i < existing ; i++) {
+                    source.add(random.nextInt(100));
+                    heap.push(source.get(i));
+                }
+                List<Integer> values = new ArrayList<>();
+                for (int i = 0 ; i < batch ; i++) {
+                    values.add(random.nextInt(100));
+                }
+                heap.pushAll(values);
+                source.addAll(values);
+
+                // confirm we're popping in order
+                Collections.sort(source);
+                Collections.reverse(source);
+                List<Integer> popped = new ArrayList<>();
+                Assert.assertEquals(source.size(), heap.popN(Integer.MAX_VALUE, popped::add));
+                Assert.assertEquals(source, popped);
+            }
+        }
+    }
+
+    @Test
+    public void testPopN() {
+
+        // pop a few
+        List<Integer> popped = new ArrayList<>();
+        Assert.assertEquals(3, heap.popN(3, popped::add));
+        Assert.assertEquals(Arrays.asList(20, 18, 16), popped);
+        Assert.assertEquals(SOURCE.size() - 3, heap.size());
+
+        // ask for more than remain
+        popped.clear();
+        Assert.assertEquals(SOURCE.size() - 3, heap.popN(100, popped::add));
+        Assert.assertEquals(Arrays.asList(14, 12, 10, 8, 6, 4, 2), popped);
+        Assert.assertTrue(heap.isEmpty());
+    }
+
+    @Test
+    public void testReplaceTop() {
+
+        // returns the old top, even when the replacement is larger
+        Assert.assertEquals(Integer.valueOf(20), heap.replaceTop(30));
+        Assert.assertEquals(Integer.valueOf(30), heap.replaceTop(1));
+        Assert.assertEquals(Integer.valueOf(18), heap.pop());
+        Assert.assertEquals(SOURCE.size() - 1, heap.size());
+
+        heap = BinaryTreeArray.emptyHeap();
+        Assert.assertTrue(Exceptions.isIllegalState(() -> heap.replaceTop(1)));
+    }
+
+    @Test
+    public void testPushPop() {
+
+        // larger than the top comes straight back
+        Assert.assertEquals(Integer.valueOf(25), heap.pushPop(25));
+        Assert.assertEquals(Integer.valueOf(20), heap.pushPop(20));
+
+        // smaller than the top stays in
+        Assert.assertEquals(Integer.valueOf(20), heap.pushPop(15));
+        Assert.assertEquals(Integer.valueOf(18), heap.pop());
+        Assert.assertEquals(Integer.valueOf(16), heap.pop());
+        Assert.assertEquals(Integer.valueOf(15), heap.pop());
+
+        heap = BinaryTreeArray.emptyHeap();
+        Assert.assertEquals(Integer.valueOf(5), heap.pushPop(5));
+        Assert.assertTrue(heap.isEmpty());
+    }
+
+    @Test
+    public void testParallelBuild() {
+
+        // sizes around the subtree cut-off, with duplicates - every parent must be at least as large as its children
+        Random random = new Random(16);
+        for (int size : new int[] {0, 1, 2, 16383, 16384, 50000, BinaryTreeArray.PARALLEL_THRESHOLD + 1}) {
+            List<Integer> source = new ArrayList<>();
+            for (int i = 0 ; i < size ; i++) {
+                source.add(random.nextInt(1000));
+            }
+            BinaryTreeArray.buildMaxHeapInParallel(source, size);
+            for (int i = 1 ; i < size ; i++) {
+                Assert.assertTrue(source.get((i - 1) / 2) >= source.get(i));
+            }
+        }
+
+        // heapOf takes the parallel path itself past the threshold, on a machine with more than one core
+        List<Integer> source = new ArrayList<>();
+        for (int i = 0 ; i < BinaryTreeArray.PARALLEL_THRESHOLD ; i++) {
+            source.add(random.nextInt());
+        }
+        heap = BinaryTreeArray.heapOf(source);
+        Collections.sort(source);
+        Collections.reverse(source);
+        for (Integer i : source.subList(0, 1000)) {
+            Assert.assertEquals(i, heap.pop());
+        }
+    }
 }
@@ -186,7 +186,7 @@ public class BinaryTreeArrayTest {
     @Test
     public void testGetLeftestLeaf() {
 
-        // TODO - cannot perform proper test until I implement a sparse tree
+        // an array tree is never sparse - see LinkedBinaryTreeTest for leaves reached through right children
 
         Assert.assertEquals(leftLeftKey, tree.getLeftestLeaf(rootKey).get());
         Assert.assertEquals(leftLeftKey, tree.getLeftestLeaf(leftKey).get());
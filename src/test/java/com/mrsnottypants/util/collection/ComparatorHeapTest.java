@@ -0,0 +1,102 @@
+package com.mrsnottypants.util.collection;
+
+import com.mrsnottypants.test.Exceptions;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Created by Eric on 10/17/2026.
+ */
+public class ComparatorHeapTest {
+
+    // not Comparable - ordered by a field
+    private static final class Job {
+        private final String name;
+        private final int cost;
+
+        Job(String name, int cost) {
+            this.name = name;
+            this.cost = cost;
+        }
+    }
+
+    private static final Comparator<Job> BY_COST = Comparator.comparingInt(job -> job.cost);
+
+    private final List<Job> SOURCE = Arrays.asList(new Job("b", 18), new Job("a", 10), new Job("c", 20),
+            new Job("d", 8), new Job("e", 2));
+
+    @Test
+    public void testMaxAndMin() {
+
+        // max heap pops the costliest first
+        ComparatorHeap<Job> max = ComparatorHeap.heapOf(SOURCE, BY_COST);
+        Assert.assertFalse(max.isMinHeap());
+        Assert.assertSame(BY_COST, max.comparator());
+        StringBuilder order = new StringBuilder();
+        max.popN(SOURCE.size(), job -> order.append(job.name));
+        Assert.assertEquals("cbade", order.toString());
+        Assert.assertTrue(Exceptions.isIllegalState(max::pop));
+
+        // min heap pops the cheapest first
+        ComparatorHeap<Job> min = ComparatorHeap.minHeapOf(SOURCE, BY_COST);
+        Assert.assertTrue(min.isMinHeap());
+        order.setLength(0);
+        min.popN(SOURCE.size(), job -> order.append(job.name));
+        Assert.assertEquals("edabc", order.toString());
+
+        Assert.assertTrue(Exceptions.isExpected(() -> ComparatorHeap.emptyHeap(null), IllegalArgumentException.class));
+    }
+
+    @Test
+    public void testBulk() {
+
+        ComparatorHeap<Integer> min = ComparatorHeap.emptyMinHeap();
+        min.push(5);
+        min.pushAll(Arrays.asList(9, 1, 7, 3, 8, 2, 6, 4, 0));
+
+        // smaller than the top comes straight back, larger takes its place
+        Assert.assertEquals(Integer.valueOf(-1), min.pushPop(-1));
+        Assert.assertEquals(Integer.valueOf(0), min.pushPop(10));
+        Assert.assertEquals(Integer.valueOf(1), min.replaceTop(11));
+        for (int i = 2 ; i <= 11 ; i++) {
+            Assert.assertEquals(Integer.valueOf(i), min.pop());
+        }
+        Assert.assertTrue(min.isEmpty());
+        Assert.assertTrue(Exceptions.isIllegalState(() -> min.replaceTop(1)));
+    }
+
+    @Test
+    public void testRandom() {
+
+        // lots of values, pushed one at a time and in bulk, against a sorted list
+        Random random = new Random(23);
+        for (boolean isMin : new boolean[] {false, true}) {
+            Comparator<Integer> order = Comparator.naturalOrder();
+            ComparatorHeap<Integer> heap = isMin ? ComparatorHeap.emptyMinHeap(order) : ComparatorHeap.emptyHeap(order);
+            List<Integer> expected = new ArrayList<>();
+            for (int i = 0 ; i < 3000 ; i++) {
+                int value = random.nextInt(1000);
+                heap.push(value);
+                expected.add(value);
+            }
+            List<Integer> batch = new ArrayList<>();
+            for (int i = 0 ; i < 5000 ; i++) {
+                batch.add(random.nextInt(1000));
+            }
+            heap.pushAll(batch);
+            expected.addAll(batch);
+
+            expected.sort(isMin ? order : order.reversed());
+            for (Integer i : expected) {
+                Assert.assertEquals(i, heap.pop());
+            }
+            Assert.assertTrue(heap.isEmpty());
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.mrsnottypants.util.collection;
+
+import com.mrsnottypants.test.Exceptions;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Created by Eric on 10/17/2026.
+ */
+public class DaryHeapTest {
+
+    private final List<Integer> SOURCE = Arrays.asList(10, 18, 20, 8, 2, 16, 14, 12, 4, 6);
+
+    @Test
+    public void testPop() {
+        for (int arity : new int[] {2, 4, 8}) {
+
+            Heap<Integer> heap = DaryHeap.heapOf(SOURCE, arity);
+            Assert.assertEquals(SOURCE.size(), heap.size());
+
+            // confirm we're popping in order
+            for (Integer i : descending(SOURCE)) {
+                Assert.assertEquals(i, heap.peek());
+                Assert.assertEquals(i, heap.pop());
+            }
+
+            // confirm heap is empty
+            Assert.assertTrue(Exceptions.isIllegalState(heap::pop));
+        }
+    }
+
+    @Test
+    public void testPushAndPop() {
+        for (int arity : new int[] {2, 4, 8}) {
+
+            // push lots of values, with duplicates, and mix in some bulk operations
+            Random random = new Random(arity);
+            Heap<Integer> heap = DaryHeap.emptyHeap(arity);
+            List<Integer> expected = new ArrayList<>();
+            for (int i = 0 ; i < 3000 ; i++) {
+                int value = random.nextInt(1000);
+                heap.push(value);
+                expected.add(value);
+            }
+            Assert.assertEquals(Integer.valueOf(1000), heap.pushPop(1000));
+            expected.add(-1);
+            expected.remove(heap.replaceTop(-1));
+
+            // confirm we're popping in order
+            for (Integer i : descending(expected)) {
+                Assert.assertEquals(i, heap.pop());
+            }
+            Assert.assertTrue(heap.isEmpty());
+        }
+    }
+
+    @Test
+    public void testArity() {
+        Assert.assertEquals(8, DaryHeap.emptyHeap(8).getArity());
+        Assert.assertTrue(Exceptions.isExpected(() -> DaryHeap.emptyHeap(3), IllegalArgumentException.class));
+        Assert.assertTrue(Exceptions.isExpected(() -> DaryHeap.emptyHeap(16), IllegalArgumentException.class));
+    }
+
+    private static List<Integer> descending(final List<Integer> source) {
+        List<Integer> sorted = new ArrayList<>(source);
+        Collections.sort(sorted);
+        Collections.reverse(sorted);
+        return sorted;
+    }
+}
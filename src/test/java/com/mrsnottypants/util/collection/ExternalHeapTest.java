@@ -0,0 +1,195 @@
+package com.mrsnottypants.util.collection;
+
+import com.mrsnottypants.test.Exceptions;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Created by Eric on 10/17/2026.
+ */
+public class ExternalHeapTest {
+
+    private static final RecordSerializer<Integer> INTEGERS = new RecordSerializer<Integer>() {
+        @Override
+        public void write(Integer value, DataOutput out) throws IOException { out.writeInt(value); }
+
+        @Override
+        public Integer read(DataInput in) throws IOException { return in.readInt(); }
+    };
+
+    private Path directory;
+
+    @Before
+    public void before() throws IOException {
+        directory = Files.createTempDirectory("external-heap-test");
+    }
+
+    @After
+    public void after() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            files.forEach(path -> path.toFile().delete());
+        }
+        Files.delete(directory);
+    }
+
+    @Test
+    public void testPushThenPop() throws IOException {
+
+        // ten times more values than fit in memory
+        ExternalHeap<Integer> heap = ExternalHeap.emptyHeap(100, INTEGERS, directory);
+        PriorityQueue<Integer> expected = new PriorityQueue<>(Collections.reverseOrder());
+        Random random = new Random(5);
+        for (int i = 0 ; i < 1000 ; i++) {
+            int value = random.nextInt(500);
+            heap.push(value);
+            expected.add(value);
+        }
+        Assert.assertTrue(heap.getRunCount() > 0);
+        Assert.assertEquals(expected.size(), heap.size());
+
+        // confirm we're popping in order
+        while (!expected.isEmpty()) {
+            Assert.assertEquals(expected.peek(), heap.peek());
+            Assert.assertEquals(expected.poll(), heap.pop());
+        }
+        Assert.assertTrue(heap.isEmpty());
+        Assert.assertTrue(Exceptions.isIllegalState(heap::pop));
+
+        // runs delete their files once used up
+        Assert.assertEquals(0, heap.getRunCount());
+        Assert.assertEquals(0, countFiles());
+    }
+
+    @Test
+    public void testInterleavedWithMerges() throws IOException {
+
+        // few runs allowed, so they get merged
+        ExternalHeap<Integer> heap = new ExternalHeap<>(10, INTEGERS, directory, 3);
+        PriorityQueue<Integer> expected = new PriorityQueue<>(Collections.reverseOrder());
+        Random random = new Random(9);
+        for (int i = 0 ; i < 5000 ; i++) {
+            if (!expected.isEmpty() && (random.nextInt(3) == 0)) {
+                Assert.assertEquals(expected.poll(), heap.pop());
+            }
+            else {
+                int value = random.nextInt(10000);
+                heap.push(value);
+                expected.add(value);
+            }
+            Assert.assertTrue(heap.getRunCount() <= 3);
+        }
+        Assert.assertEquals(expected.size(), heap.size());
+
+        // close deletes what's left
+        heap.close();
+        Assert.assertTrue(heap.isEmpty());
+        Assert.assertEquals(0, countFiles());
+    }
+
+    @Test
+    public void testFailedMerge() throws IOException {
+
+        // writes start failing part way through the first merge
+        AtomicInteger writesLeft = new AtomicInteger(Integer.MAX_VALUE);
+        RecordSerializer<Integer> failing = new RecordSerializer<Integer>() {
+            @Override
+            public void write(Integer value, DataOutput out) throws IOException {
+                if (writesLeft.decrementAndGet() < 0) { throw new IOException("disk full"); }
+                out.writeInt(value);
+            }
+
+            @Override
+            public Integer read(DataInput in) throws IOException { return in.readInt(); }
+        };
+        ExternalHeap<Integer> heap = new ExternalHeap<>(10, failing, directory, 3);
+        PriorityQueue<Integer> expected = new PriorityQueue<>(Collections.reverseOrder());
+        for (int i = 0 ; i < 25 ; i++) {
+            heap.push(i * 7 % 25);
+            expected.add(i * 7 % 25);
+        }
+        Assert.assertEquals(3, heap.getRunCount());
+
+        // the next push spills a fourth run, whose merge then fails - no value is lost, and no partial file is left
+        writesLeft.set(8);
+        Assert.assertTrue(Exceptions.isExpected(() -> heap.push(99), UncheckedIOException.class));
+        Assert.assertEquals(expected.size(), heap.size());
+        Assert.assertEquals(4, heap.getRunCount());
+        Assert.assertEquals(4, countFiles());
+
+        // a spill that fails keeps its values in memory
+        for (int i = 0 ; i < 5 ; i++) {
+            heap.push(i);
+            expected.add(i);
+        }
+        writesLeft.set(2);
+        Assert.assertTrue(Exceptions.isExpected(() -> heap.push(99), UncheckedIOException.class));
+        Assert.assertEquals(expected.size(), heap.size());
+        Assert.assertEquals(4, countFiles());
+
+        writesLeft.set(Integer.MAX_VALUE);
+        while (!expected.isEmpty()) {
+            Assert.assertEquals(expected.poll(), heap.pop());
+        }
+        Assert.assertEquals(0, countFiles());
+    }
+
+    @Test
+    public void testFailedRead() throws IOException {
+
+        // reads start failing once the values are on disk
+        AtomicInteger readsLeft = new AtomicInteger(Integer.MAX_VALUE);
+        RecordSerializer<Integer> failing = new RecordSerializer<Integer>() {
+            @Override
+            public void write(Integer value, DataOutput out) throws IOException { out.writeInt(value); }
+
+            @Override
+            public Integer read(DataInput in) throws IOException {
+                if (readsLeft.decrementAndGet() < 0) { throw new IOException("bad sector"); }
+                return in.readInt();
+            }
+        };
+        ExternalHeap<Integer> heap = new ExternalHeap<>(10, failing, directory, 3);
+        for (int i = 0 ; i < 25 ; i++) {
+            heap.push(i * 7 % 25);
+        }
+
+        // a pop whose read fails leaves the size, and the top, as they were
+        readsLeft.set(0);
+        boolean failed = false;
+        while (!failed && !heap.isEmpty()) {
+            int size = heap.size();
+            Integer top = heap.peek();
+            try {
+                Assert.assertEquals(top, heap.pop());
+            }
+            catch (UncheckedIOException e) {
+                failed = true;
+                Assert.assertEquals(size, heap.size());
+                Assert.assertEquals(top, heap.peek());
+            }
+        }
+        Assert.assertTrue(failed);
+        heap.close();
+        Assert.assertEquals(0, countFiles());
+    }
+
+    private long countFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+}
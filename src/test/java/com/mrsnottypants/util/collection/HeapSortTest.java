@@ -0,0 +1,94 @@
+package com.mrsnottypants.util.collection;
+
+import com.mrsnottypants.test.Exceptions;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Created by Eric on 10/17/2026.
+ */
+public class HeapSortTest {
+
+    @Test
+    public void testSort() {
+        Random random = new Random(21);
+        for (int size = 0 ; size < 100 ; size++) {
+            List<Integer> list = randomList(random, size);
+            List<Integer> expected = new ArrayList<>(list);
+            Collections.sort(expected);
+
+            HeapSort.sort(list);
+            Assert.assertEquals(expected, list);
+        }
+    }
+
+    @Test
+    public void testSortArray() {
+        String[] array = {"d", "a", "c", "e", "b", "a"};
+        HeapSort.sort(array);
+        Assert.assertArrayEquals(new String[] {"a", "a", "b", "c", "d", "e"}, array);
+    }
+
+    @Test
+    public void testPartialSort() {
+        Random random = new Random(22);
+        for (int size = 0 ; size < 40 ; size++) {
+            for (int k = 0 ; k <= size ; k++) {
+                List<Integer> list = randomList(random, size);
+                List<Integer> expected = new ArrayList<>(list);
+                Collections.sort(expected);
+
+                // the k largest, in order, at the end - and the rest are still all there
+                HeapSort.partialSort(list, k);
+                Assert.assertEquals(expected.subList(size - k, size), list.subList(size - k, size));
+                List<Integer> rest = new ArrayList<>(list.subList(0, size - k));
+                Collections.sort(rest);
+                Assert.assertEquals(expected.subList(0, size - k), rest);
+            }
+        }
+
+        Assert.assertTrue(Exceptions.isExpected(() -> HeapSort.partialSort(Arrays.asList(1, 2), 3),
+                IllegalArgumentException.class));
+    }
+
+    @Test
+    public void testNthElement() {
+        Random random = new Random(23);
+        for (int size = 1 ; size < 40 ; size++) {
+            for (int n = 0 ; n < size ; n++) {
+                List<Integer> list = randomList(random, size);
+                List<Integer> expected = new ArrayList<>(list);
+                Collections.sort(expected);
+
+                // right value at n, nothing larger before, nothing smaller after
+                Integer nth = HeapSort.nthElement(list, n);
+                Assert.assertEquals(expected.get(n), nth);
+                Assert.assertEquals(expected.get(n), list.get(n));
+                for (int i = 0 ; i < size ; i++) {
+                    int comparison = list.get(i).compareTo(nth);
+                    Assert.assertTrue((i < n) ? comparison <= 0 : comparison >= 0);
+                }
+                Collections.sort(list);
+                Assert.assertEquals(expected, list);
+            }
+        }
+
+        Integer[] array = {5, 1, 4, 2, 3};
+        Assert.assertEquals(Integer.valueOf(2), HeapSort.nthElement(array, 1));
+        Assert.assertTrue(Exceptions.isExpected(() -> HeapSort.nthElement(array, 5), IndexOutOfBoundsException.class));
+    }
+
+    private static List<Integer> randomList(final Random random, final int size) {
+        List<Integer> list = new ArrayList<>();
+        for (int i = 0 ; i < size ; i++) {
+            list.add(random.nextInt(size + 1));
+        }
+        return list;
+    }
+}
@@ -0,0 +1,174 @@
+package com.mrsnottypants.util.collection;
+
+import com.mrsnottypants.test.Exceptions;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Created by Eric on 10/17/2026.
+ */
+public class IndexedHeapTest {
+
+    private final List<Integer> SOURCE = Arrays.asList(10, 18, 20, 8, 2, 16, 14, 12, 4, 6);
+
+    private IndexedHeap<Integer> heap;
+    private Map<Integer, NodeKey> keys;
+
+    @Before
+    public void before() {
+        heap = IndexedHeap.emptyHeap();
+        keys = new HashMap<>();
+        for (Integer i : SOURCE) {
+            keys.put(i, heap.add(i));
+        }
+    }
+
+    @Test
+    public void testKeysSurviveSifts() {
+
+        // every value has moved around while the others were added - keys still find them
+        for (Integer i : SOURCE) {
+            Assert.assertTrue(heap.contains(keys.get(i)));
+            Assert.assertEquals(i, heap.get(keys.get(i)));
+        }
+        Assert.assertEquals(keys.get(20), heap.getRoot().get());
+    }
+
+    @Test
+    public void testUpdate() {
+
+        // move a small value to the top, and the top to the bottom
+        heap.update(keys.get(2), 30);
+        heap.update(keys.get(20), 1);
+        Assert.assertEquals(Integer.valueOf(30), heap.peek());
+        Assert.assertEquals(Integer.valueOf(1), heap.get(keys.get(20)));
+
+        List<Integer> expected = Arrays.asList(30, 18, 16, 14, 12, 10, 8, 6, 4, 1);
+        for (Integer i : expected) {
+            Assert.assertEquals(i, heap.pop());
+        }
+    }
+
+    @Test
+    public void testRemove() {
+
+        Assert.assertEquals(Integer.valueOf(16), heap.remove(keys.get(16)));
+        Assert.assertEquals(Integer.valueOf(20), heap.remove(keys.get(20)));
+        Assert.assertEquals(Integer.valueOf(2), heap.remove(keys.get(2)));
+        Assert.assertEquals(SOURCE.size() - 3, heap.size());
+
+        // removed keys are no longer valid
+        Assert.assertFalse(heap.contains(keys.get(16)));
+        Assert.assertTrue(Exceptions.isExpected(() -> heap.get(keys.get(16)), IllegalArgumentException.class));
+        Assert.assertTrue(Exceptions.isExpected(() -> heap.remove(keys.get(20)), IllegalArgumentException.class));
+
+        List<Integer> expected = Arrays.asList(18, 14, 12, 10, 8, 6, 4);
+        for (Integer i : expected) {
+            Assert.assertEquals(i, heap.pop());
+        }
+        Assert.assertTrue(Exceptions.isIllegalState(heap::pop));
+    }
+
+    @Test
+    public void testForeignKey() {
+        IndexedHeap<Integer> other = IndexedHeap.emptyHeap();
+        NodeKey key = other.add(5);
+        Assert.assertFalse(heap.contains(key));
+        Assert.assertTrue(Exceptions.isExpected(() -> heap.update(key, 3), IllegalArgumentException.class));
+    }
+
+    @Test
+    public void testMinHeap() {
+
+        // pops smallest first, and keys still work
+        IndexedHeap<Integer> min = IndexedHeap.emptyMinHeap();
+        NodeKey ten = min.add(10);
+        min.pushAll(Arrays.asList(18, 20, 8, 2, 16));
+        Assert.assertEquals(Integer.valueOf(2), min.peek());
+        min.update(ten, 1);
+        Assert.assertEquals(ten, min.getRoot().get());
+        min.update(ten, 19);
+        Assert.assertEquals(Integer.valueOf(2), min.pop());
+        Assert.assertEquals(Integer.valueOf(8), min.pop());
+        Assert.assertEquals(Integer.valueOf(19), min.remove(ten));
+        Assert.assertEquals(Integer.valueOf(16), min.pop());
+        Assert.assertEquals(Integer.valueOf(18), min.pop());
+        Assert.assertEquals(Integer.valueOf(20), min.pop());
+        Assert.assertTrue(min.isEmpty());
+    }
+
+    @Test
+    public void testRefresh() {
+
+        // values that change in place are moved back into order
+        IndexedHeap<MutableInt> mutables = IndexedHeap.emptyHeap();
+        MutableInt one = new MutableInt(1);
+        MutableInt two = new MutableInt(2);
+        NodeKey oneKey = mutables.add(one);
+        NodeKey twoKey = mutables.add(two);
+        mutables.add(new MutableInt(3));
+        one.value = 10;
+        mutables.refresh(oneKey);
+        Assert.assertSame(one, mutables.peek());
+        one.value = 0;
+        two.value = 20;
+        mutables.refresh(oneKey);
+        mutables.refresh(twoKey);
+        Assert.assertSame(two, mutables.pop());
+        Assert.assertEquals(3, mutables.pop().value);
+        Assert.assertSame(one, mutables.pop());
+    }
+
+    private static class MutableInt implements Comparable<MutableInt> {
+        private int value;
+
+        MutableInt(int value) { this.value = value; }
+
+        @Override
+        public int compareTo(MutableInt other) { return Integer.compare(value, other.value); }
+    }
+
+    @Test
+    public void testRandom() {
+
+        // random mix of adds, updates and removes, checked against a sorted list
+        Random random = new Random(11);
+        heap = IndexedHeap.emptyHeap();
+        List<NodeKey> live = new ArrayList<>();
+        for (int i = 0 ; i < 5000 ; i++) {
+            int action = random.nextInt(4);
+            if ((action == 0) || live.isEmpty()) {
+                live.add(heap.add(random.nextInt(1000)));
+            }
+            else if (action == 1) {
+                heap.update(live.get(random.nextInt(live.size())), random.nextInt(1000));
+            }
+            else if (action == 2) {
+                heap.remove(live.remove(random.nextInt(live.size())));
+            }
+            else {
+                live.add(heap.add(random.nextInt(1000)));
+            }
+        }
+
+        List<Integer> expected = new ArrayList<>();
+        for (NodeKey key : live) {
+            expected.add(heap.get(key));
+        }
+        Collections.sort(expected);
+        Collections.reverse(expected);
+        for (Integer i : expected) {
+            Assert.assertEquals(i, heap.pop());
+        }
+        Assert.assertTrue(heap.isEmpty());
+    }
+}
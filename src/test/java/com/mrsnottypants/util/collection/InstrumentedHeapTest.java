@@ -0,0 +1,118 @@
+package com.mrsnottypants.util.collection;
+
+import com.mrsnottypants.test.Exceptions;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Created by Eric on 10/17/2026.
+ */
+public class InstrumentedHeapTest {
+
+    @Test
+    public void testHeap() {
+
+        HeapMetrics metrics = new HeapMetrics();
+        Heap<Integer> heap = InstrumentedHeap.wrap(BinaryTreeArray.<Integer>emptyHeap(), metrics);
+        for (int i = 0 ; i < 100 ; i++) {
+            heap.push(i);
+        }
+        heap.pushAll(Arrays.asList(200, 300));
+        for (int i = 0 ; i < 50 ; i++) {
+            heap.pop();
+        }
+        List<Integer> popped = new ArrayList<>();
+        Assert.assertEquals(10, heap.popN(10, popped::add));
+        Assert.assertEquals(Integer.valueOf(42), popped.get(9));
+
+        // the decorator counts operations, sizes and latencies
+        HeapMetrics.Snapshot snapshot = metrics.snapshot();
+        Assert.assertEquals(102, snapshot.getPushes());
+        Assert.assertEquals(60, snapshot.getPops());
+        Assert.assertEquals(152, snapshot.getSizes().getCount());
+        Assert.assertEquals(102, snapshot.getPushNanos().getCount());
+        Assert.assertEquals(60, snapshot.getPopNanos().getCount());
+        Assert.assertTrue(snapshot.getSizes().getQuantileBound(1.0) >= 102);
+
+        // with probes on, sifts report comparisons and lengths - and nothing at all with them off
+        if (HeapProbes.ENABLED) {
+            Assert.assertTrue(snapshot.getCompares() >= 60);
+            Assert.assertTrue(snapshot.getSiftLengths().getCount() >= 160);
+            Assert.assertTrue(snapshot.getSiftLengths().getSum() > 0);
+        }
+        else {
+            Assert.assertEquals(0, snapshot.getCompares());
+            Assert.assertEquals(0, snapshot.getSiftLengths().getCount());
+        }
+
+        // unwrapped heaps record nothing
+        metrics.reset();
+        Heap<Integer> plain = BinaryTreeArray.emptyHeap();
+        plain.push(1);
+        plain.pop();
+        Assert.assertEquals(0, metrics.snapshot().getCompares());
+        Assert.assertEquals(0, metrics.snapshot().getPushes());
+
+        Assert.assertTrue(Exceptions.isExpected(() -> InstrumentedHeap.wrap(null, metrics),
+                IllegalArgumentException.class));
+    }
+
+    @Test
+    public void testTree() {
+
+        HeapMetrics metrics = new HeapMetrics();
+        BinaryTree<Character> tree = InstrumentedBinaryTree.wrap(
+                BinaryTreeArray.treeOf(Arrays.asList('a', 'b', 'c', 'd', 'e')), metrics);
+
+        // a traversal navigates through the decorator
+        Iterator<Character> iterator = tree.traverse(BinaryTreeTraversal.PRE_ORDER);
+        StringBuilder visited = new StringBuilder();
+        iterator.forEachRemaining(visited::append);
+        Assert.assertEquals("abdec", visited.toString());
+        Assert.assertTrue(metrics.snapshot().getNavigations() > 0);
+
+        NodeKey root = tree.getRoot().get();
+        tree.swap(root, tree.getLeft(root).get());
+        tree.add('f');
+        Assert.assertEquals(1, metrics.snapshot().getSwaps());
+        Assert.assertEquals(1, metrics.snapshot().getPushes());
+        Assert.assertEquals(Character.valueOf('b'), tree.get(root));
+    }
+
+    @Test
+    public void testHistogram() {
+
+        Histogram histogram = new Histogram();
+        for (long value = 0 ; value < 1000 ; value++) {
+            histogram.record(value);
+        }
+        histogram.record(-5);
+
+        Histogram.Snapshot snapshot = histogram.snapshot();
+        Assert.assertEquals(1001, snapshot.getCount());
+        Assert.assertEquals(499500, snapshot.getSum());
+        Assert.assertEquals(2, snapshot.getBucketCount(0));
+        Assert.assertEquals(1, snapshot.getBucketCount(1));
+        Assert.assertEquals(488, snapshot.getBucketCount(10));
+        Assert.assertEquals(511, snapshot.getQuantileBound(0.5));
+        Assert.assertEquals(1023, snapshot.getQuantileBound(0.99));
+        Assert.assertEquals(0, snapshot.getQuantileBound(0.0));
+        Assert.assertTrue(Exceptions.isExpected(() -> snapshot.getQuantileBound(2.0), IllegalArgumentException.class));
+
+        histogram.reset();
+        Assert.assertEquals(0, histogram.snapshot().getCount());
+        Assert.assertEquals(0, histogram.snapshot().getQuantileBound(0.5));
+
+        // a value recorded several times over, in one update
+        histogram.record(100, 5);
+        Assert.assertEquals(5, histogram.snapshot().getCount());
+        Assert.assertEquals(500, histogram.snapshot().getSum());
+        Assert.assertEquals(5, histogram.snapshot().getBucketCount(7));
+        Assert.assertTrue(Exceptions.isExpected(() -> histogram.record(1, -1), IllegalArgumentException.class));
+    }
+}
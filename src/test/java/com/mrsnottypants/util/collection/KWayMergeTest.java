@@ -0,0 +1,107 @@
+package com.mrsnottypants.util.collection;
+
+import com.mrsnottypants.test.Exceptions;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+/**
+ * Created by Eric on 10/17/2026.
+ */
+public class KWayMergeTest {
+
+    @Test
+    public void testMergeIterators() {
+
+        // every source count from none to more than a batch, with duplicates and empty sources mixed in
+        Random random = new Random(13);
+        for (int k = 0 ; k < 70 ; k++) {
+            List<Integer> expected = new ArrayList<>();
+            List<Iterator<Integer>> sources = new ArrayList<>();
+            for (int i = 0 ; i < k ; i++) {
+                List<Integer> source = new ArrayList<>();
+                for (int j = random.nextInt(40) ; j > 0 ; j--) {
+                    source.add(random.nextInt(100));
+                }
+                Collections.sort(source);
+                expected.addAll(source);
+                sources.add(source.iterator());
+            }
+            Collections.sort(expected);
+
+            List<Integer> merged = new ArrayList<>();
+            KWayMerge.merge(sources, Comparator.naturalOrder(), 3).forEachRemaining(merged::add);
+            Assert.assertEquals(expected, merged);
+        }
+    }
+
+    @Test
+    public void testStable() {
+
+        // equal keys come out in source order
+        List<Iterator<String>> sources = Arrays.asList(
+                Arrays.asList("a1", "b1").iterator(),
+                Arrays.asList("a2", "b2", "c2").iterator(),
+                Arrays.asList("b3").iterator());
+        KWayMerge<String> merge = KWayMerge.merge(sources, Comparator.comparing(s -> s.charAt(0)));
+
+        List<String> merged = new ArrayList<>();
+        merge.forEachRemaining(merged::add);
+        Assert.assertEquals(Arrays.asList("a1", "a2", "b1", "b2", "b3", "c2"), merged);
+        Assert.assertFalse(merge.hasNext());
+        Assert.assertTrue(Exceptions.isExpected(merge::next, NoSuchElementException.class));
+    }
+
+    @Test
+    public void testMergeFiles() throws IOException {
+
+        RecordSerializer<Long> longs = new RecordSerializer<Long>() {
+            @Override
+            public void write(Long value, DataOutput out) throws IOException { out.writeLong(value); }
+
+            @Override
+            public Long read(DataInput in) throws IOException { return in.readLong(); }
+        };
+
+        // descending files
+        Path directory = Files.createTempDirectory("kway-merge-test");
+        List<Path> files = new ArrayList<>();
+        List<Long> expected = new ArrayList<>();
+        for (int i = 0 ; i < 5 ; i++) {
+            List<Long> values = new ArrayList<>();
+            for (long j = 0 ; j < 100 * i ; j++) {
+                values.add(j * 5 + i);
+            }
+            Collections.reverse(values);
+            expected.addAll(values);
+            Path file = directory.resolve("run" + i);
+            RunFile.write(file, values, longs);
+            files.add(file);
+        }
+        expected.sort(Comparator.reverseOrder());
+
+        List<Long> merged = new ArrayList<>();
+        try (KWayMerge<Long> merge = KWayMerge.mergeFiles(files, longs, Comparator.reverseOrder())) {
+            merge.forEachRemaining(merged::add);
+        }
+        Assert.assertEquals(expected, merged);
+
+        for (Path file : files) {
+            Files.delete(file);
+        }
+        Files.delete(directory);
+    }
+}
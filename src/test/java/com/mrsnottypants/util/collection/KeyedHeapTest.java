@@ -0,0 +1,71 @@
+package com.mrsnottypants.util.collection;
+
+import com.mrsnottypants.test.Exceptions;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Created by Eric on 10/17/2026.
+ */
+public class KeyedHeapTest {
+
+    private final List<String> SOURCE = Arrays.asList("ten", "eighteen", "twenty", "eight", "two", "sixteen");
+
+    @Test
+    public void testLongKeyedHeap() {
+
+        // keyed on length, so the key extractor is called exactly once per value
+        AtomicInteger calls = new AtomicInteger();
+        LongKeyedHeap<String> heap = LongKeyedHeap.heapOf(SOURCE, s -> {
+            calls.incrementAndGet();
+            return s.length();
+        });
+        heap.push("seventeen");
+        heap.push("zero", 100);
+        Assert.assertEquals(SOURCE.size() + 1, calls.get());
+
+        Assert.assertEquals("zero", heap.peek());
+        Assert.assertEquals(100L, heap.peekKey());
+        Assert.assertEquals("zero", heap.pop());
+        Assert.assertEquals("seventeen", heap.pop());
+        Assert.assertEquals("eighteen", heap.pop());
+        Assert.assertEquals(7L, heap.peekKey());
+        Assert.assertEquals("sixteen", heap.replaceTop("a"));
+        Assert.assertEquals(6L, heap.peekKey());
+        Assert.assertEquals("twenty", heap.pop());
+        Assert.assertEquals("eight", heap.pop());
+        Assert.assertEquals(3L, heap.peekKey());
+        heap.popN(3, s -> { });
+        Assert.assertTrue(heap.isEmpty());
+        Assert.assertTrue(Exceptions.isIllegalState(heap::pop));
+        Assert.assertTrue(Exceptions.isIllegalState(heap::peekKey));
+        Assert.assertTrue(Exceptions.isExpected(() -> LongKeyedHeap.emptyHeap(null), IllegalArgumentException.class));
+    }
+
+    @Test
+    public void testDoubleKeyedHeap() {
+
+        // push lots of values, growing from empty, and confirm they pop by key
+        Random random = new Random(19);
+        DoubleKeyedHeap<double[]> heap = DoubleKeyedHeap.emptyHeap(v -> v[0]);
+        List<double[]> expected = new ArrayList<>();
+        for (int i = 0 ; i < 2000 ; i++) {
+            double[] value = {random.nextGaussian()};
+            heap.push(value);
+            expected.add(value);
+        }
+        expected.sort(Comparator.comparingDouble((double[] v) -> v[0]).reversed());
+        for (double[] value : expected) {
+            Assert.assertEquals(value[0], heap.peekKey(), 0.0);
+            Assert.assertEquals(value[0], heap.pop()[0], 0.0);
+        }
+        Assert.assertTrue(heap.isEmpty());
+    }
+}
@@ -0,0 +1,83 @@
+package com.mrsnottypants.util.collection;
+
+import com.mrsnottypants.test.Exceptions;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Created by Eric on 10/17/2026.
+ */
+public class LazyHeapTest {
+
+    private final List<Integer> SOURCE = Arrays.asList(10, 18, 20, 8, 2, 16, 14, 12, 4, 6);
+
+    @Test
+    public void testPop() {
+
+        Heap<Integer> heap = BinaryTreeArray.lazyHeapOf(SOURCE);
+        Assert.assertEquals(SOURCE.size(), heap.size());
+        for (int i = 20 ; i > 0 ; i -= 2) {
+            Assert.assertEquals(Integer.valueOf(i), heap.peek());
+            Assert.assertEquals(Integer.valueOf(i), heap.pop());
+        }
+        Assert.assertTrue(Exceptions.isIllegalState(heap::pop));
+        Assert.assertTrue(Exceptions.isIllegalState(heap::peek));
+
+        // pushes after it has emptied
+        heap.push(3);
+        Assert.assertEquals(Integer.valueOf(3), heap.pop());
+    }
+
+    @Test
+    public void testMatchesEager() {
+
+        // big sources, with few and many duplicates, and pushes mixed in with the pops - popping past the pivot
+        Random random = new Random(21);
+        for (int bound : new int[] {3, 1000, Integer.MAX_VALUE}) {
+            List<Integer> source = new ArrayList<>();
+            for (int i = 0 ; i < 100000 ; i++) {
+                source.add(random.nextInt(bound));
+            }
+            Heap<Integer> eager = BinaryTreeArray.heapOf(source);
+            Heap<Integer> lazy = BinaryTreeArray.lazyHeapOf(source);
+            for (int i = 0 ; i < 8000 ; i++) {
+                if (random.nextInt(4) == 0) {
+                    int value = random.nextInt(bound);
+                    eager.push(value);
+                    lazy.push(value);
+                }
+                Assert.assertEquals(eager.size(), lazy.size());
+                Assert.assertEquals(eager.pop(), lazy.pop());
+            }
+        }
+    }
+
+    @Test
+    public void testDrain() {
+
+        // popping everything still comes out in order, sorted and reverse sorted sources included
+        Random random = new Random(121);
+        List<Integer> source = new ArrayList<>();
+        for (int i = 0 ; i < 5000 ; i++) {
+            source.add(random.nextInt(500));
+        }
+        List<Integer> descending = new ArrayList<>(source);
+        descending.sort(Collections.reverseOrder());
+        List<Integer> ascending = new ArrayList<>(descending);
+        Collections.reverse(ascending);
+
+        for (List<Integer> values : Arrays.asList(source, ascending, descending)) {
+            Heap<Integer> heap = BinaryTreeArray.lazyHeapOf(values);
+            List<Integer> popped = new ArrayList<>();
+            heap.popN(values.size(), popped::add);
+            Assert.assertEquals(descending, popped);
+            Assert.assertTrue(heap.isEmpty());
+        }
+    }
+}
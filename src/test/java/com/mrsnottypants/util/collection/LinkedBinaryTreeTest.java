@@ -0,0 +1,156 @@
+package com.mrsnottypants.util.collection;
+
+import com.mrsnottypants.test.Exceptions;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Created by Eric on 10/17/2026.
+ */
+public class LinkedBinaryTreeTest {
+
+    //    a
+    //     \
+    //      b
+    //     / \
+    //    c   d
+    //   /     \
+    //  e       f
+    private LinkedBinaryTree<Character> tree;
+
+    private NodeKey a;
+    private NodeKey b;
+    private NodeKey c;
+    private NodeKey d;
+    private NodeKey e;
+    private NodeKey f;
+
+    @Before
+    public void before() {
+        tree = LinkedBinaryTree.emptyTree();
+        a = tree.add('a');
+        b = tree.attachRight(a, 'b');
+        c = tree.attachLeft(b, 'c');
+        d = tree.attachRight(b, 'd');
+        e = tree.attachLeft(c, 'e');
+        f = tree.attachRight(d, 'f');
+    }
+
+    /**
+     * Return every value a traversal visits
+     * @param traversal traversal order
+     * @return values, in order
+     */
+    private List<Character> visit(final BinaryTreeTraversal traversal) {
+        List<Character> values = new ArrayList<>();
+        Iterator<Character> iterator = tree.traverse(traversal);
+        iterator.forEachRemaining(values::add);
+        Assert.assertTrue(Exceptions.isIllegalState(iterator::next));
+        return values;
+    }
+
+    @Test
+    public void testNavigation() {
+        Assert.assertEquals(6, tree.size());
+        Assert.assertEquals(a, tree.getRoot().get());
+        Assert.assertFalse(tree.hasParent(a));
+        Assert.assertFalse(tree.hasLeft(a));
+        Assert.assertEquals(b, tree.getRight(a).get());
+        Assert.assertEquals(a, tree.getParent(b).get());
+        Assert.assertTrue(tree.isLeft(b, c));
+        Assert.assertFalse(tree.isLeft(b, d));
+        Assert.assertFalse(tree.getLeft(d).isPresent());
+        Assert.assertEquals(Character.valueOf('f'), tree.get(f));
+
+        // slots are taken
+        Assert.assertTrue(Exceptions.isIllegalState(() -> tree.attachRight(a, 'x')));
+        Assert.assertTrue(Exceptions.isIllegalState(() -> tree.attachLeft(c, 'x')));
+
+        tree.swap(a, f);
+        Assert.assertEquals(Character.valueOf('f'), tree.get(a));
+        Assert.assertEquals(Character.valueOf('a'), tree.get(f));
+    }
+
+    @Test
+    public void testGetLeftestLeaf() {
+
+        // leaves reached through right children, which an array tree cannot have
+        Assert.assertEquals(e, tree.getLeftestLeaf(a).get());
+        Assert.assertEquals(e, tree.getLeftestLeaf(b).get());
+        Assert.assertEquals(f, tree.getLeftestLeaf(d).get());
+        Assert.assertEquals(f, tree.getLeftestLeaf(f).get());
+        Assert.assertEquals(a, tree.getLeftest(a).get());
+    }
+
+    @Test
+    public void testTraversals() {
+        Assert.assertEquals(Arrays.asList('a', 'b', 'c', 'e', 'd', 'f'), visit(BinaryTreeTraversal.PRE_ORDER));
+        Assert.assertEquals(Arrays.asList('a', 'e', 'c', 'b', 'd', 'f'), visit(BinaryTreeTraversal.IN_ORDER));
+        Assert.assertEquals(Arrays.asList('e', 'c', 'f', 'd', 'b', 'a'), visit(BinaryTreeTraversal.POST_ORDER));
+        Assert.assertEquals(Arrays.asList('a', 'b', 'c', 'd', 'e', 'f'), visit(BinaryTreeTraversal.LEVEL_ORDER));
+    }
+
+    @Test
+    public void testDetach() {
+
+        // detached branch becomes its own tree, keeping its keys
+        LinkedBinaryTree<Character> branch = tree.detach(c);
+        Assert.assertEquals(4, tree.size());
+        Assert.assertEquals(2, branch.size());
+        Assert.assertFalse(tree.hasLeft(b));
+        Assert.assertEquals(c, branch.getRoot().get());
+        Assert.assertFalse(branch.hasParent(c));
+        Assert.assertEquals(Character.valueOf('e'), branch.get(e));
+        Assert.assertEquals(Arrays.asList('a', 'b', 'd', 'f'), visit(BinaryTreeTraversal.PRE_ORDER));
+
+        // keys into the branch now belong to it alone
+        Assert.assertTrue(Exceptions.isExpected(() -> tree.attachLeft(e, 'x'), IllegalArgumentException.class));
+        Assert.assertTrue(Exceptions.isExpected(() -> tree.detach(c), IllegalArgumentException.class));
+        Assert.assertTrue(Exceptions.isExpected(() -> tree.get(e), IllegalArgumentException.class));
+        Assert.assertTrue(Exceptions.isExpected(() -> branch.get(a), IllegalArgumentException.class));
+        Assert.assertEquals(4, tree.size());
+        NodeKey g = branch.attachRight(e, 'g');
+        Assert.assertEquals(3, branch.size());
+        Assert.assertEquals(Character.valueOf('g'), branch.get(g));
+
+        // detaching the root empties the tree
+        LinkedBinaryTree<Character> rest = tree.detach(a);
+        Assert.assertEquals(0, tree.size());
+        Assert.assertFalse(tree.hasRoot());
+        Assert.assertEquals(4, rest.size());
+
+        // add fills level order
+        NodeKey root = tree.add('x');
+        NodeKey left = tree.add('y');
+        NodeKey right = tree.add('z');
+        Assert.assertEquals(left, tree.getLeft(root).get());
+        Assert.assertEquals(right, tree.getRight(root).get());
+        Assert.assertEquals(3, tree.size());
+    }
+
+    @Test
+    public void testCursor() {
+        TreeCursor<Character> cursor = tree.cursor();
+        Assert.assertEquals(Character.valueOf('a'), cursor.value());
+        Assert.assertFalse(cursor.toLeft());
+        Assert.assertTrue(cursor.toRight());
+        Assert.assertTrue(cursor.toLeft());
+        Assert.assertTrue(cursor.toLeft());
+        Assert.assertEquals(Character.valueOf('e'), cursor.value());
+        Assert.assertFalse(cursor.toRight());
+        Assert.assertTrue(cursor.toParent());
+        Assert.assertEquals(Character.valueOf('c'), cursor.value());
+        Assert.assertTrue(cursor.toRoot());
+        Assert.assertFalse(cursor.toParent());
+
+        TreeCursor<Character> empty = LinkedBinaryTree.<Character>emptyTree().cursor();
+        Assert.assertFalse(empty.toRoot());
+        Assert.assertTrue(Exceptions.isIllegalState(empty::value));
+    }
+}
@@ -0,0 +1,133 @@
+package com.mrsnottypants.util.collection;
+
+import com.mrsnottypants.test.Exceptions;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * Created by Eric on 10/17/2026.
+ */
+public class MeldableHeapTest {
+
+    private final List<Integer> SOURCE = Arrays.asList(10, 18, 20, 8, 2, 16, 14, 12, 4, 6);
+
+    @Test
+    public void testPairingHeap() {
+        testHeap(PairingHeap::emptyHeap);
+    }
+
+    @Test
+    public void testLeftistHeap() {
+        testHeap(LeftistHeap::emptyHeap);
+    }
+
+    @Test
+    public void testMeldDifferentKinds() {
+
+        // pops values across from a heap of a different kind
+        MeldableHeap<Integer> heap = PairingHeap.emptyHeap();
+        heap.push(11);
+        Heap<Integer> other = BinaryTreeArray.heapOf(SOURCE);
+        heap.meld(other);
+        Assert.assertTrue(other.isEmpty());
+        Assert.assertEquals(SOURCE.size() + 1, heap.size());
+        Assert.assertEquals(Integer.valueOf(20), heap.pop());
+
+        Assert.assertTrue(Exceptions.isExpected(() -> heap.meld(heap), IllegalArgumentException.class));
+    }
+
+    @Test
+    public void testPersistentLeftistHeap() {
+
+        // build up versions - each keeps its own values
+        PersistentLeftistHeap<Integer> empty = PersistentLeftistHeap.emptyHeap();
+        PersistentLeftistHeap<Integer> heap = empty;
+        List<PersistentLeftistHeap<Integer>> versions = new ArrayList<>();
+        for (Integer i : SOURCE) {
+            heap = heap.push(i);
+            versions.add(heap);
+        }
+        Assert.assertTrue(empty.isEmpty());
+        for (int i = 0 ; i < SOURCE.size() ; i++) {
+            Assert.assertEquals(i + 1, versions.get(i).size());
+            Assert.assertEquals(descending(SOURCE.subList(0, i + 1)), drain(versions.get(i)));
+        }
+
+        // popping leaves the original alone
+        PersistentLeftistHeap<Integer> popped = heap.popped();
+        Assert.assertEquals(Integer.valueOf(20), heap.peek());
+        Assert.assertEquals(Integer.valueOf(18), popped.peek());
+        Assert.assertTrue(Exceptions.isIllegalState(empty::popped));
+        Assert.assertTrue(Exceptions.isIllegalState(empty::peek));
+
+        // meld leaves both originals alone
+        PersistentLeftistHeap<Integer> other = empty.push(19).push(1);
+        PersistentLeftistHeap<Integer> melded = heap.meld(other);
+        List<Integer> expected = new ArrayList<>(SOURCE);
+        expected.addAll(Arrays.asList(19, 1));
+        Assert.assertEquals(descending(expected), drain(melded));
+        Assert.assertEquals(descending(SOURCE), drain(heap));
+        Assert.assertEquals(Arrays.asList(19, 1), drain(other));
+    }
+
+    private void testHeap(final Supplier<MeldableHeap<Integer>> factory) {
+
+        // push and pop in order
+        MeldableHeap<Integer> heap = factory.get();
+        heap.pushAll(SOURCE);
+        Assert.assertEquals(SOURCE.size(), heap.size());
+        Assert.assertEquals(Integer.valueOf(20), heap.peek());
+        for (Integer i : descending(SOURCE)) {
+            Assert.assertEquals(i, heap.pop());
+        }
+        Assert.assertTrue(Exceptions.isIllegalState(heap::pop));
+
+        // meld random heaps of the same kind, and check against a sorted list
+        Random random = new Random(19);
+        List<Integer> expected = new ArrayList<>();
+        for (int h = 0 ; h < 20 ; h++) {
+            MeldableHeap<Integer> other = factory.get();
+            for (int i = random.nextInt(200) ; i > 0 ; i--) {
+                int value = random.nextInt(1000);
+                other.push(value);
+                expected.add(value);
+            }
+            heap.meld(other);
+            Assert.assertTrue(other.isEmpty());
+
+            // pop a few in between
+            for (int i = Math.min(5, expected.size()) ; i > 0 ; i--) {
+                Integer max = Collections.max(expected);
+                expected.remove(max);
+                Assert.assertEquals(max, heap.pop());
+            }
+        }
+        Assert.assertEquals(expected.size(), heap.size());
+        for (Integer i : descending(expected)) {
+            Assert.assertEquals(i, heap.pop());
+        }
+    }
+
+    private static List<Integer> descending(final List<Integer> source) {
+        List<Integer> sorted = new ArrayList<>(source);
+        Collections.sort(sorted);
+        Collections.reverse(sorted);
+        return sorted;
+    }
+
+    private static List<Integer> drain(PersistentLeftistHeap<Integer> heap) {
+        List<Integer> values = new ArrayList<>();
+        while (!heap.isEmpty()) {
+            values.add(heap.peek());
+            heap = heap.popped();
+        }
+        return values;
+    }
+}
@@ -0,0 +1,113 @@
+package com.mrsnottypants.util.collection;
+
+import com.mrsnottypants.test.Exceptions;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+
+/**
+ * Created by Eric on 10/17/2026.
+ */
+public class MinMaxHeapTest {
+
+    private final List<Integer> SOURCE = Arrays.asList(10, 18, 20, 8, 2, 16, 14, 12, 4, 6);
+
+    @Test
+    public void testPopBothEnds() {
+
+        MinMaxHeap<Integer> heap = MinMaxHeap.heapOf(SOURCE);
+        Assert.assertEquals(SOURCE.size(), heap.size());
+
+        // take alternately from each end
+        for (int i = 0 ; i < SOURCE.size() / 2 ; i++) {
+            Assert.assertEquals(Integer.valueOf(2 + (2 * i)), heap.peekMin());
+            Assert.assertEquals(Integer.valueOf(2 + (2 * i)), heap.popMin());
+            Assert.assertEquals(Integer.valueOf(20 - (2 * i)), heap.peekMax());
+            Assert.assertEquals(Integer.valueOf(20 - (2 * i)), heap.popMax());
+        }
+
+        // confirm heap is empty
+        Assert.assertTrue(Exceptions.isIllegalState(heap::popMin));
+        Assert.assertTrue(Exceptions.isIllegalState(heap::popMax));
+        Assert.assertTrue(Exceptions.isIllegalState(heap::peekMin));
+        Assert.assertTrue(Exceptions.isIllegalState(heap::peek));
+    }
+
+    @Test
+    public void testHeap() {
+
+        // as a Heap, pops the maximum
+        Heap<Integer> heap = MinMaxHeap.emptyHeap();
+        heap.pushAll(SOURCE);
+        for (int i = 20 ; i > 0 ; i -= 2) {
+            Assert.assertEquals(Integer.valueOf(i), heap.pop());
+        }
+        Assert.assertTrue(heap.isEmpty());
+    }
+
+    @Test
+    public void testTree() {
+
+        // a min-max heap of 1..7 has the min at the root, the max levels next, and then the rest
+        MinMaxHeap<Integer> heap = MinMaxHeap.heapOf(Arrays.asList(7, 6, 5, 4, 3, 2, 1));
+        Iterator<Integer> iterator = heap.traverse(BinaryTreeTraversal.LEVEL_ORDER);
+        Assert.assertEquals(Integer.valueOf(1), iterator.next());
+        Assert.assertEquals(7, Math.max(iterator.next(), iterator.next()));
+
+        // navigation works as for BinaryTreeArray
+        NodeKey root = heap.getRoot().get();
+        Assert.assertEquals(Integer.valueOf(1), heap.get(root));
+        Assert.assertFalse(heap.hasParent(root));
+        NodeKey left = heap.getLeft(root).get();
+        Assert.assertTrue(heap.isLeft(root, left));
+        Assert.assertEquals(root, heap.getParent(left).get());
+        Assert.assertEquals(heap.getLeftest(root), heap.getLeftestLeaf(root));
+    }
+
+    @Test
+    public void testRandom() {
+
+        // mix pushes and pops from both ends, and check against a sorted multiset
+        Random random = new Random(15);
+        MinMaxHeap<Integer> heap = MinMaxHeap.heapOf(randomValues(random, 500));
+        TreeMap<Integer, Integer> expected = new TreeMap<>();
+        heap.traverse(BinaryTreeTraversal.LEVEL_ORDER).forEachRemaining(v -> expected.merge(v, 1, Integer::sum));
+        for (int i = 0 ; i < 20000 ; i++) {
+            int choice = random.nextInt(3);
+            if ((choice == 0) || expected.isEmpty()) {
+                int value = random.nextInt(1000);
+                heap.push(value);
+                expected.merge(value, 1, Integer::sum);
+            }
+            else if (choice == 1) {
+                Assert.assertEquals(expected.firstKey(), heap.peekMin());
+                remove(expected, heap.popMin());
+            }
+            else {
+                Assert.assertEquals(expected.lastKey(), heap.peekMax());
+                remove(expected, heap.popMax());
+            }
+            Assert.assertEquals(expected.values().stream().mapToInt(Integer::intValue).sum(), heap.size());
+        }
+    }
+
+    private static List<Integer> randomValues(final Random random, final int count) {
+        List<Integer> values = new ArrayList<>();
+        for (int i = 0 ; i < count ; i++) {
+            values.add(random.nextInt(1000));
+        }
+        return values;
+    }
+
+    private static void remove(final TreeMap<Integer, Integer> multiset, final Integer value) {
+        if (multiset.merge(value, -1, Integer::sum) == 0) {
+            multiset.remove(value);
+        }
+    }
+}
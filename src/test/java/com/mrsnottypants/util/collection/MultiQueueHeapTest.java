@@ -0,0 +1,115 @@
+package com.mrsnottypants.util.collection;
+
+import com.mrsnottypants.test.Exceptions;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Created by Eric on 10/17/2026.
+ */
+public class MultiQueueHeapTest {
+
+    @Test
+    public void testSingleThread() {
+
+        MultiQueueHeap<Integer> heap = MultiQueueHeap.emptyHeap(1);
+        Assert.assertTrue(heap.getQueueCount() >= 2);
+        Assert.assertTrue(Exceptions.isIllegalState(heap::pop));
+        Assert.assertTrue(Exceptions.isIllegalState(heap::peek));
+
+        // every value comes back out exactly once
+        List<Integer> pushed = new ArrayList<>();
+        for (int i = 0 ; i < 1000 ; i++) {
+            heap.push(i);
+            pushed.add(i);
+        }
+        Assert.assertEquals(pushed.size(), heap.size());
+        Assert.assertEquals(Integer.valueOf(999), heap.peek());
+
+        List<Integer> popped = new ArrayList<>();
+        while (!heap.isEmpty()) {
+            popped.add(heap.pop());
+        }
+        Collections.sort(popped);
+        Assert.assertEquals(pushed, popped);
+        Assert.assertTrue(Exceptions.isIllegalState(heap::pop));
+    }
+
+    @Test
+    public void testRelaxedOrder() {
+
+        // the first pops come from near the top
+        MultiQueueHeap<Integer> heap = MultiQueueHeap.emptyHeap(1);
+        for (int i = 0 ; i < 10000 ; i++) {
+            heap.push(i);
+        }
+        int floor = 10000 - 100 * heap.getQueueCount();
+        for (int i = 0 ; i < 10 ; i++) {
+            Assert.assertTrue(heap.pop() >= floor);
+        }
+    }
+
+    @Test
+    public void testConcurrent() throws InterruptedException {
+
+        final MultiQueueHeap<Integer> heap = MultiQueueHeap.emptyHeap();
+        final int threads = 8;
+        final int perThread = 20000;
+        final ConcurrentLinkedQueue<Integer> popped = new ConcurrentLinkedQueue<>();
+        final AtomicInteger failures = new AtomicInteger();
+        final CountDownLatch done = new CountDownLatch(threads);
+
+        // each thread pushes its own range, popping as it goes
+        for (int t = 0 ; t < threads ; t++) {
+            final int base = t * perThread;
+            new Thread(() -> {
+                try {
+                    for (int i = 0 ; i < perThread ; i++) {
+                        heap.push(base + i);
+                        if ((i % 2) == 1) {
+                            popped.add(popSome(heap));
+                        }
+                    }
+                }
+                catch (RuntimeException e) {
+                    failures.incrementAndGet();
+                }
+                finally {
+                    done.countDown();
+                }
+            }).start();
+        }
+        done.await();
+        Assert.assertEquals(0, failures.get());
+
+        // drain what's left - every value was popped exactly once
+        while (!heap.isEmpty()) {
+            popped.add(heap.pop());
+        }
+        List<Integer> sorted = new ArrayList<>(popped);
+        Collections.sort(sorted);
+        Assert.assertEquals(threads * perThread, sorted.size());
+        for (int i = 0 ; i < sorted.size() ; i++) {
+            Assert.assertEquals(Integer.valueOf(i), sorted.get(i));
+        }
+    }
+
+    // a sweep can miss values pushed behind it by other threads - so keep trying
+    private static Integer popSome(final Heap<Integer> heap) {
+        while (true) {
+            try {
+                return heap.pop();
+            }
+            catch (IllegalStateException e) {
+                Thread.yield();
+            }
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.mrsnottypants.util.collection;
+
+import com.mrsnottypants.test.Exceptions;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Created by Eric on 10/17/2026.
+ */
+public class OffHeapRecordHeapTest {
+
+    // (priority, id) records, with an odd-sized tag byte so copies cross a long boundary
+    private static final int PRIORITY = 0;
+    private static final int ID = 8;
+    private static final int TAG = 12;
+    private static final int WIDTH = 13;
+
+    private OffHeapRecordHeap heap;
+
+    @Before
+    public void before() {
+
+        // tiny segments, so the heap spans several of them
+        heap = OffHeapRecordHeap.emptyHeap(WIDTH, (buffer, offset) -> buffer.getLong(offset + PRIORITY), 4);
+    }
+
+    @Test
+    public void testPushPop() {
+
+        Random random = new Random(3);
+        List<Long> priorities = new ArrayList<>();
+        for (int id = 0 ; id < 500 ; id++) {
+            long priority = random.nextInt(100);
+            priorities.add(priority);
+            heap.push(heap.staging().putLong(PRIORITY, priority).putInt(ID, id).putByte(TAG, (byte)id));
+        }
+        Assert.assertEquals(500, heap.size());
+
+        // pops come out by priority, with each record's fields intact
+        Collections.sort(priorities);
+        Collections.reverse(priorities);
+        for (Long priority : priorities) {
+            Assert.assertEquals(priority.longValue(), heap.peek().getLong(PRIORITY));
+            OffHeapRecordHeap.Record record = heap.pop();
+            Assert.assertEquals(priority.longValue(), record.getLong(PRIORITY));
+            Assert.assertEquals((byte)record.getInt(ID), record.getByte(TAG));
+        }
+        Assert.assertTrue(heap.isEmpty());
+        Assert.assertTrue(Exceptions.isIllegalState(heap::pop));
+    }
+
+    @Test
+    public void testPushStandaloneRecord() {
+
+        OffHeapRecordHeap.Record record = OffHeapRecordHeap.Record.allocate(WIDTH);
+        heap.push(record.putLong(PRIORITY, 7).putInt(ID, 1));
+        heap.push(record.putLong(PRIORITY, 9).putInt(ID, 2));
+
+        // changing our record after the push does not change the heap's copy
+        record.putLong(PRIORITY, 100);
+        Assert.assertEquals(2, heap.pop().getInt(ID));
+        Assert.assertEquals(1, heap.pop().getInt(ID));
+
+        // wrong width is refused
+        Assert.assertTrue(Exceptions.isExpected(() -> heap.push(OffHeapRecordHeap.Record.allocate(8)),
+                IllegalArgumentException.class));
+        Assert.assertTrue(Exceptions.isExpected(() -> record.getLong(WIDTH - 4), IndexOutOfBoundsException.class));
+    }
+
+    @Test
+    public void testClose() {
+        heap.push(heap.staging().putLong(PRIORITY, 1));
+        heap.close();
+        Assert.assertEquals(0, heap.size());
+        Assert.assertTrue(Exceptions.isIllegalState(heap::pop));
+        Assert.assertTrue(Exceptions.isIllegalState(heap::staging));
+
+        // closing twice is harmless
+        heap.close();
+    }
+}
@@ -0,0 +1,100 @@
+package com.mrsnottypants.util.collection;
+
+import com.mrsnottypants.test.Exceptions;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Created by Eric on 10/17/2026.
+ */
+public class PrimitiveHeapTest {
+
+    private static final long[] SOURCE = {10, 18, 20, 8, 2, 16, 14, 12, 4, 6};
+
+    @Test
+    public void testLongHeapOf() {
+
+        // heap is built in place over a copy of the source
+        LongHeap heap = LongHeap.heapOf(Arrays.copyOf(SOURCE, SOURCE.length));
+        Assert.assertEquals(SOURCE.length, heap.size());
+        Assert.assertEquals(20L, heap.peek());
+
+        // confirm we're popping in order
+        long[] inOrder = sortedDescending(SOURCE);
+        for (long l : inOrder) {
+            Assert.assertEquals(l, heap.pop());
+        }
+
+        // confirm heap is empty
+        Assert.assertTrue(heap.isEmpty());
+        Assert.assertTrue(Exceptions.isIllegalState(heap::pop));
+        Assert.assertTrue(Exceptions.isIllegalState(heap::peek));
+    }
+
+    @Test
+    public void testLongPush() {
+
+        // start with a tiny heap, so pushes have to grow it
+        LongHeap heap = LongHeap.emptyHeap(1);
+        Random random = new Random(17);
+        long[] source = new long[1000];
+        for (int i = 0 ; i < source.length ; i++) {
+            source[i] = random.nextLong();
+            heap.push(source[i]);
+        }
+
+        // confirm we're popping in order
+        for (long l : sortedDescending(source)) {
+            Assert.assertEquals(l, heap.pop());
+        }
+        Assert.assertTrue(heap.isEmpty());
+    }
+
+    @Test
+    public void testIntHeap() {
+
+        IntHeap heap = IntHeap.heapOf(new int[] {3, 1, 4, 1, 5, 9, 2, 6});
+        heap.push(7);
+        heap.push(-1);
+
+        int[] expected = {9, 7, 6, 5, 4, 3, 2, 1, 1, -1};
+        for (int i : expected) {
+            Assert.assertEquals(i, heap.pop());
+        }
+        Assert.assertTrue(Exceptions.isIllegalState(heap::pop));
+    }
+
+    @Test
+    public void testDoubleHeap() {
+
+        // orders as Double.compare does - NaN on top, -0.0 below 0.0
+        DoubleHeap heap = DoubleHeap.heapOf(new double[] {0.0, Double.NaN, -0.0, 2.5, Double.NEGATIVE_INFINITY});
+        heap.push(Double.POSITIVE_INFINITY);
+
+        double[] expected = {Double.NaN, Double.POSITIVE_INFINITY, 2.5, 0.0, -0.0, Double.NEGATIVE_INFINITY};
+        for (double d : expected) {
+            Assert.assertEquals(0, Double.compare(d, heap.pop()));
+        }
+        Assert.assertTrue(heap.isEmpty());
+    }
+
+    @Test
+    public void testEmptySource() {
+        Assert.assertTrue(LongHeap.heapOf(new long[0]).isEmpty());
+        Assert.assertTrue(Exceptions.isExpected(() -> LongHeap.heapOf(null), IllegalArgumentException.class));
+    }
+
+    private static long[] sortedDescending(final long[] source) {
+        long[] sorted = Arrays.copyOf(source, source.length);
+        Arrays.sort(sorted);
+        for (int i = 0, j = sorted.length - 1 ; i < j ; i++, j--) {
+            long swap = sorted[i];
+            sorted[i] = sorted[j];
+            sorted[j] = swap;
+        }
+        return sorted;
+    }
+}
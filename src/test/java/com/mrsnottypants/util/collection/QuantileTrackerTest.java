@@ -0,0 +1,133 @@
+package com.mrsnottypants.util.collection;
+
+import com.mrsnottypants.test.Exceptions;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Created by Eric on 10/17/2026.
+ */
+public class QuantileTrackerTest {
+
+    @Test
+    public void testMedian() {
+
+        QuantileTracker<Integer> median = QuantileTracker.of(0.5);
+        Assert.assertTrue(Exceptions.isIllegalState(median::quantile));
+
+        // the lower middle sample, for an even count
+        QuantileTracker.Sample<Integer> five = median.add(5);
+        Assert.assertEquals(Integer.valueOf(5), median.quantile());
+        median.add(1);
+        Assert.assertEquals(Integer.valueOf(1), median.quantile());
+        QuantileTracker.Sample<Integer> nine = median.add(9);
+        Assert.assertEquals(Integer.valueOf(5), median.quantile());
+        median.add(7);
+        Assert.assertEquals(Integer.valueOf(5), median.quantile());
+
+        // remove through handles
+        Assert.assertEquals(Integer.valueOf(5), median.remove(five));
+        Assert.assertFalse(five.isTracked());
+        Assert.assertFalse(median.contains(five));
+        Assert.assertEquals(Integer.valueOf(7), median.quantile());
+        median.remove(nine);
+        Assert.assertEquals(Integer.valueOf(1), median.quantile());
+        Assert.assertEquals(2, median.size());
+
+        Assert.assertTrue(Exceptions.isExpected(() -> median.remove(five), IllegalArgumentException.class));
+        Assert.assertTrue(Exceptions.isExpected(() -> QuantileTracker.of(0.0), IllegalArgumentException.class));
+        Assert.assertTrue(Exceptions.isExpected(() -> DoubleQuantileTracker.of(1.5), IllegalArgumentException.class));
+    }
+
+    @Test
+    public void testStaleDoubleHandle() {
+
+        // a removed sample's slot is reused, but its old handle is still refused
+        DoubleQuantileTracker median = DoubleQuantileTracker.of(0.5);
+        long one = median.add(1.0);
+        median.add(2.0);
+        Assert.assertEquals(1.0, median.remove(one), 0.0);
+        long three = median.add(3.0);
+        Assert.assertEquals((int)one, (int)three);
+        Assert.assertFalse(median.contains(one));
+        Assert.assertTrue(median.contains(three));
+        Assert.assertTrue(Exceptions.isExpected(() -> median.remove(one), IllegalArgumentException.class));
+        Assert.assertEquals(2, median.size());
+        Assert.assertEquals(3.0, median.remove(three), 0.0);
+        Assert.assertEquals(2.0, median.quantile(), 0.0);
+    }
+
+    @Test
+    public void testRank() {
+
+        // nearest rank, without floating point creeping over a whole number
+        Assert.assertEquals(7, QuantileTracker.rankOf(0.7, 10));
+        Assert.assertEquals(5, QuantileTracker.rankOf(0.5, 10));
+        Assert.assertEquals(6, QuantileTracker.rankOf(0.5, 11));
+        Assert.assertEquals(1, QuantileTracker.rankOf(0.01, 10));
+        Assert.assertEquals(10, QuantileTracker.rankOf(1.0, 10));
+        Assert.assertEquals(0, QuantileTracker.rankOf(0.5, 0));
+
+        // small fractions of a rank still round up, at any count
+        Assert.assertEquals(1000001, QuantileTracker.rankOf(0.5000000005, 2000000));
+        Assert.assertEquals(500000001, QuantileTracker.rankOf(0.5000000005, 1000000000));
+        Assert.assertEquals(250000001, QuantileTracker.rankOf(0.25, 1000000001));
+        Assert.assertEquals(700000000, QuantileTracker.rankOf(0.7, 1000000000));
+        Assert.assertEquals(990000000, QuantileTracker.rankOf(0.99, 1000000000));
+    }
+
+    @Test
+    public void testSlidingWindow() {
+
+        // p50, p90 and p99 over a sliding window, checked against sorting the window
+        Random random = new Random(18);
+        double[] quantiles = {0.5, 0.9, 0.99};
+        List<QuantileTracker<Double>> trackers = new ArrayList<>();
+        List<DoubleQuantileTracker> doubleTrackers = new ArrayList<>();
+        List<Deque<QuantileTracker.Sample<Double>>> samples = new ArrayList<>();
+        List<Deque<Long>> handles = new ArrayList<>();
+        for (double quantile : quantiles) {
+            trackers.add(QuantileTracker.of(quantile));
+            doubleTrackers.add(DoubleQuantileTracker.of(quantile));
+            samples.add(new ArrayDeque<>());
+            handles.add(new ArrayDeque<>());
+        }
+
+        final int window = 200;
+        Deque<Double> values = new ArrayDeque<>();
+        for (int tick = 0 ; tick < 3000 ; tick++) {
+
+            // a new sample in, and the oldest out once the window is full
+            double value = Math.floor(random.nextGaussian() * 100);
+            values.addLast(value);
+            for (int q = 0 ; q < quantiles.length ; q++) {
+                samples.get(q).addLast(trackers.get(q).add(value));
+                handles.get(q).addLast(doubleTrackers.get(q).add(value));
+            }
+            if (values.size() > window) {
+                double expired = values.removeFirst();
+                for (int q = 0 ; q < quantiles.length ; q++) {
+                    Assert.assertEquals(expired, trackers.get(q).remove(samples.get(q).removeFirst()), 0.0);
+                    Assert.assertEquals(expired, doubleTrackers.get(q).remove(handles.get(q).removeFirst()), 0.0);
+                }
+            }
+
+            // compare with sorting
+            List<Double> sorted = new ArrayList<>(values);
+            Collections.sort(sorted);
+            for (int q = 0 ; q < quantiles.length ; q++) {
+                double expected = sorted.get(QuantileTracker.rankOf(quantiles[q], sorted.size()) - 1);
+                Assert.assertEquals(expected, trackers.get(q).quantile(), 0.0);
+                Assert.assertEquals(expected, doubleTrackers.get(q).quantile(), 0.0);
+                Assert.assertEquals(values.size(), doubleTrackers.get(q).size());
+            }
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.mrsnottypants.util.collection;
+
+import com.mrsnottypants.test.Exceptions;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.PriorityQueue;
+import java.util.Random;
+
+/**
+ * Created by Eric on 10/17/2026.
+ */
+public class RadixHeapTest {
+
+    @Test
+    public void testPushPop() {
+
+        RadixHeap<String> heap = RadixHeap.emptyHeap();
+        heap.push(5, "five");
+        heap.push(3, "three");
+        heap.push(9, "nine");
+        heap.push(3, "three");
+        Assert.assertEquals(4, heap.size());
+
+        Assert.assertEquals(3, heap.peekKey());
+        Assert.assertEquals("three", heap.pop());
+        Assert.assertEquals("three", heap.pop());
+        Assert.assertEquals(3, heap.lastKey());
+
+        // pushing the last key is fine, pushing below it is not
+        heap.push(3, "three again");
+        Assert.assertEquals("three again", heap.pop());
+        Assert.assertTrue(Exceptions.isExpected(() -> heap.push(2, "two"), IllegalArgumentException.class));
+
+        Assert.assertEquals("five", heap.pop());
+        Assert.assertEquals("nine", heap.peek());
+        Assert.assertEquals("nine", heap.pop());
+        Assert.assertTrue(heap.isEmpty());
+        Assert.assertTrue(Exceptions.isIllegalState(heap::pop));
+    }
+
+    @Test
+    public void testMonotoneRandom() {
+
+        // dijkstra-like - every push is the last popped key plus something, including negative keys
+        RadixHeap<Long> heap = RadixHeap.emptyHeap();
+        PriorityQueue<Long> expected = new PriorityQueue<>();
+        Random random = new Random(29);
+        long base = -1000000;
+        for (int i = 0 ; i < 100 ; i++) {
+            heap.push(base + i, base + i);
+            expected.add(base + i);
+        }
+        while (!expected.isEmpty()) {
+            Long key = expected.poll();
+            Assert.assertEquals(key.longValue(), heap.peekKey());
+            Assert.assertEquals(key, heap.pop());
+            for (int i = random.nextInt(3) ; (i > 0) && (expected.size() < 5000) ; i--) {
+                long next = key + random.nextInt(1 << random.nextInt(30));
+                heap.push(next, next);
+                expected.add(next);
+            }
+        }
+        Assert.assertTrue(heap.isEmpty());
+    }
+
+    @Test
+    public void testPeekThenPush() {
+
+        // peeking pops nothing, so smaller keys can still be pushed afterwards
+        RadixHeap<String> heap = RadixHeap.emptyHeap();
+        heap.push(10, "ten");
+        heap.push(40, "forty");
+        heap.pop();
+        heap.push(30, "thirty");
+        Assert.assertEquals(30, heap.peekKey());
+        heap.push(20, "twenty");
+        Assert.assertEquals("twenty", heap.peek());
+        heap.push(25, "twenty five");
+        Assert.assertEquals(20, heap.peekKey());
+        Assert.assertEquals(10, heap.lastKey());
+        heap.push(15, "fifteen");
+
+        Assert.assertEquals("fifteen", heap.pop());
+        Assert.assertEquals(15, heap.lastKey());
+        Assert.assertEquals("twenty", heap.pop());
+        Assert.assertEquals("twenty five", heap.pop());
+        Assert.assertEquals("thirty", heap.pop());
+        Assert.assertEquals("forty", heap.pop());
+    }
+
+    @Test
+    public void testPeekAfterPop() {
+
+        // a peek cached before a pop must not outlive it
+        RadixHeap<String> heap = RadixHeap.emptyHeap();
+        heap.push(10, "ten");
+        heap.push(20, "twenty");
+        Assert.assertEquals("ten", heap.pop());
+        Assert.assertEquals("twenty", heap.peek());
+        heap.push(10, "ten again");
+        Assert.assertEquals("ten again", heap.pop());
+
+        Assert.assertEquals(1, heap.size());
+        Assert.assertEquals("twenty", heap.peek());
+        Assert.assertEquals(20, heap.peekKey());
+        Assert.assertEquals("twenty", heap.pop());
+    }
+
+    @Test
+    public void testExtremeKeys() {
+        RadixHeap<Long> heap = RadixHeap.emptyHeap();
+        long[] keys = {Long.MAX_VALUE, 0, Long.MIN_VALUE, -1, 1, Long.MIN_VALUE + 1};
+        for (long key : keys) {
+            heap.push(key, key);
+        }
+        long[] expected = {Long.MIN_VALUE, Long.MIN_VALUE + 1, -1, 0, 1, Long.MAX_VALUE};
+        for (long key : expected) {
+            Assert.assertEquals(Long.valueOf(key), heap.pop());
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.mrsnottypants.util.collection;
+
+import com.mrsnottypants.test.Exceptions;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Created by Eric on 10/17/2026.
+ */
+public class TopKTest {
+
+    private final List<Integer> SOURCE = Arrays.asList(10, 18, 20, 8, 2, 16, 14, 12, 4, 6);
+
+    @Test
+    public void testPush() {
+
+        TopK<Integer> top = TopK.largest(3);
+        Assert.assertEquals(3, top.getCapacity());
+        Assert.assertTrue(top.isEmpty());
+        Assert.assertTrue(Exceptions.isIllegalState(top::peekSmallest));
+
+        // fills up, then only keeps values larger than the smallest kept
+        Assert.assertTrue(top.push(10));
+        Assert.assertTrue(top.push(18));
+        Assert.assertTrue(top.push(20));
+        Assert.assertEquals(Integer.valueOf(10), top.peekSmallest());
+        Assert.assertFalse(top.push(8));
+        Assert.assertFalse(top.push(10));
+        Assert.assertTrue(top.push(16));
+        Assert.assertEquals(Integer.valueOf(16), top.peekSmallest());
+        Assert.assertEquals(3, top.size());
+
+        top.pushAll(SOURCE);
+        Assert.assertEquals(Arrays.asList(20, 20, 18), top.toList());
+
+        top.clear();
+        Assert.assertTrue(top.isEmpty());
+    }
+
+    @Test
+    public void testEdges() {
+
+        // k of zero keeps nothing
+        TopK<Integer> none = TopK.largest(0);
+        Assert.assertFalse(none.push(1));
+        Assert.assertTrue(none.toList().isEmpty());
+
+        // k larger than the input keeps everything
+        TopK<Integer> all = TopK.largest(100);
+        all.pushAll(SOURCE);
+        List<Integer> expected = new ArrayList<>(SOURCE);
+        expected.sort(Collections.reverseOrder());
+        Assert.assertEquals(expected, all.toList());
+
+        Assert.assertTrue(Exceptions.isExpected(() -> TopK.largest(-1), IllegalArgumentException.class));
+        Assert.assertTrue(Exceptions.isExpected(() -> all.push(null), IllegalArgumentException.class));
+    }
+
+    @Test
+    public void testCollector() {
+
+        // lots of values, with duplicates, collected sequentially and in parallel
+        Random random = new Random(17);
+        List<Integer> source = IntStream.range(0, 100000).map(i -> random.nextInt(50000)).boxed()
+                .collect(Collectors.toList());
+        List<Integer> expected = new ArrayList<>(source);
+        expected.sort(Collections.reverseOrder());
+        expected = expected.subList(0, 100);
+
+        Assert.assertEquals(expected, source.stream().collect(TopK.collector(100)));
+        Assert.assertEquals(expected, source.parallelStream().collect(TopK.collector(100)));
+        // a k far beyond the stream's size keeps everything, without setting aside room for k values
+        List<Integer> small = Arrays.asList(4, 8, 1, 9, 2, 7, 3, 6, 5, 10, 12, 11, 16, 15, 14, 13, 17);
+        List<Integer> sorted = new ArrayList<>(small);
+        sorted.sort(Collections.reverseOrder());
+        Assert.assertEquals(sorted, small.parallelStream().collect(TopK.collector(1000000)));
+        Assert.assertEquals(1000000, TopK.largest(1000000).getCapacity());
+    }
+}
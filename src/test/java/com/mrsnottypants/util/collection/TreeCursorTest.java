@@ -0,0 +1,110 @@
+package com.mrsnottypants.util.collection;
+
+import com.mrsnottypants.test.Exceptions;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Created by Eric on 10/17/2026.
+ */
+public class TreeCursorTest {
+
+    //         a
+    //      b     c
+    //     d e   f
+    static final List<String> SOURCE = Arrays.asList("a", "b", "c", "d", "e", "f");
+
+    /**
+     * Walk a tree of SOURCE, checking each move
+     * @param cursor cursor at the root
+     */
+    private static void walk(final TreeCursor<String> cursor) {
+        Assert.assertEquals("a", cursor.value());
+        Assert.assertFalse(cursor.toParent());
+
+        Assert.assertTrue(cursor.toLeft());
+        Assert.assertEquals("b", cursor.value());
+        Assert.assertTrue(cursor.toRight());
+        Assert.assertEquals("e", cursor.value());
+        Assert.assertFalse(cursor.toLeft());
+        Assert.assertFalse(cursor.toRight());
+        Assert.assertEquals("e", cursor.value());
+
+        Assert.assertTrue(cursor.toParent());
+        Assert.assertTrue(cursor.toParent());
+        Assert.assertTrue(cursor.toRight());
+        Assert.assertEquals("c", cursor.value());
+        Assert.assertFalse(cursor.toRight());
+        Assert.assertTrue(cursor.toLeft());
+        Assert.assertEquals("f", cursor.value());
+
+        Assert.assertTrue(cursor.toRoot());
+        Assert.assertEquals("a", cursor.value());
+    }
+
+    /**
+     * Collect a tree's values in pre-order, using only cursor moves
+     * @param cursor cursor at the root
+     * @param values collects values
+     */
+    private static void preOrder(final TreeCursor<Integer> cursor, final List<Integer> values) {
+        values.add(cursor.value());
+        if (cursor.toLeft()) {
+            preOrder(cursor, values);
+            cursor.toParent();
+        }
+        if (cursor.toRight()) {
+            preOrder(cursor, values);
+            cursor.toParent();
+        }
+    }
+
+    @Test
+    public void testIndexCursor() {
+        walk(BinaryTreeArray.treeOf(SOURCE).cursor());
+    }
+
+    @Test
+    public void testNodeKeyCursor() {
+        walk(new NodeKeyCursor<>(BinaryTreeArray.treeOf(SOURCE)));
+    }
+
+    @Test
+    public void testEmpty() {
+        List<TreeCursor<String>> cursors = Arrays.asList(BinaryTreeArray.treeOf(Collections.<String>emptyList()).cursor(),
+                new NodeKeyCursor<>(BinaryTreeArray.treeOf(Collections.<String>emptyList())));
+        for (TreeCursor<String> cursor : cursors) {
+            Assert.assertFalse(cursor.toLeft());
+            Assert.assertFalse(cursor.toRight());
+            Assert.assertFalse(cursor.toParent());
+            Assert.assertFalse(cursor.toRoot());
+            Assert.assertTrue(Exceptions.isIllegalState(cursor::value));
+        }
+    }
+
+    @Test
+    public void testSameWalk() {
+
+        // both cursors visit every node of a larger tree, in the same order
+        List<Integer> source = new ArrayList<>();
+        for (int i = 0 ; i < 1000 ; i++) {
+            source.add(i);
+        }
+        BinaryTree<Integer> tree = BinaryTreeArray.treeOf(source);
+        List<Integer> byIndex = new ArrayList<>();
+        preOrder(tree.cursor(), byIndex);
+        List<Integer> byKey = new ArrayList<>();
+        preOrder(new NodeKeyCursor<>(tree), byKey);
+
+        Assert.assertEquals(source.size(), byIndex.size());
+        Assert.assertEquals(byKey, byIndex);
+        Assert.assertEquals(Integer.valueOf(0), byIndex.get(0));
+        Assert.assertEquals(Integer.valueOf(1), byIndex.get(1));
+        Assert.assertEquals(Integer.valueOf(3), byIndex.get(2));
+    }
+}
@@ -0,0 +1,175 @@
+package com.mrsnottypants.util.concurrent;
+
+import com.mrsnottypants.test.Exceptions;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Created by Eric on 10/17/2026.
+ */
+public class PriorityExecutorServiceTest {
+
+    private PriorityExecutorService executor;
+
+    @After
+    public void after() throws InterruptedException {
+        executor.shutdownNow();
+        Assert.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testPriorityOrder() throws Exception {
+
+        // one worker, held up while we queue work behind it
+        executor = PriorityExecutorService.create(1);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.execute(() -> block(started, release), 100);
+        started.await(10, TimeUnit.SECONDS);
+
+        List<Integer> ran = Collections.synchronizedList(new ArrayList<>());
+        for (int priority : new int[] {3, 1, 4, 1, 5, 9, 2, 6}) {
+            executor.execute(() -> ran.add(priority), priority);
+        }
+        Future<Integer> last = executor.submit(() -> -1, -1);
+        release.countDown();
+
+        Assert.assertEquals(Integer.valueOf(-1), last.get(10, TimeUnit.SECONDS));
+        Assert.assertEquals(Arrays.asList(9, 6, 5, 4, 3, 2, 1, 1), ran);
+    }
+
+    @Test
+    public void testAging() throws Exception {
+
+        // a low priority task that has waited 50 intervals beats a fresh task of priority 5
+        executor = PriorityExecutorService.create(1, 1, TimeUnit.MILLISECONDS);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.execute(() -> block(started, release), 100);
+        started.await(10, TimeUnit.SECONDS);
+
+        List<String> ran = Collections.synchronizedList(new ArrayList<>());
+        executor.execute(() -> ran.add("old"), 0);
+        Thread.sleep(50);
+        executor.execute(() -> ran.add("new"), 5);
+        Future<?> last = executor.submit(() -> { }, -1000);
+        release.countDown();
+
+        last.get(10, TimeUnit.SECONDS);
+        Assert.assertEquals(Arrays.asList("old", "new"), ran);
+    }
+
+    @Test
+    public void testManyTasks() throws Exception {
+
+        // lots of small tasks, one at a time and in batches, across several workers
+        executor = PriorityExecutorService.create(4);
+        AtomicInteger count = new AtomicInteger();
+        int tasks = 20000;
+        CountDownLatch done = new CountDownLatch(tasks);
+        List<Runnable> batch = new ArrayList<>();
+        for (int i = 0 ; i < tasks ; i++) {
+            Runnable task = () -> {
+                count.incrementAndGet();
+                done.countDown();
+            };
+            if ((i % 2) == 0) {
+                executor.execute(task, i % 10);
+            }
+            else {
+                batch.add(task);
+            }
+        }
+        executor.executeAll(batch, 3);
+
+        Assert.assertTrue(done.await(30, TimeUnit.SECONDS));
+        Assert.assertEquals(tasks, count.get());
+    }
+
+    @Test
+    public void testShutdown() throws Exception {
+
+        executor = PriorityExecutorService.create(2);
+        AtomicInteger count = new AtomicInteger();
+        for (int i = 0 ; i < 100 ; i++) {
+            executor.execute(count::incrementAndGet);
+        }
+
+        // accepted tasks still run, new ones are refused
+        executor.shutdown();
+        Assert.assertTrue(executor.isShutdown());
+        Assert.assertTrue(Exceptions.isExpected(() -> executor.execute(count::incrementAndGet),
+                RejectedExecutionException.class));
+        Assert.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        Assert.assertTrue(executor.isTerminated());
+        Assert.assertEquals(100, count.get());
+    }
+
+    @Test
+    public void testShutdownNow() throws Exception {
+
+        executor = PriorityExecutorService.create(1);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.execute(() -> block(started, release), 100);
+        started.await(10, TimeUnit.SECONDS);
+        for (int i = 0 ; i < 10 ; i++) {
+            executor.execute(() -> { });
+        }
+
+        // queued tasks come back, and the running one is interrupted
+        Assert.assertEquals(10, executor.shutdownNow().size());
+        Assert.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testCancelDoesNotLeak() throws Exception {
+
+        // cancelling a running task interrupts its worker - the next task on that worker must not see it
+        executor = PriorityExecutorService.create(1);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<?> blocked = executor.submit(() -> block(started, release), 100);
+        started.await(10, TimeUnit.SECONDS);
+        Future<Boolean> next = executor.submit(() -> Thread.currentThread().isInterrupted(), 0);
+        Assert.assertTrue(blocked.cancel(true));
+
+        Assert.assertFalse(next.get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testNullInBatch() throws Exception {
+
+        // a null mid-batch refuses the whole batch, and leaves nothing counted as pending
+        executor = PriorityExecutorService.create(2);
+        AtomicInteger count = new AtomicInteger();
+        List<Runnable> batch = Arrays.asList(count::incrementAndGet, null, count::incrementAndGet);
+        Assert.assertTrue(Exceptions.isExpected(() -> executor.executeAll(batch, 0), IllegalArgumentException.class));
+
+        executor.execute(count::incrementAndGet);
+        executor.shutdown();
+        Assert.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        Assert.assertEquals(1, count.get());
+    }
+
+    private static void block(final CountDownLatch started, final CountDownLatch release) {
+        started.countDown();
+        try {
+            release.await(10, TimeUnit.SECONDS);
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
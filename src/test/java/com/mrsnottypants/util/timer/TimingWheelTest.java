@@ -0,0 +1,136 @@
+package com.mrsnottypants.util.timer;
+
+import com.mrsnottypants.test.Exceptions;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Created by Eric on 10/17/2026.
+ */
+public class TimingWheelTest {
+
+    // manual clock - 10 units per tick, 3 levels of 4 slots, so overflow starts 64 ticks out
+    private TimingWheel<String> wheel;
+    private List<String> fired;
+
+    @Before
+    public void before() {
+        wheel = TimingWheel.startingAt(1000, 10, 4, 3);
+        fired = new ArrayList<>();
+    }
+
+    @Test
+    public void testFiresAtDeadline() {
+
+        wheel.schedule("a", 1015);
+        wheel.schedule("b", 1020);
+        wheel.schedule("c", 1500);
+        Assert.assertEquals(3, wheel.size());
+
+        // never early - a fires on the first tick at or past 1015
+        Assert.assertEquals(0, wheel.advance(1019, fired::add));
+        Assert.assertEquals(2, wheel.advance(1020, fired::add));
+        Assert.assertEquals(Arrays.asList("a", "b"), sorted(fired));
+
+        // c is in a higher level, and cascades down
+        fired.clear();
+        Assert.assertEquals(0, wheel.advance(1499, fired::add));
+        Assert.assertEquals(1, wheel.advance(1500, fired::add));
+        Assert.assertEquals(Collections.singletonList("c"), fired);
+        Assert.assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void testPastDeadline() {
+        wheel.schedule("late", 500);
+        Assert.assertEquals(1, wheel.advance(1000, fired::add));
+        Assert.assertEquals(Collections.singletonList("late"), fired);
+    }
+
+    @Test
+    public void testCancel() {
+
+        TimingWheel.Timeout<String> near = wheel.schedule("near", 1030);
+        TimingWheel.Timeout<String> far = wheel.schedule("far", 100000);
+        wheel.schedule("kept", 1040);
+        Assert.assertTrue(near.isPending());
+
+        // cancel from a slot and from the overflow
+        Assert.assertTrue(wheel.cancel(near));
+        Assert.assertTrue(wheel.cancel(far));
+        Assert.assertFalse(wheel.cancel(near));
+        Assert.assertFalse(near.isPending());
+        Assert.assertEquals(1, wheel.size());
+
+        wheel.advance(200000, fired::add);
+        Assert.assertEquals(Collections.singletonList("kept"), fired);
+    }
+
+    @Test
+    public void testCancelWhileFiring() {
+
+        // the first to fire cancels the other
+        List<TimingWheel.Timeout<String>> timeouts = new ArrayList<>();
+        timeouts.add(wheel.schedule("x", 1010));
+        timeouts.add(wheel.schedule("y", 1010));
+        Assert.assertEquals(1, wheel.advance(1010, value -> {
+            fired.add(value);
+            timeouts.forEach(wheel::cancel);
+        }));
+        Assert.assertEquals(1, fired.size());
+        Assert.assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void testTimeGoesForward() {
+        wheel.advance(2000, fired::add);
+        Assert.assertTrue(Exceptions.isExpected(() -> wheel.advance(1999, fired::add), IllegalArgumentException.class));
+        Assert.assertEquals(2000, wheel.getNow());
+    }
+
+    @Test
+    public void testRandom() {
+
+        // random deadlines near and far, advanced in random steps - each fires in the tick it is due, and only once
+        Random random = new Random(31);
+        List<TimingWheel.Timeout<String>> pending = new ArrayList<>();
+        long now = 1000;
+        for (int round = 0 ; round < 2000 ; round++) {
+            for (int i = random.nextInt(4) ; i > 0 ; i--) {
+                long deadline = now + random.nextInt(random.nextBoolean() ? 100 : 5000);
+                pending.add(wheel.schedule(Long.toString(deadline), deadline));
+            }
+            if (random.nextInt(5) == 0 && !pending.isEmpty()) {
+                wheel.cancel(pending.remove(random.nextInt(pending.size())));
+            }
+
+            now += random.nextInt(random.nextInt(10) == 0 ? 3000 : 30);
+            final long at = now;
+            final long tickStart = (now / 10) * 10;
+            wheel.advance(now, value -> {
+                long deadline = Long.parseLong(value);
+                Assert.assertTrue(deadline <= at);
+                fired.add(value);
+            });
+            for (int i = pending.size() - 1 ; i >= 0 ; i--) {
+                TimingWheel.Timeout<String> timeout = pending.get(i);
+                Assert.assertEquals(timeout.getDeadline() > tickStart, timeout.isPending());
+                if (!timeout.isPending()) { pending.remove(i); }
+            }
+            Assert.assertEquals(pending.size(), wheel.size());
+        }
+    }
+
+    private static List<String> sorted(final List<String> values) {
+        List<String> sorted = new ArrayList<>(values);
+        Collections.sort(sorted);
+        return sorted;
+    }
+}